@@ -0,0 +1,28 @@
+package com.github.mcpjavafx.api;
+
+/**
+ * How an action delivers input to the application.
+ */
+public enum InputMode {
+    /** Per-action default: UI-level shortcuts where available, otherwise the OS Robot. */
+    AUTO,
+    /** Real OS input through the JavaFX Robot. */
+    ROBOT,
+    /** Synthetic JavaFX events dispatched directly into the scene graph. */
+    SYNTHETIC;
+
+    /**
+     * Parses a mode name (case-insensitive). Null or blank yields {@link #AUTO}.
+     */
+    public static InputMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return AUTO;
+        }
+        return switch (value.toLowerCase()) {
+            case "auto" -> AUTO;
+            case "robot" -> ROBOT;
+            case "synthetic", "events" -> SYNTHETIC;
+            default -> throw new IllegalArgumentException("Unknown input mode: " + value);
+        };
+    }
+}
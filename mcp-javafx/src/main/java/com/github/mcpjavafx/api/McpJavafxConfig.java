@@ -14,6 +14,19 @@ import java.util.Objects;
  * @param fxTimeoutMs      timeout for FX thread operations
  * @param serverShutdownMs timeout for server shutdown
  * @param logRequests      whether to log full MCP requests including body
+ * @param defaultInputMode input mode for actions that do not specify one
+ * @param screenshotCompressionLevel deflate level for screenshot PNGs, 0 (fastest) to 9, or -1 for the zlib default
+ * @param visualBaselineDir directory that visual assertion baselines are read from and written to (null = disabled)
+ * @param maxRequestBytes  largest accepted MCP request body; larger requests are rejected with 413
+ * @param compressionMinBytes smallest response that is gzip-compressed for clients that accept it (-1 = never)
+ * @param resultFormat     representations of tool results for calls that do not specify one
+ * @param virtualThreads   run HTTP request handling on virtual threads instead of a platform thread pool
+ * @param admissionMaxConcurrent concurrent calls per tool (0 = unlimited)
+ * @param admissionMaxQueued calls per tool waiting for a slot before new ones are rejected (0 = unlimited)
+ * @param admissionMaxFxPending pending FX-thread tasks above which new calls are rejected (0 = unlimited)
+ * @param doubleClickIntervalMs platform double-click threshold that double-click timing is derived from
+ * @param admissionMaxWaiters concurrent {@code ui_wait_for} calls, instead of admissionMaxConcurrent (0 = unlimited)
+ * @param maxWaitMs        largest {@code timeoutMs} honoured for condition waits and action batches; longer requests are capped
  */
 public record McpJavafxConfig(
         boolean enabled,
@@ -24,11 +37,51 @@ public record McpJavafxConfig(
         SnapshotOptions snapshotDefaults,
         int fxTimeoutMs,
         int serverShutdownMs,
-        boolean logRequests) {
+        boolean logRequests,
+        InputMode defaultInputMode,
+        int screenshotCompressionLevel,
+        String visualBaselineDir,
+        int maxRequestBytes,
+        int compressionMinBytes,
+        ResultFormat resultFormat,
+        boolean virtualThreads,
+        int admissionMaxConcurrent,
+        int admissionMaxQueued,
+        int admissionMaxFxPending,
+        int doubleClickIntervalMs,
+        int admissionMaxWaiters,
+        int maxWaitMs) {
     public static final int DEFAULT_FX_TIMEOUT_MS = 5000;
+    public static final int DEFAULT_SCREENSHOT_COMPRESSION_LEVEL = 1;
     public static final int DEFAULT_SERVER_SHUTDOWN_MS = 2000;
+    public static final int DEFAULT_MAX_REQUEST_BYTES = 4 * 1024 * 1024;
+    public static final int DEFAULT_COMPRESSION_MIN_BYTES = 1024;
+    public static final int DEFAULT_ADMISSION_MAX_CONCURRENT = 4;
+    public static final int DEFAULT_ADMISSION_MAX_QUEUED = 16;
+    public static final int DEFAULT_ADMISSION_MAX_FX_PENDING = 64;
+    public static final int DEFAULT_ADMISSION_MAX_WAITERS = 16;
+    public static final int DEFAULT_DOUBLE_CLICK_INTERVAL_MS = 200;
+    public static final int DEFAULT_MAX_WAIT_MS = 60_000;
     public static final String DEFAULT_BIND_HOST = "127.0.0.1";
 
+    public McpJavafxConfig {
+        defaultInputMode = defaultInputMode != null ? defaultInputMode : InputMode.AUTO;
+        resultFormat = resultFormat != null ? resultFormat : ResultFormat.BOTH;
+        if (screenshotCompressionLevel < -1 || screenshotCompressionLevel > 9) {
+            throw new IllegalArgumentException("screenshotCompressionLevel must be between -1 and 9");
+        }
+        visualBaselineDir = visualBaselineDir != null && !visualBaselineDir.isBlank() ? visualBaselineDir : null;
+        if (maxRequestBytes <= 0 || maxRequestBytes == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxRequestBytes must be positive and below " + Integer.MAX_VALUE);
+        }
+        if (doubleClickIntervalMs <= 0) {
+            throw new IllegalArgumentException("doubleClickIntervalMs must be positive");
+        }
+        if (maxWaitMs <= 0) {
+            throw new IllegalArgumentException("maxWaitMs must be positive");
+        }
+    }
+
     public static McpJavafxConfig defaults() {
         return new McpJavafxConfig(
                 false,
@@ -39,7 +92,20 @@ public record McpJavafxConfig(
                 SnapshotOptions.DEFAULT,
                 DEFAULT_FX_TIMEOUT_MS,
                 DEFAULT_SERVER_SHUTDOWN_MS,
-                false);
+                false,
+                InputMode.AUTO,
+                DEFAULT_SCREENSHOT_COMPRESSION_LEVEL,
+                null,
+                DEFAULT_MAX_REQUEST_BYTES,
+                DEFAULT_COMPRESSION_MIN_BYTES,
+                ResultFormat.BOTH,
+                false,
+                DEFAULT_ADMISSION_MAX_CONCURRENT,
+                DEFAULT_ADMISSION_MAX_QUEUED,
+                DEFAULT_ADMISSION_MAX_FX_PENDING,
+                DEFAULT_DOUBLE_CLICK_INTERVAL_MS,
+                DEFAULT_ADMISSION_MAX_WAITERS,
+                DEFAULT_MAX_WAIT_MS);
     }
 
     public static Builder builder() {
@@ -59,7 +125,28 @@ public record McpJavafxConfig(
                 parseSnapshotOptions(),
                 Integer.parseInt(System.getProperty("mcp.fxTimeout", String.valueOf(DEFAULT_FX_TIMEOUT_MS))),
                 DEFAULT_SERVER_SHUTDOWN_MS,
-                Boolean.parseBoolean(System.getProperty("mcp.http.logRequests", "false")));
+                Boolean.parseBoolean(System.getProperty("mcp.http.logRequests", "false")),
+                InputMode.parse(System.getProperty("mcp.input", "auto")),
+                Integer.parseInt(System.getProperty("mcp.screenshot.compression",
+                        String.valueOf(DEFAULT_SCREENSHOT_COMPRESSION_LEVEL))),
+                System.getProperty("mcp.visual.baselineDir"),
+                Integer.parseInt(System.getProperty("mcp.http.maxRequestBytes",
+                        String.valueOf(DEFAULT_MAX_REQUEST_BYTES))),
+                Integer.parseInt(System.getProperty("mcp.http.compressionMinBytes",
+                        String.valueOf(DEFAULT_COMPRESSION_MIN_BYTES))),
+                ResultFormat.parse(System.getProperty("mcp.resultFormat", "both")),
+                Boolean.parseBoolean(System.getProperty("mcp.http.virtualThreads", "false")),
+                Integer.parseInt(System.getProperty("mcp.admission.maxConcurrent",
+                        String.valueOf(DEFAULT_ADMISSION_MAX_CONCURRENT))),
+                Integer.parseInt(System.getProperty("mcp.admission.maxQueued",
+                        String.valueOf(DEFAULT_ADMISSION_MAX_QUEUED))),
+                Integer.parseInt(System.getProperty("mcp.admission.maxFxPending",
+                        String.valueOf(DEFAULT_ADMISSION_MAX_FX_PENDING))),
+                Integer.parseInt(System.getProperty("mcp.input.doubleClickInterval",
+                        String.valueOf(DEFAULT_DOUBLE_CLICK_INTERVAL_MS))),
+                Integer.parseInt(System.getProperty("mcp.admission.maxWaiters",
+                        String.valueOf(DEFAULT_ADMISSION_MAX_WAITERS))),
+                Integer.parseInt(System.getProperty("mcp.maxWait", String.valueOf(DEFAULT_MAX_WAIT_MS))));
     }
 
     private static Transport parseTransport(String value) {
@@ -90,6 +177,19 @@ public record McpJavafxConfig(
         private int fxTimeoutMs = DEFAULT_FX_TIMEOUT_MS;
         private int serverShutdownMs = DEFAULT_SERVER_SHUTDOWN_MS;
         private boolean logRequests = false;
+        private InputMode defaultInputMode = InputMode.AUTO;
+        private int screenshotCompressionLevel = DEFAULT_SCREENSHOT_COMPRESSION_LEVEL;
+        private String visualBaselineDir;
+        private int maxRequestBytes = DEFAULT_MAX_REQUEST_BYTES;
+        private int compressionMinBytes = DEFAULT_COMPRESSION_MIN_BYTES;
+        private ResultFormat resultFormat = ResultFormat.BOTH;
+        private boolean virtualThreads = false;
+        private int admissionMaxConcurrent = DEFAULT_ADMISSION_MAX_CONCURRENT;
+        private int admissionMaxQueued = DEFAULT_ADMISSION_MAX_QUEUED;
+        private int admissionMaxFxPending = DEFAULT_ADMISSION_MAX_FX_PENDING;
+        private int doubleClickIntervalMs = DEFAULT_DOUBLE_CLICK_INTERVAL_MS;
+        private int admissionMaxWaiters = DEFAULT_ADMISSION_MAX_WAITERS;
+        private int maxWaitMs = DEFAULT_MAX_WAIT_MS;
 
         public Builder enabled(boolean enabled) {
             this.enabled = enabled;
@@ -131,6 +231,71 @@ public record McpJavafxConfig(
             return this;
         }
 
+        public Builder defaultInputMode(InputMode defaultInputMode) {
+            this.defaultInputMode = Objects.requireNonNull(defaultInputMode);
+            return this;
+        }
+
+        public Builder screenshotCompressionLevel(int screenshotCompressionLevel) {
+            this.screenshotCompressionLevel = screenshotCompressionLevel;
+            return this;
+        }
+
+        public Builder visualBaselineDir(String visualBaselineDir) {
+            this.visualBaselineDir = visualBaselineDir;
+            return this;
+        }
+
+        public Builder maxRequestBytes(int maxRequestBytes) {
+            this.maxRequestBytes = maxRequestBytes;
+            return this;
+        }
+
+        public Builder compressionMinBytes(int compressionMinBytes) {
+            this.compressionMinBytes = compressionMinBytes;
+            return this;
+        }
+
+        public Builder resultFormat(ResultFormat resultFormat) {
+            this.resultFormat = Objects.requireNonNull(resultFormat);
+            return this;
+        }
+
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        public Builder admissionMaxConcurrent(int admissionMaxConcurrent) {
+            this.admissionMaxConcurrent = admissionMaxConcurrent;
+            return this;
+        }
+
+        public Builder admissionMaxQueued(int admissionMaxQueued) {
+            this.admissionMaxQueued = admissionMaxQueued;
+            return this;
+        }
+
+        public Builder admissionMaxFxPending(int admissionMaxFxPending) {
+            this.admissionMaxFxPending = admissionMaxFxPending;
+            return this;
+        }
+
+        public Builder doubleClickIntervalMs(int doubleClickIntervalMs) {
+            this.doubleClickIntervalMs = doubleClickIntervalMs;
+            return this;
+        }
+
+        public Builder admissionMaxWaiters(int admissionMaxWaiters) {
+            this.admissionMaxWaiters = admissionMaxWaiters;
+            return this;
+        }
+
+        public Builder maxWaitMs(int maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+            return this;
+        }
+
         public McpJavafxConfig build() {
             return new McpJavafxConfig(
                     enabled,
@@ -141,7 +306,20 @@ public record McpJavafxConfig(
                     snapshotDefaults,
                     fxTimeoutMs,
                     serverShutdownMs,
-                    logRequests);
+                    logRequests,
+                    defaultInputMode,
+                    screenshotCompressionLevel,
+                    visualBaselineDir,
+                    maxRequestBytes,
+                    compressionMinBytes,
+                    resultFormat,
+                    virtualThreads,
+                    admissionMaxConcurrent,
+                    admissionMaxQueued,
+                    admissionMaxFxPending,
+                    doubleClickIntervalMs,
+                    admissionMaxWaiters,
+                    maxWaitMs);
         }
     }
 }
@@ -0,0 +1,31 @@
+package com.github.mcpjavafx.api;
+
+/**
+ * Which representations a tool result carries.
+ */
+public enum ResultFormat {
+    /** Text content and structured content (the default). */
+    BOTH,
+    /** Text content only. */
+    TEXT,
+    /** Structured content only. */
+    STRUCTURED,
+    /** A one-line text summary plus structured content. */
+    SUMMARY;
+
+    /**
+     * Parses a format name (case-insensitive). Null or blank yields {@link #BOTH}.
+     */
+    public static ResultFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return BOTH;
+        }
+        return switch (value.toLowerCase()) {
+            case "both" -> BOTH;
+            case "text" -> TEXT;
+            case "structured", "json" -> STRUCTURED;
+            case "summary" -> SUMMARY;
+            default -> throw new IllegalArgumentException("Unknown result format: " + value);
+        };
+    }
+}
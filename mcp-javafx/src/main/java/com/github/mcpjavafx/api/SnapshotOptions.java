@@ -12,6 +12,8 @@ package com.github.mcpjavafx.api;
  * @param includeAccessibility  include accessibility info
  * @param skeleton              capture only structure without details
  * @param includeControlInternals include internal children of standard controls
+ * @param maxNodes              maximum number of captured nodes, or 0 for no limit
+ * @param maxBytes              maximum estimated size of the compact result in bytes, or 0 for no limit
  */
 public record SnapshotOptions(
         int depth,
@@ -21,7 +23,9 @@ public record SnapshotOptions(
         boolean includeVirtualization,
         boolean includeAccessibility,
         boolean skeleton,
-        boolean includeControlInternals) {
+        boolean includeControlInternals,
+        int maxNodes,
+        int maxBytes) {
     public static final SnapshotOptions DEFAULT = new SnapshotOptions(
             50, // depth
             true, // includeBounds
@@ -30,7 +34,9 @@ public record SnapshotOptions(
             true, // includeVirtualization
             false, // includeAccessibility
             false, // skeleton
-            false // includeControlInternals
+            false, // includeControlInternals
+            0, // maxNodes
+            0 // maxBytes
     );
 
     public static Builder builder() {
@@ -46,6 +52,8 @@ public record SnapshotOptions(
         private boolean includeAccessibility = false;
         private boolean skeleton = false;
         private boolean includeControlInternals = false;
+        private int maxNodes = 0;
+        private int maxBytes = 0;
 
         public Builder depth(int depth) {
             this.depth = depth;
@@ -87,10 +95,21 @@ public record SnapshotOptions(
             return this;
         }
 
+        public Builder maxNodes(int maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        public Builder maxBytes(int maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
         public SnapshotOptions build() {
             return new SnapshotOptions(
                     depth, includeBounds, includeLocalToScreen,
-                    includeProperties, includeVirtualization, includeAccessibility, skeleton, includeControlInternals);
+                    includeProperties, includeVirtualization, includeAccessibility, skeleton, includeControlInternals,
+                    maxNodes, maxBytes);
         }
     }
 }
@@ -0,0 +1,86 @@
+package com.github.mcpjavafx.api;
+
+import javafx.animation.Animation;
+import javafx.concurrent.Worker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Registry of background activity the debug server should treat as "UI busy".
+ *
+ * <p>
+ * JavaFX offers no public way to enumerate running animations or tasks, so
+ * applications can register the ones that matter for idle detection:
+ * </p>
+ *
+ * <pre>
+ * var task = new LoadTask();
+ * UiActivity.track(task);
+ * executor.submit(task);
+ * </pre>
+ *
+ * <p>
+ * Entries are held weakly and only count while running, so nothing needs to be unregistered.
+ * </p>
+ */
+public final class UiActivity {
+
+    private static final Set<Animation> ANIMATIONS = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final Set<Worker<?>> WORKERS = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private UiActivity() {
+    }
+
+    /**
+     * Counts the animation as busy while its status is RUNNING.
+     */
+    public static void track(Animation animation) {
+        ANIMATIONS.add(Objects.requireNonNull(animation, "animation"));
+    }
+
+    /**
+     * Counts the worker as busy while it is SCHEDULED or RUNNING.
+     */
+    public static void track(Worker<?> worker) {
+        WORKERS.add(Objects.requireNonNull(worker, "worker"));
+    }
+
+    /**
+     * Returns the number of tracked animations currently running. Call on the FX Application Thread.
+     */
+    public static int runningAnimations() {
+        int count = 0;
+        for (var animation : snapshot(ANIMATIONS)) {
+            if (animation.getStatus() == Animation.Status.RUNNING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of tracked workers scheduled or running. Call on the FX Application Thread.
+     */
+    public static int activeWorkers() {
+        int count = 0;
+        for (var worker : snapshot(WORKERS)) {
+            var state = worker.getState();
+            if (state == Worker.State.SCHEDULED || state == Worker.State.RUNNING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static <T> ArrayList<T> snapshot(Set<T> set) {
+        synchronized (set) {
+            return new ArrayList<>(set);
+        }
+    }
+}
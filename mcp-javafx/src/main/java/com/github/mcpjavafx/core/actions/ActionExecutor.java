@@ -1,26 +1,30 @@
 package com.github.mcpjavafx.core.actions;
 
+import com.github.mcpjavafx.api.InputMode;
+import com.github.mcpjavafx.api.McpJavafxConfig;
 import com.github.mcpjavafx.core.fx.Fx;
 import com.github.mcpjavafx.core.fx.NodeRefService;
 import com.github.mcpjavafx.core.model.NodeRef;
 import com.github.mcpjavafx.core.query.NodeQueryService;
-import javafx.embed.swing.SwingFXUtils;
+import javafx.animation.Interpolator;
+import javafx.event.ActionEvent;
+import javafx.event.Event;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
-import javafx.scene.SnapshotParameters;
+import javafx.scene.Scene;
 import javafx.scene.control.ButtonBase;
+import javafx.scene.control.IndexedCell;
 import javafx.scene.control.TextInputControl;
-import javafx.scene.image.WritableImage;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
 import javafx.scene.robot.Robot;
 import javafx.stage.Stage;
 
-import javax.imageio.ImageIO;
-import java.io.ByteArrayOutputStream;
-import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,35 +36,110 @@ public class ActionExecutor {
     private static final Logger LOG = Logger.getLogger(ActionExecutor.class.getName());
 
     // --- Constants to avoid magic numbers ---
-    private static final int DRAG_STEPS = 10;
-    private static final int DRAG_STEP_DELAY_MS = 10;
-    private static final int DEFAULT_DOUBLE_CLICK_INTERVAL_MS = 200;
     private static final int DOUBLE_CLICK_WAIT_DIVISOR = 4;
 
+    /** Default number of characters dispatched per pulse by synthetic typing. */
+    public static final int DEFAULT_CHARS_PER_PULSE = 1024;
+
     private final int fxTimeoutMs;
+    private final int doubleClickIntervalMs;
     private final NodeQueryService queryService;
     private final NodeRefService nodeRefService;
+    private final SyntheticMouse syntheticMouse = new SyntheticMouse();
     private Robot robot;
 
     public ActionExecutor(int fxTimeoutMs, NodeQueryService queryService, NodeRefService nodeRefService) {
+        this(fxTimeoutMs, McpJavafxConfig.DEFAULT_DOUBLE_CLICK_INTERVAL_MS, queryService, nodeRefService);
+    }
+
+    /**
+     * @param doubleClickIntervalMs platform double-click threshold; JavaFX does not expose the real one
+     */
+    public ActionExecutor(int fxTimeoutMs, int doubleClickIntervalMs, NodeQueryService queryService,
+            NodeRefService nodeRefService) {
         if (fxTimeoutMs <= 0) {
             throw new IllegalArgumentException("fxTimeoutMs must be positive");
         }
+        if (doubleClickIntervalMs <= 0) {
+            throw new IllegalArgumentException("doubleClickIntervalMs must be positive");
+        }
         this.fxTimeoutMs = fxTimeoutMs;
+        this.doubleClickIntervalMs = doubleClickIntervalMs;
         this.queryService = Objects.requireNonNull(queryService, "queryService");
         this.nodeRefService = Objects.requireNonNull(nodeRefService, "nodeRefService");
     }
 
     /**
      * Result of an action execution.
+     *
+     * @param durationMs time spent executing the action, when measured by a batch pipeline
      */
-    public record ActionResult(boolean ok, String type, String error) {
+    public record ActionResult(boolean ok, String type, String error, Double durationMs) {
         public static ActionResult success(String type) {
-            return new ActionResult(true, type, null);
+            return new ActionResult(true, type, null, null);
         }
 
         public static ActionResult failure(String type, String error) {
-            return new ActionResult(false, type, error);
+            return new ActionResult(false, type, error, null);
+        }
+
+        public ActionResult withDurationMs(double durationMs) {
+            return new ActionResult(ok, type, error, durationMs);
+        }
+    }
+
+    /**
+     * Timing of multi-step gestures (drag, double-click).
+     *
+     * @param steps      number of intermediate mouse moves for a drag
+     * @param durationMs total drag duration, or the gap between the two clicks of a double-click
+     *                   (null = derived from the platform double-click interval)
+     * @param easing     interpolation of drag positions over time
+     */
+    public record GestureOptions(int steps, Integer durationMs, Interpolator easing) {
+        public static final int DEFAULT_DRAG_STEPS = 10;
+        public static final int DEFAULT_DRAG_DURATION_MS = 100;
+        public static final GestureOptions DEFAULT = new GestureOptions(DEFAULT_DRAG_STEPS, null, Interpolator.LINEAR);
+
+        public GestureOptions {
+            if (steps <= 0) {
+                throw new IllegalArgumentException("steps must be positive");
+            }
+            if (durationMs != null && durationMs < 0) {
+                throw new IllegalArgumentException("durationMs must not be negative");
+            }
+            easing = easing != null ? easing : Interpolator.LINEAR;
+        }
+
+        /**
+         * Parses an easing name: linear, easeIn, easeOut or easeInOut.
+         */
+        public static Interpolator parseEasing(String name) {
+            if (name == null || name.isBlank()) {
+                return Interpolator.LINEAR;
+            }
+            return switch (name.toLowerCase()) {
+                case "easein", "ease_in" -> Interpolator.EASE_IN;
+                case "easeout", "ease_out" -> Interpolator.EASE_OUT;
+                case "easeinout", "ease_in_out", "easeboth", "ease_both" -> Interpolator.EASE_BOTH;
+                case "linear" -> Interpolator.LINEAR;
+                default -> throw new IllegalArgumentException("Unknown easing: " + name);
+            };
+        }
+    }
+
+    /**
+     * Item of a ListView, TableView or TreeView, addressed by row index or by text.
+     *
+     * @param index  row index (for trees, the visible row)
+     * @param text   item text: {@code String.valueOf(item)}, or for tables with a column the cell value
+     * @param column table column id or header text (tables only)
+     */
+    public record ItemTarget(Integer index, String text, String column) {
+        public ItemTarget {
+            if (index == null && text == null) {
+                throw new IllegalArgumentException("Item index or text must be specified");
+            }
         }
     }
 
@@ -76,6 +155,12 @@ public class ActionExecutor {
     private record ResolvedNode(Node node, Bounds screenBounds) {
     }
 
+    /**
+     * Scene position for synthetic mouse events.
+     */
+    private record ScenePosition(Scene scene, double x, double y) {
+    }
+
     /**
      * Initializes the Robot on FX thread if not already done.
      */
@@ -127,15 +212,33 @@ public class ActionExecutor {
     }
 
     /**
-     * Sleeps for the specified duration, properly handling interruption.
+     * Resolves a node reference to a point in its scene, without touching the window.
+     * Returns null if the node is not found or not attached to a scene.
      */
-    private void sleepSafely(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LOG.log(Level.FINE, "Sleep interrupted", e);
+    private ScenePosition resolveScenePosition(NodeRef ref, Double x, Double y) {
+        if (ref == null) {
+            return null;
+        }
+
+        var node = queryService.findByRef(ref);
+        if (node == null || node.getScene() == null) {
+            return null;
+        }
+
+        var pos = calculatePosition(node.localToScene(node.getBoundsInLocal()), x, y);
+        return new ScenePosition(node.getScene(), pos.x(), pos.y());
+    }
+
+    /**
+     * Maps screen coordinates into the scene of the focused stage.
+     */
+    private ScenePosition screenToScene(double screenX, double screenY) {
+        var stage = getStage(-1);
+        if (stage == null || stage.getScene() == null) {
+            return null;
         }
+        var scene = stage.getScene();
+        return new ScenePosition(scene, screenX - stage.getX() - scene.getX(), screenY - stage.getY() - scene.getY());
     }
 
     // --- Action Methods ---
@@ -158,7 +261,23 @@ public class ActionExecutor {
      * Clicks on a node (center).
      */
     public ActionResult click(NodeRef ref, Double x, Double y) {
+        return click(ref, x, y, InputMode.AUTO);
+    }
+
+    /**
+     * Clicks on a node using the given input mode.
+     */
+    public ActionResult click(NodeRef ref, Double x, Double y, InputMode mode) {
         return Fx.exec(() -> {
+            if (mode == InputMode.SYNTHETIC) {
+                var pos = resolveScenePosition(ref, x, y);
+                if (pos == null) {
+                    return ActionResult.failure("click", "Node not found or not in a scene: " + ref);
+                }
+                syntheticMouse.click(pos.scene(), pos.x(), pos.y(), MouseButton.PRIMARY, 1);
+                return ActionResult.success("click");
+            }
+
             var node = queryService.findByRef(ref);
             if (node == null) {
                 return ActionResult.failure("click", "Node not found: " + ref);
@@ -168,7 +287,7 @@ public class ActionExecutor {
 
             // Prefer deterministic UI-level activation for common controls.
             // This avoids flakiness when the window isn't focused or is covered.
-            if (node instanceof ButtonBase button && x == null && y == null) {
+            if (mode == InputMode.AUTO && node instanceof ButtonBase button && x == null && y == null) {
                 button.fire();
                 return ActionResult.success("click");
             }
@@ -201,41 +320,79 @@ public class ActionExecutor {
     }
 
     /**
-     * Double-clicks on a node (center).
+     * Starts a double-click whose second click is scheduled on a later pulse.
+     * Must be called on the FX Application Thread.
+     *
+     * @return future completed on the FX thread once both clicks were issued
      */
-    public ActionResult doubleClick(NodeRef ref, Double x, Double y) {
-        return Fx.exec(() -> {
-            var resolved = resolveNode(ref, "doubleClick");
-            if (resolved == null) {
-                return ActionResult.failure("doubleClick", "Node not found or cannot get screen bounds: " + ref);
+    public CompletableFuture<ActionResult> doubleClickAsync(NodeRef ref, Double x, Double y,
+            GestureOptions options, InputMode mode) {
+        if (mode == InputMode.SYNTHETIC) {
+            var pos = resolveScenePosition(ref, x, y);
+            if (pos == null) {
+                return CompletableFuture.completedFuture(
+                        ActionResult.failure("doubleClick", "Node not found or not in a scene: " + ref));
             }
+            return new PulseGesture()
+                    .at(0, () -> syntheticMouse.click(pos.scene(), pos.x(), pos.y(), MouseButton.PRIMARY, 1))
+                    .at(doubleClickGapMs(options),
+                            () -> syntheticMouse.click(pos.scene(), pos.x(), pos.y(), MouseButton.PRIMARY, 2))
+                    .start()
+                    .thenApply(ignored -> ActionResult.success("doubleClick"));
+        }
 
-            var pos = calculatePosition(resolved.screenBounds(), x, y);
-            var robot = getRobot();
-            robot.mouseMove(pos.x(), pos.y());
-
-            int doubleClickInterval = getDoubleClickInterval();
-
-            // First click
-            robot.mousePress(MouseButton.PRIMARY);
-            robot.mouseRelease(MouseButton.PRIMARY);
-
-            // Wait a small fraction of the threshold
-            sleepSafely(Math.max(10, doubleClickInterval / DOUBLE_CLICK_WAIT_DIVISOR));
+        var resolved = resolveNode(ref, "doubleClick");
+        if (resolved == null) {
+            return CompletableFuture.completedFuture(
+                    ActionResult.failure("doubleClick", "Node not found or cannot get screen bounds: " + ref));
+        }
 
-            // Second click
-            robot.mousePress(MouseButton.PRIMARY);
-            robot.mouseRelease(MouseButton.PRIMARY);
+        var pos = calculatePosition(resolved.screenBounds(), x, y);
+        var robot = getRobot();
+
+        return new PulseGesture()
+                .at(0, () -> {
+                    robot.mouseMove(pos.x(), pos.y());
+                    robot.mousePress(MouseButton.PRIMARY);
+                    robot.mouseRelease(MouseButton.PRIMARY);
+                })
+                .at(doubleClickGapMs(options), () -> {
+                    robot.mousePress(MouseButton.PRIMARY);
+                    robot.mouseRelease(MouseButton.PRIMARY);
+                })
+                .start()
+                .thenApply(ignored -> ActionResult.success("doubleClick"));
+    }
 
-            return ActionResult.success("doubleClick");
-        }, fxTimeoutMs);
+    private int doubleClickGapMs(GestureOptions options) {
+        if (options.durationMs() != null) {
+            return options.durationMs();
+        }
+        // A small fraction of the platform threshold
+        return Math.max(10, doubleClickIntervalMs / DOUBLE_CLICK_WAIT_DIVISOR);
     }
 
     /**
      * Presses mouse button on a node (without releasing).
      */
     public ActionResult mousePressed(NodeRef ref, String button, Double x, Double y) {
+        return mousePressed(ref, button, x, y, InputMode.AUTO);
+    }
+
+    /**
+     * Presses mouse button on a node using the given input mode.
+     */
+    public ActionResult mousePressed(NodeRef ref, String button, Double x, Double y, InputMode mode) {
         return Fx.exec(() -> {
+            if (mode == InputMode.SYNTHETIC) {
+                var pos = resolveScenePosition(ref, x, y);
+                if (pos == null) {
+                    return ActionResult.failure("mousePressed", "Node not found or not in a scene: " + ref);
+                }
+                syntheticMouse.press(pos.scene(), pos.x(), pos.y(), parseMouseButton(button), 1);
+                return ActionResult.success("mousePressed");
+            }
+
             var resolved = resolveNode(ref, "mousePressed");
             if (resolved == null) {
                 return ActionResult.failure("mousePressed", "Node not found or cannot get screen bounds: " + ref);
@@ -255,7 +412,35 @@ public class ActionExecutor {
      * Releases mouse button on a node.
      */
     public ActionResult mouseReleased(NodeRef ref, String button, Double x, Double y) {
+        return mouseReleased(ref, button, x, y, InputMode.AUTO);
+    }
+
+    /**
+     * Releases mouse button using the given input mode. Without a node or coordinates the
+     * button is released where it was last pressed or dragged to.
+     */
+    public ActionResult mouseReleased(NodeRef ref, String button, Double x, Double y, InputMode mode) {
         return Fx.exec(() -> {
+            if (mode == InputMode.SYNTHETIC) {
+                ScenePosition pos = null;
+                if (ref != null) {
+                    pos = resolveScenePosition(ref, x, y);
+                    if (pos == null) {
+                        return ActionResult.failure("mouseReleased", "Node not found or not in a scene: " + ref);
+                    }
+                } else if (x != null && y != null) {
+                    pos = screenToScene(x, y);
+                }
+                var mouseButton = parseMouseButton(button);
+                var released = pos != null
+                        ? syntheticMouse.release(pos.scene(), pos.x(), pos.y(), mouseButton, 1)
+                        : syntheticMouse.release(null, 0, 0, mouseButton, 1);
+                if (!released) {
+                    return ActionResult.failure("mouseReleased", "No pressed " + mouseButton + " button to release");
+                }
+                return ActionResult.success("mouseReleased");
+            }
+
             if (ref != null) {
                 var resolved = resolveNode(ref, "mouseReleased");
                 if (resolved != null) {
@@ -272,42 +457,90 @@ public class ActionExecutor {
     }
 
     /**
-     * Performs a drag operation from source to target.
+     * Starts a drag whose intermediate moves are scheduled on animation pulses.
+     * Must be called on the FX Application Thread.
+     *
+     * @return future completed on the FX thread once the button was released
      */
-    public ActionResult drag(NodeRef fromRef, Double fromX, Double fromY,
-            NodeRef toRef, Double toX, Double toY, String button) {
-        return Fx.exec(() -> {
-            var robot = getRobot();
-            var mouseButton = parseMouseButton(button);
+    public CompletableFuture<ActionResult> dragAsync(NodeRef fromRef, Double fromX, Double fromY,
+            NodeRef toRef, Double toX, Double toY, String button, GestureOptions options, InputMode mode) {
+        if (mode == InputMode.SYNTHETIC) {
+            return syntheticDragAsync(fromRef, fromX, fromY, toRef, toX, toY, parseMouseButton(button), options);
+        }
 
-            // Determine start position
-            ScreenPosition start = resolveStartPosition(fromRef, fromX, fromY);
-            if (start == null) {
-                return ActionResult.failure("drag", "No valid source specified");
-            }
+        var mouseButton = parseMouseButton(button);
 
-            // Determine end position
-            ScreenPosition end = resolveEndPosition(toRef, toX, toY);
-            if (end == null) {
-                return ActionResult.failure("drag", "No valid target specified");
-            }
+        // Determine start position
+        ScreenPosition start = resolveStartPosition(fromRef, fromX, fromY);
+        if (start == null) {
+            return CompletableFuture.completedFuture(ActionResult.failure("drag", "No valid source specified"));
+        }
 
-            // Execute drag sequence
+        // Determine end position
+        ScreenPosition end = resolveEndPosition(toRef, toX, toY);
+        if (end == null) {
+            return CompletableFuture.completedFuture(ActionResult.failure("drag", "No valid target specified"));
+        }
+
+        var robot = getRobot();
+        var steps = options.steps();
+        var durationMs = dragDurationMs(options);
+        var gesture = new PulseGesture().at(0, () -> {
             robot.mouseMove(start.x(), start.y());
             robot.mousePress(mouseButton);
+        });
+
+        // Move in steps to trigger proper drag events
+        for (int i = 1; i <= steps; i++) {
+            double fraction = options.easing().interpolate(0.0, 1.0, (double) i / steps);
+            double stepX = start.x() + (end.x() - start.x()) * fraction;
+            double stepY = start.y() + (end.y() - start.y()) * fraction;
+            gesture.at((double) durationMs * i / steps, () -> robot.mouseMove(stepX, stepY));
+        }
 
-            // Move in steps to trigger proper drag events
-            for (int i = 1; i <= DRAG_STEPS; i++) {
-                double stepX = start.x() + (end.x() - start.x()) * i / DRAG_STEPS;
-                double stepY = start.y() + (end.y() - start.y()) * i / DRAG_STEPS;
-                robot.mouseMove(stepX, stepY);
-                sleepSafely(DRAG_STEP_DELAY_MS);
-            }
+        gesture.at(durationMs, () -> robot.mouseRelease(mouseButton));
 
-            robot.mouseRelease(mouseButton);
+        return gesture.start().thenApply(ignored -> ActionResult.success("drag"));
+    }
 
-            return ActionResult.success("drag");
-        }, fxTimeoutMs);
+    private CompletableFuture<ActionResult> syntheticDragAsync(NodeRef fromRef, Double fromX, Double fromY,
+            NodeRef toRef, Double toX, Double toY, MouseButton mouseButton, GestureOptions options) {
+        var start = fromRef != null ? resolveScenePosition(fromRef, fromX, fromY)
+                : fromX != null && fromY != null ? screenToScene(fromX, fromY) : null;
+        if (start == null) {
+            return CompletableFuture.completedFuture(ActionResult.failure("drag", "No valid source specified"));
+        }
+
+        var end = toRef != null ? resolveScenePosition(toRef, toX, toY)
+                : toX != null && toY != null ? screenToScene(toX, toY) : null;
+        if (end == null) {
+            return CompletableFuture.completedFuture(ActionResult.failure("drag", "No valid target specified"));
+        }
+        if (end.scene() != start.scene()) {
+            return CompletableFuture.completedFuture(
+                    ActionResult.failure("drag", "Synthetic drag across scenes is not supported"));
+        }
+
+        var scene = start.scene();
+        var steps = options.steps();
+        var durationMs = dragDurationMs(options);
+        var gesture = new PulseGesture()
+                .at(0, () -> syntheticMouse.press(scene, start.x(), start.y(), mouseButton, 1));
+
+        for (int i = 1; i <= steps; i++) {
+            double fraction = options.easing().interpolate(0.0, 1.0, (double) i / steps);
+            double stepX = start.x() + (end.x() - start.x()) * fraction;
+            double stepY = start.y() + (end.y() - start.y()) * fraction;
+            gesture.at((double) durationMs * i / steps, () -> syntheticMouse.dragTo(stepX, stepY));
+        }
+
+        gesture.at(durationMs, () -> syntheticMouse.release(scene, end.x(), end.y(), mouseButton, 1));
+
+        return gesture.start().thenApply(ignored -> ActionResult.success("drag"));
+    }
+
+    private int dragDurationMs(GestureOptions options) {
+        return options.durationMs() != null ? options.durationMs() : GestureOptions.DEFAULT_DRAG_DURATION_MS;
     }
 
     private ScreenPosition resolveStartPosition(NodeRef fromRef, Double fromX, Double fromY) {
@@ -347,47 +580,179 @@ public class ActionExecutor {
         };
     }
 
-    private int getDoubleClickInterval() {
-        try {
-            Object interval = java.awt.Toolkit.getDefaultToolkit()
-                    .getDesktopProperty("awt.multiClickInterval");
-            if (interval instanceof Integer i) {
-                return i;
+    /**
+     * Starts typing text into the currently focused element. Must be called on the FX Application Thread.
+     *
+     * <p>
+     * {@link InputMode#AUTO} inserts directly into a focused TextInputControl and falls back to the Robot
+     * otherwise. {@link InputMode#SYNTHETIC} dispatches KeyEvents to the focus owner, handles any Unicode
+     * text and spreads long payloads over pulses, {@code charsPerPulse} characters at a time.
+     * </p>
+     *
+     * @return future completed on the FX thread once all characters were delivered
+     */
+    public CompletableFuture<ActionResult> typeTextAsync(String text, InputMode mode, int charsPerPulse) {
+        var stage = getStage(-1);
+        var scene = stage != null ? stage.getScene() : null;
+
+        if (mode == InputMode.SYNTHETIC) {
+            if (scene == null) {
+                return CompletableFuture.completedFuture(ActionResult.failure("typeText", "No scene to type into"));
+            }
+            return KeyEventInjector.type(scene, text, charsPerPulse)
+                    .thenApply(ignored -> ActionResult.success("typeText"));
+        }
+
+        if (mode == InputMode.AUTO && scene != null
+                && scene.getFocusOwner() instanceof TextInputControl input) {
+            input.insertText(input.getCaretPosition(), text);
+            return CompletableFuture.completedFuture(ActionResult.success("typeText"));
+        }
+
+        var robot = getRobot();
+        for (char c : text.toCharArray()) {
+            String s = String.valueOf(c);
+            if (" ".equals(s)) {
+                robot.keyType(KeyCode.SPACE);
+                continue;
+            }
+            var keyCode = KeyCode.getKeyCode(s.toUpperCase());
+            if (keyCode != null) {
+                robot.keyType(keyCode);
             }
-        } catch (Exception e) {
-            LOG.log(Level.FINE, "Could not get double-click interval from system", e);
         }
-        return DEFAULT_DOUBLE_CLICK_INTERVAL_MS;
+        return CompletableFuture.completedFuture(ActionResult.success("typeText"));
     }
 
+    // --- Virtualized control items ---
+
     /**
-     * Types text into the currently focused element.
+     * Scrolls a ListView, TableView or TreeView to an item and waits until its cell is laid out.
+     * Must be called on the FX Application Thread.
      */
-    public ActionResult typeText(String text) {
-        return Fx.exec(() -> {
-            var stage = getStage(-1);
-            if (stage != null && stage.getScene() != null) {
-                var focusOwner = stage.getScene().getFocusOwner();
-                if (focusOwner instanceof TextInputControl input) {
-                    input.insertText(input.getCaretPosition(), text);
-                    return ActionResult.success("typeText");
-                }
+    public CompletableFuture<ActionResult> scrollToItemAsync(NodeRef ref, ItemTarget target) {
+        return withRealizedItem("scrollToItem", ref, target, located -> {
+        }, (located, cell) -> ActionResult.success("scrollToItem"));
+    }
+
+    /**
+     * Selects and focuses an item, scrolling it into view. Must be called on the FX Application Thread.
+     */
+    public CompletableFuture<ActionResult> selectItemAsync(NodeRef ref, ItemTarget target) {
+        return withRealizedItem("selectItem", ref, target, VirtualCells::select,
+                (located, cell) -> ActionResult.success("selectItem"));
+    }
+
+    /**
+     * Scrolls an item into view and clicks its cell. Must be called on the FX Application Thread.
+     *
+     * @param clickCount 1 for a click, 2 for a double-click
+     */
+    public CompletableFuture<ActionResult> clickItemAsync(NodeRef ref, ItemTarget target, String button,
+            int clickCount, InputMode mode) {
+        var mouseButton = parseMouseButton(button);
+        return withRealizedItem("clickItem", ref, target, located -> {
+        }, (located, cell) -> clickNode("clickItem", cell, mouseButton, clickCount, mode));
+    }
+
+    /**
+     * Scrolls an item into view and starts editing its cell. With text, replaces the editor's
+     * text and, if {@code commit} is set, commits it as if ENTER was pressed.
+     * Must be called on the FX Application Thread.
+     */
+    public CompletableFuture<ActionResult> editItemAsync(NodeRef ref, ItemTarget target, String text, boolean commit) {
+        return withRealizedItem("editItem", ref, target, located -> {
+        }, (located, cell) -> {
+            if (!VirtualCells.edit(located)) {
+                return ActionResult.failure("editItem", "Control or column is not editable");
+            }
+            if (!cell.isEditing()) {
+                return ActionResult.failure("editItem", "Cell did not enter edit mode");
+            }
+            if (text == null) {
+                return ActionResult.success("editItem");
             }
 
-            var robot = getRobot();
-            for (char c : text.toCharArray()) {
-                String s = String.valueOf(c);
-                if (" ".equals(s)) {
-                    robot.keyType(KeyCode.SPACE);
-                    continue;
-                }
-                var keyCode = KeyCode.getKeyCode(s.toUpperCase());
-                if (keyCode != null) {
-                    robot.keyType(keyCode);
-                }
+            var editor = findEditor(cell);
+            if (editor == null) {
+                cell.cancelEdit();
+                return ActionResult.failure("editItem", "Cell has no text editor");
             }
-            return ActionResult.success("typeText");
-        }, fxTimeoutMs);
+            editor.setText(text);
+            if (commit) {
+                Event.fireEvent(editor, new ActionEvent(editor, editor));
+            }
+            return ActionResult.success("editItem");
+        });
+    }
+
+    private CompletableFuture<ActionResult> withRealizedItem(String type, NodeRef ref, ItemTarget target,
+            Consumer<VirtualCells.Located> prepare,
+            BiFunction<VirtualCells.Located, IndexedCell<?>, ActionResult> action) {
+        var node = ref != null ? queryService.findByRef(ref) : null;
+        if (node == null) {
+            return CompletableFuture.completedFuture(ActionResult.failure(type, "Node not found: " + ref));
+        }
+
+        VirtualCells.Located located;
+        try {
+            located = VirtualCells.locate(node, target);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ActionResult.failure(type, e.getMessage()));
+        }
+
+        prepare.accept(located);
+        VirtualCells.scrollTo(located);
+
+        return VirtualCells.realize(located, fxTimeoutMs).handle((cell, error) -> {
+            if (error != null) {
+                var cause = error.getCause() != null ? error.getCause() : error;
+                return ActionResult.failure(type, cause.getMessage());
+            }
+            return action.apply(located, cell);
+        });
+    }
+
+    private TextInputControl findEditor(IndexedCell<?> cell) {
+        if (cell.getGraphic() instanceof TextInputControl input) {
+            return input;
+        }
+        for (var node : cell.lookupAll(".text-input")) {
+            if (node instanceof TextInputControl input) {
+                return input;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Clicks the center of an already resolved node.
+     */
+    private ActionResult clickNode(String type, Node node, MouseButton button, int clickCount, InputMode mode) {
+        if (mode == InputMode.SYNTHETIC) {
+            var scene = node.getScene();
+            if (scene == null) {
+                return ActionResult.failure(type, "Node is not in a scene");
+            }
+            var pos = calculatePosition(node.localToScene(node.getBoundsInLocal()), null, null);
+            for (int i = 1; i <= clickCount; i++) {
+                syntheticMouse.click(scene, pos.x(), pos.y(), button, i);
+            }
+            return ActionResult.success(type);
+        }
+
+        bringWindowToFront(node);
+        var screenBounds = getScreenBounds(node);
+        if (screenBounds == null) {
+            return ActionResult.failure(type, "Cannot get screen bounds for node");
+        }
+        var pos = calculatePosition(screenBounds, null, null);
+        var robot = getRobot();
+        robot.mouseMove(pos.x(), pos.y());
+        for (int i = 0; i < clickCount; i++) {
+            robot.mouseClick(button);
+        }
+        return ActionResult.success(type);
     }
 
     /**
@@ -444,7 +809,23 @@ public class ActionExecutor {
      * Scrolls on a node.
      */
     public ActionResult scroll(NodeRef ref, int deltaY) {
+        return scroll(ref, deltaY, InputMode.AUTO);
+    }
+
+    /**
+     * Scrolls on a node using the given input mode.
+     */
+    public ActionResult scroll(NodeRef ref, int deltaY, InputMode mode) {
         return Fx.exec(() -> {
+            if (mode == InputMode.SYNTHETIC) {
+                var pos = resolveScenePosition(ref, null, null);
+                if (pos == null) {
+                    return ActionResult.failure("scroll", "Node not found or not in a scene: " + ref);
+                }
+                syntheticMouse.scroll(pos.scene(), pos.x(), pos.y(), deltaY);
+                return ActionResult.success("scroll");
+            }
+
             var resolved = resolveNode(ref, "scroll");
             if (resolved == null) {
                 return ActionResult.failure("scroll", "Node not found or cannot get screen bounds: " + ref);
@@ -483,41 +864,6 @@ public class ActionExecutor {
         }
     }
 
-    /**
-     * Takes a screenshot of a stage.
-     *
-     * @param stageIndex stage index (-1 for focused)
-     * @return base64 encoded PNG
-     */
-    public String screenshot(int stageIndex) {
-        return Fx.exec(() -> {
-            var stage = getStage(stageIndex);
-            if (stage == null || stage.getScene() == null) {
-                return null;
-            }
-
-            var scene = stage.getScene();
-            var root = scene.getRoot();
-
-            var params = new SnapshotParameters();
-            var image = root.snapshot(params, null);
-
-            return encodeImageToBase64(image);
-        }, fxTimeoutMs);
-    }
-
-    private String encodeImageToBase64(WritableImage image) {
-        try {
-            var bufferedImage = SwingFXUtils.fromFXImage(image, null);
-            var baos = new ByteArrayOutputStream();
-            ImageIO.write(bufferedImage, "png", baos);
-            return Base64.getEncoder().encodeToString(baos.toByteArray());
-        } catch (Exception e) {
-            LOG.log(Level.WARNING, "Failed to encode image to base64", e);
-            return null;
-        }
-    }
-
     private Bounds getScreenBounds(Node node) {
         try {
             return node.localToScreen(node.getBoundsInLocal());
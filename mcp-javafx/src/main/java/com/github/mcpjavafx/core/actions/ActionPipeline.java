@@ -0,0 +1,283 @@
+package com.github.mcpjavafx.core.actions;
+
+import com.github.mcpjavafx.core.actions.ActionExecutor.ActionResult;
+import com.github.mcpjavafx.core.fx.CancellationToken;
+import com.github.mcpjavafx.core.fx.Fx;
+import com.github.mcpjavafx.core.fx.QuiescenceDetector;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs a batch of UI actions as a single pipeline on the FX Application Thread.
+ *
+ * <p>
+ * Consecutive actions execute back to back inside one FX hop. The pipeline only
+ * yields to the event queue where an idle wait was requested, either on a single
+ * step or for the batch as a whole, or while a multi-pulse action such as a drag
+ * is in progress. The timeout covers the entire batch.
+ * </p>
+ *
+ * <p>
+ * The batch runs under the caller's {@link CancellationToken}: once it is cancelled no
+ * further step starts and {@link #run(int)} throws {@link CancellationException}.
+ * </p>
+ */
+public final class ActionPipeline {
+
+    /**
+     * A single action of the batch.
+     *
+     * @param type        action type, used for reporting
+     * @param awaitUiIdle wait for the UI to become idle after this action
+     * @param action      starts the action on the FX thread; multi-pulse actions complete the
+     *                    returned future later on the FX thread
+     */
+    public record Step(String type, boolean awaitUiIdle, Callable<CompletableFuture<ActionResult>> action) {
+        public Step {
+            Objects.requireNonNull(type, "type");
+            Objects.requireNonNull(action, "action");
+        }
+    }
+
+    /**
+     * Outcome of a batch.
+     *
+     * @param results    one result per step, in order
+     * @param durationMs wall-clock time of the whole batch, including idle waits
+     * @param timedOut   whether the batch timeout expired before all steps ran
+     * @param idle       result of the last idle wait, or null if none ran
+     */
+    public record BatchResult(List<ActionResult> results, double durationMs, boolean timedOut,
+            QuiescenceDetector.Result idle) {
+    }
+
+    private final List<Step> steps;
+    private final boolean awaitUiIdle;
+    private final QuiescenceDetector.Options idleOptions;
+    private Runnable beforeFirst = () -> {
+    };
+    private Runnable afterLast = () -> {
+    };
+
+    /**
+     * @param steps       actions to run, in order
+     * @param awaitUiIdle wait for the UI to become idle after the last action
+     */
+    public ActionPipeline(List<Step> steps, boolean awaitUiIdle) {
+        this(steps, awaitUiIdle, QuiescenceDetector.Options.DEFAULT);
+    }
+
+    /**
+     * @param steps       actions to run, in order
+     * @param awaitUiIdle wait for the UI to become idle after the last action
+     * @param idleOptions how idle waits decide the UI has settled; maxWaitMs is capped by the batch timeout
+     */
+    public ActionPipeline(List<Step> steps, boolean awaitUiIdle, QuiescenceDetector.Options idleOptions) {
+        this.steps = List.copyOf(Objects.requireNonNull(steps, "steps"));
+        this.awaitUiIdle = awaitUiIdle;
+        this.idleOptions = Objects.requireNonNull(idleOptions, "idleOptions");
+    }
+
+    /**
+     * Sets a hook that runs on the FX thread right before the first step.
+     */
+    public ActionPipeline beforeFirst(Runnable hook) {
+        this.beforeFirst = Objects.requireNonNull(hook, "hook");
+        return this;
+    }
+
+    /**
+     * Sets a hook that runs on the FX thread after the last step and its idle wait.
+     * It does not run when the batch timed out.
+     */
+    public ActionPipeline afterLast(Runnable hook) {
+        this.afterLast = Objects.requireNonNull(hook, "hook");
+        return this;
+    }
+
+    /**
+     * Runs the batch and blocks until it completes or the timeout expires.
+     * Steps that did not get to run before the timeout are reported as failures.
+     *
+     * @param timeoutMs timeout for the whole batch
+     * @return per-step results
+     * @throws IllegalStateException if called on the FX Application Thread
+     * @throws CancellationException if the caller's token is cancelled
+     */
+    public BatchResult run(int timeoutMs) {
+        if (Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("ActionPipeline cannot be awaited on the FX Application Thread");
+        }
+
+        var startNanos = System.nanoTime();
+        var token = CancellationToken.current();
+        token.throwIfCancelled();
+        var run = new Run(startNanos + timeoutMs * 1_000_000L, token);
+        token.onCancel(() -> {
+            run.cancelled.set(true);
+            run.done.completeExceptionally(new CancellationException("Action batch cancelled"));
+        });
+
+        Fx.post(run::start);
+
+        var timedOut = false;
+        try {
+            run.done.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut = true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException cancelled) {
+                throw cancelled;
+            }
+            throw new RuntimeException("Error executing action batch", e.getCause());
+        } finally {
+            run.cancelled.set(true);
+        }
+
+        var collected = new ArrayList<ActionResult>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            var result = run.results.get(i);
+            collected.add(result != null
+                    ? result
+                    : ActionResult.failure(steps.get(i).type(),
+                            "Skipped: batch timeout of " + timeoutMs + "ms exceeded"));
+        }
+        return new BatchResult(collected, toMillis(System.nanoTime() - startNanos), timedOut, run.lastIdle.get());
+    }
+
+    /**
+     * State of a single {@link #run(int)} invocation.
+     */
+    private final class Run {
+        private final AtomicReferenceArray<ActionResult> results = new AtomicReferenceArray<>(steps.size());
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+        private final AtomicReference<QuiescenceDetector.Result> lastIdle = new AtomicReference<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final long deadlineNanos;
+        private final CancellationToken token;
+
+        Run(long deadlineNanos, CancellationToken token) {
+            this.deadlineNanos = deadlineNanos;
+            this.token = token;
+        }
+
+        void start() {
+            try (var scope = token.bind()) {
+                beforeFirst.run();
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+                return;
+            }
+            runFrom(0);
+        }
+
+        void runFrom(int index) {
+            // Bound so that Fx.exec and checkpoints inside the steps see the caller's token.
+            try (var scope = token.bind()) {
+                for (int i = index; i < steps.size(); i++) {
+                    CancellationToken.checkpoint();
+                    if (cancelled.get()) {
+                        done.complete(null);
+                        return;
+                    }
+
+                    var step = steps.get(i);
+                    var start = System.nanoTime();
+                    var pending = startStep(step);
+                    if (!pending.isDone()) {
+                        var current = i;
+                        pending.whenComplete((result, error) -> onFxThread(() -> {
+                            results.set(current, toResult(step, result, error, start));
+                            continueAfter(current);
+                        }));
+                        return;
+                    }
+
+                    ActionResult result = null;
+                    Throwable error = null;
+                    try {
+                        result = pending.join();
+                    } catch (CompletionException e) {
+                        error = e.getCause();
+                    }
+                    results.set(i, toResult(step, result, error, start));
+                    if (awaitsIdleAfter(i)) {
+                        continueAfter(i);
+                        return;
+                    }
+                }
+                if (!cancelled.get()) {
+                    afterLast.run();
+                }
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        }
+
+        private void continueAfter(int index) {
+            var next = index + 1;
+            if (awaitsIdleAfter(index)) {
+                var remainingMs = Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000L);
+                var options = idleOptions.withMaxWaitMs(Math.min(idleOptions.maxWaitMs(), remainingMs));
+                QuiescenceDetector.start(options).whenComplete((idle, error) -> {
+                    lastIdle.set(idle);
+                    runFrom(next);
+                });
+            } else {
+                runFrom(next);
+            }
+        }
+    }
+
+    private boolean awaitsIdleAfter(int index) {
+        return steps.get(index).awaitUiIdle() || (index == steps.size() - 1 && awaitUiIdle);
+    }
+
+    private CompletableFuture<ActionResult> startStep(Step step) {
+        try {
+            var future = step.action().call();
+            return future != null ? future : CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ActionResult toResult(Step step, ActionResult result, Throwable error, long startNanos) {
+        if (error != null) {
+            var cause = error.getCause() != null ? error.getCause() : error;
+            result = ActionResult.failure(step.type(), cause.getMessage());
+        } else if (result == null) {
+            result = ActionResult.failure(step.type(), "Action returned no result");
+        }
+        return result.withDurationMs(toMillis(System.nanoTime() - startNanos));
+    }
+
+    private static void onFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Fx.post(action);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.mcpjavafx.core.actions;
+
+import javafx.event.Event;
+import javafx.event.EventTarget;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Types text by dispatching synthetic key events to the focus owner.
+ *
+ * <p>
+ * Every code point becomes a KEY_PRESSED / KEY_TYPED / KEY_RELEASED sequence fired
+ * through {@link Event#fireEvent}, so any Unicode character can be typed without
+ * the OS cursor or keyboard layout. Text is processed in chunks, one chunk per pulse,
+ * which keeps long payloads from monopolising a single frame.
+ * </p>
+ */
+final class KeyEventInjector {
+
+    private KeyEventInjector() {
+    }
+
+    /**
+     * Types the text into the scene's focus owner (re-resolved for every character, so focus
+     * traversal caused by typing is followed). Must be called on the FX Application Thread.
+     *
+     * @param scene         scene receiving the events
+     * @param text          text to type
+     * @param charsPerPulse maximum number of code points dispatched per pulse
+     * @return future completed on the FX thread once all characters were dispatched
+     */
+    static CompletableFuture<Void> type(Scene scene, String text, int charsPerPulse) {
+        var codePoints = text.codePoints().toArray();
+        var chunk = Math.max(1, charsPerPulse);
+
+        // The first chunk goes out immediately; only longer payloads wait for pulses.
+        typeRange(scene, codePoints, 0, Math.min(chunk, codePoints.length));
+        if (codePoints.length <= chunk) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var gesture = new PulseGesture();
+        for (int from = chunk; from < codePoints.length; from += chunk) {
+            var start = from;
+            var end = Math.min(from + chunk, codePoints.length);
+            gesture.at(0, () -> typeRange(scene, codePoints, start, end));
+        }
+        return gesture.start();
+    }
+
+    private static void typeRange(Scene scene, int[] codePoints, int from, int to) {
+        for (int i = from; i < to; i++) {
+            typeCodePoint(scene, codePoints[i]);
+        }
+    }
+
+    private static void typeCodePoint(Scene scene, int codePoint) {
+        var character = new String(Character.toChars(codePoint));
+        var code = keyCodeFor(codePoint);
+        var shift = Character.isUpperCase(codePoint);
+        // Control characters are delivered as their key press (e.g. ENTER inserts a newline in a TextArea);
+        // TextInputControl ignores them in KEY_TYPED anyway.
+        var typed = codePoint == '\n' ? "\r" : character;
+
+        fire(scene, new KeyEvent(null, null, KeyEvent.KEY_PRESSED,
+                KeyEvent.CHAR_UNDEFINED, character, code, shift, false, false, false));
+        fire(scene, new KeyEvent(null, null, KeyEvent.KEY_TYPED,
+                typed, "", KeyCode.UNDEFINED, shift, false, false, false));
+        fire(scene, new KeyEvent(null, null, KeyEvent.KEY_RELEASED,
+                KeyEvent.CHAR_UNDEFINED, character, code, shift, false, false, false));
+    }
+
+    private static void fire(Scene scene, KeyEvent event) {
+        EventTarget target = scene.getFocusOwner() != null ? scene.getFocusOwner() : scene;
+        Event.fireEvent(target, event);
+    }
+
+    private static KeyCode keyCodeFor(int codePoint) {
+        if (codePoint >= 'a' && codePoint <= 'z' || codePoint >= 'A' && codePoint <= 'Z') {
+            return KeyCode.getKeyCode(String.valueOf((char) Character.toUpperCase(codePoint)));
+        }
+        if (codePoint >= '0' && codePoint <= '9') {
+            return KeyCode.getKeyCode(String.valueOf((char) codePoint));
+        }
+        return switch (codePoint) {
+            case ' ' -> KeyCode.SPACE;
+            case '\n', '\r' -> KeyCode.ENTER;
+            case '\t' -> KeyCode.TAB;
+            case '\b' -> KeyCode.BACK_SPACE;
+            default -> KeyCode.UNDEFINED;
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.mcpjavafx.core.actions;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Multi-step input gesture driven by animation pulses instead of sleeping on the FX thread.
+ *
+ * <p>
+ * Each step runs on its own pulse once its scheduled offset has elapsed, so the
+ * application gets to process input and render between steps. The returned future
+ * completes on the FX Application Thread after the last step.
+ * </p>
+ */
+final class PulseGesture {
+
+    private record TimedStep(long offsetNanos, Runnable action) {
+    }
+
+    private final List<TimedStep> steps = new ArrayList<>();
+
+    /**
+     * Schedules an action at the given offset from the gesture start.
+     * Offsets must be non-decreasing; steps sharing an offset still run on consecutive pulses.
+     */
+    PulseGesture at(double offsetMs, Runnable action) {
+        steps.add(new TimedStep((long) (Math.max(0, offsetMs) * 1_000_000L), action));
+        return this;
+    }
+
+    /**
+     * Starts the gesture. Must be called on the FX Application Thread.
+     */
+    CompletableFuture<Void> start() {
+        var future = new CompletableFuture<Void>();
+        if (steps.isEmpty()) {
+            future.complete(null);
+            return future;
+        }
+
+        new AnimationTimer() {
+            private long origin = -1;
+            private int next = 0;
+
+            @Override
+            public void handle(long now) {
+                if (origin < 0) {
+                    origin = now;
+                }
+
+                var step = steps.get(next);
+                if (now - origin < step.offsetNanos()) {
+                    return;
+                }
+
+                try {
+                    step.action().run();
+                } catch (RuntimeException e) {
+                    stop();
+                    future.completeExceptionally(e);
+                    return;
+                }
+
+                if (++next == steps.size()) {
+                    stop();
+                    future.complete(null);
+                }
+            }
+        }.start();
+
+        return future;
+    }
+}
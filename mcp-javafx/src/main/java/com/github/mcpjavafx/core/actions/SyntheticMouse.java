@@ -0,0 +1,214 @@
+package com.github.mcpjavafx.core.actions;
+
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.ContextMenuEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.scene.input.ScrollEvent;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Delivers mouse input as synthetic JavaFX events fired directly into the scene graph.
+ *
+ * <p>
+ * Events are dispatched to the node picked at the given scene coordinates, so handlers
+ * along the usual dispatch chain see them exactly as they would see real input. Neither
+ * the OS cursor nor window focus is touched, which keeps concurrent sessions on the same
+ * display (or a headless Monocle build) independent of each other.
+ * </p>
+ *
+ * <p>
+ * The instance tracks pressed buttons and the press target between calls so that a
+ * separate press and release behave like a mouse grab. All methods must be called on
+ * the FX Application Thread.
+ * </p>
+ */
+final class SyntheticMouse {
+
+    /** Pixels per wheel notch, matching JavaFX's default scroll multiplier. */
+    private static final double SCROLL_PIXELS_PER_NOTCH = 40.0;
+
+    private final Set<MouseButton> buttonsDown = EnumSet.noneOf(MouseButton.class);
+    private Scene pressScene;
+    private Node pressTarget;
+    private boolean dragDetected;
+    private double lastSceneX;
+    private double lastSceneY;
+
+    /**
+     * Returns the top-most node at the given scene coordinates, honouring visibility,
+     * mouse transparency and clips. Falls back to the scene root.
+     */
+    Node pick(Scene scene, double sceneX, double sceneY) {
+        var root = scene.getRoot();
+        var hit = root != null ? pickNode(root, sceneX, sceneY) : null;
+        return hit != null ? hit : root;
+    }
+
+    void press(Scene scene, double sceneX, double sceneY, MouseButton button, int clickCount) {
+        var target = pick(scene, sceneX, sceneY);
+        buttonsDown.add(button);
+        pressScene = scene;
+        pressTarget = target;
+        dragDetected = false;
+        lastSceneX = sceneX;
+        lastSceneY = sceneY;
+
+        fire(target, mouseEvent(MouseEvent.MOUSE_PRESSED, scene, target, sceneX, sceneY, button, clickCount, true));
+
+        if (button == MouseButton.SECONDARY) {
+            var screen = toScreen(scene, sceneX, sceneY);
+            fire(target, new ContextMenuEvent(ContextMenuEvent.CONTEXT_MENU_REQUESTED,
+                    sceneX, sceneY, screen.getX(), screen.getY(), false, new PickResult(target, sceneX, sceneY)));
+        }
+    }
+
+    /**
+     * Moves the pressed mouse. Dragged events go to the press target, as with a real mouse grab.
+     */
+    void dragTo(double sceneX, double sceneY) {
+        if (pressTarget == null || buttonsDown.isEmpty()) {
+            return;
+        }
+        var button = buttonsDown.iterator().next();
+        if (!dragDetected) {
+            dragDetected = true;
+            fire(pressTarget, mouseEvent(MouseEvent.DRAG_DETECTED, pressScene, pressTarget,
+                    lastSceneX, lastSceneY, button, 1, false));
+        }
+        lastSceneX = sceneX;
+        lastSceneY = sceneY;
+        fire(pressTarget, mouseEvent(MouseEvent.MOUSE_DRAGGED, pressScene, pressTarget,
+                sceneX, sceneY, button, 1, false));
+    }
+
+    /**
+     * Releases the button at the given point (or at the last point when the scene is null).
+     * A click is generated when the release happens over the press target.
+     *
+     * @return false, without dispatching anything, if the button is not pressed or there is no scene
+     */
+    boolean release(Scene scene, double sceneX, double sceneY, MouseButton button, int clickCount) {
+        if (!buttonsDown.contains(button)) {
+            return false;
+        }
+        if (scene == null) {
+            scene = pressScene;
+            sceneX = lastSceneX;
+            sceneY = lastSceneY;
+        }
+        if (scene == null) {
+            return false;
+        }
+
+        var still = !dragDetected;
+        buttonsDown.remove(button);
+        var target = pressTarget != null && pressScene == scene ? pressTarget : pick(scene, sceneX, sceneY);
+        fire(target, mouseEvent(MouseEvent.MOUSE_RELEASED, scene, target, sceneX, sceneY, button, clickCount, still));
+
+        var releasedOver = pick(scene, sceneX, sceneY);
+        if (isSelfOrAncestor(target, releasedOver)) {
+            fire(target, mouseEvent(MouseEvent.MOUSE_CLICKED, scene, target, sceneX, sceneY, button, clickCount, still));
+        }
+
+        if (buttonsDown.isEmpty()) {
+            pressTarget = null;
+            pressScene = null;
+        }
+        return true;
+    }
+
+    void click(Scene scene, double sceneX, double sceneY, MouseButton button, int clickCount) {
+        press(scene, sceneX, sceneY, button, clickCount);
+        release(scene, sceneX, sceneY, button, clickCount);
+    }
+
+    /**
+     * Scrolls at the given point. Positive notches scroll down, as with {@code Robot.mouseWheel}.
+     */
+    void scroll(Scene scene, double sceneX, double sceneY, int notches) {
+        var target = pick(scene, sceneX, sceneY);
+        var screen = toScreen(scene, sceneX, sceneY);
+        var deltaY = -notches * SCROLL_PIXELS_PER_NOTCH;
+        fire(target, new ScrollEvent(ScrollEvent.SCROLL,
+                sceneX, sceneY, screen.getX(), screen.getY(),
+                false, false, false, false, false, false,
+                0, deltaY, 0, deltaY,
+                ScrollEvent.HorizontalTextScrollUnits.NONE, 0,
+                ScrollEvent.VerticalTextScrollUnits.LINES, -notches,
+                0, new PickResult(target, sceneX, sceneY)));
+    }
+
+    private MouseEvent mouseEvent(EventType<MouseEvent> type, Scene scene, Node target,
+            double sceneX, double sceneY, MouseButton button, int clickCount, boolean stillSincePress) {
+        var screen = toScreen(scene, sceneX, sceneY);
+        return new MouseEvent(type,
+                sceneX, sceneY, screen.getX(), screen.getY(),
+                button, clickCount,
+                false, false, false, false,
+                buttonsDown.contains(MouseButton.PRIMARY),
+                buttonsDown.contains(MouseButton.MIDDLE),
+                buttonsDown.contains(MouseButton.SECONDARY),
+                false,
+                type == MouseEvent.MOUSE_PRESSED && button == MouseButton.SECONDARY,
+                stillSincePress,
+                new PickResult(target, sceneX, sceneY));
+    }
+
+    private static void fire(Node target, Event event) {
+        Event.fireEvent(target, event);
+    }
+
+    private static Point2D toScreen(Scene scene, double sceneX, double sceneY) {
+        var window = scene.getWindow();
+        if (window == null) {
+            return new Point2D(sceneX, sceneY);
+        }
+        return new Point2D(window.getX() + scene.getX() + sceneX, window.getY() + scene.getY() + sceneY);
+    }
+
+    private static boolean isSelfOrAncestor(Node candidate, Node node) {
+        for (var current = node; current != null; current = current.getParent()) {
+            if (current == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Node pickNode(Node node, double sceneX, double sceneY) {
+        if (!node.isVisible() || node.isMouseTransparent()) {
+            return null;
+        }
+
+        var local = node.sceneToLocal(sceneX, sceneY);
+        if (local == null) {
+            return null;
+        }
+
+        var clip = node.getClip();
+        if (clip != null && !clip.contains(clip.parentToLocal(local))) {
+            return null;
+        }
+
+        if (node instanceof Parent parent) {
+            var children = parent.getChildrenUnmodifiable();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                var hit = pickNode(children.get(i), sceneX, sceneY);
+                if (hit != null) {
+                    return hit;
+                }
+            }
+        }
+
+        return node.contains(local) ? node : null;
+    }
+}
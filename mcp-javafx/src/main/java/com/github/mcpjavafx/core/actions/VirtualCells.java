@@ -0,0 +1,294 @@
+package com.github.mcpjavafx.core.actions;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.control.Control;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TreeCell;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Locates items of virtualized controls (ListView, TableView, TreeView) and the cells that render them.
+ *
+ * <p>
+ * Virtualized controls only create cells for visible rows, so acting on an item means
+ * scrolling to its row and waiting for the skin to lay out a cell for it. All methods
+ * must be called on the FX Application Thread.
+ * </p>
+ */
+final class VirtualCells {
+
+    private VirtualCells() {
+    }
+
+    /**
+     * A resolved item: its row index and, for tables, the column.
+     */
+    record Located(Control control, int row, TableColumn<?, ?> column, TreeItem<?> treeItem) {
+    }
+
+    /**
+     * Resolves an item target to a row.
+     *
+     * @throws IllegalArgumentException if the node is not a supported control or the item does not exist
+     */
+    static Located locate(Node node, ActionExecutor.ItemTarget target) {
+        if (node instanceof ListView<?> list) {
+            var row = target.index() != null
+                    ? target.index()
+                    : indexOfText(list.getItems(), target.text());
+            checkRow(row, list.getItems().size(), target);
+            return new Located(list, row, null, null);
+        }
+        if (node instanceof TableView<?> table) {
+            var column = target.column() != null ? findColumn(table, target.column()) : null;
+            if (target.column() != null && column == null) {
+                throw new IllegalArgumentException("Column not found: " + target.column());
+            }
+            var row = target.index() != null ? target.index() : indexOfText(table, column, target.text());
+            checkRow(row, table.getItems().size(), target);
+            return new Located(table, row, column, null);
+        }
+        if (node instanceof TreeView<?> tree) {
+            TreeItem<?> item;
+            if (target.index() != null) {
+                item = tree.getTreeItem(target.index());
+            } else {
+                item = findTreeItem(tree.getRoot(), target.text());
+                if (item != null) {
+                    expandAncestors(item);
+                }
+            }
+            if (item == null) {
+                throw new IllegalArgumentException("Item not found: " + describe(target));
+            }
+            return new Located(tree, rowOf(tree, item), null, item);
+        }
+        throw new IllegalArgumentException("Node is not a ListView, TableView or TreeView: "
+                + node.getClass().getSimpleName());
+    }
+
+    static void scrollTo(Located located) {
+        switch (located.control()) {
+            case ListView<?> list -> list.scrollTo(located.row());
+            case TableView<?> table -> {
+                table.scrollTo(located.row());
+                if (located.column() != null) {
+                    scrollToColumn(table, located.column());
+                }
+            }
+            case TreeView<?> tree -> tree.scrollTo(located.row());
+            default -> throw new IllegalStateException("Unsupported control");
+        }
+    }
+
+    static void select(Located located) {
+        switch (located.control()) {
+            case ListView<?> list -> {
+                list.getSelectionModel().clearAndSelect(located.row());
+                list.getFocusModel().focus(located.row());
+            }
+            case TableView<?> table -> {
+                selectTableCell(table, located.row(), located.column());
+            }
+            case TreeView<?> tree -> {
+                tree.getSelectionModel().clearAndSelect(located.row());
+                tree.getFocusModel().focus(located.row());
+            }
+            default -> throw new IllegalStateException("Unsupported control");
+        }
+    }
+
+    /**
+     * Starts editing the item.
+     *
+     * @return false if the control or column is not editable
+     */
+    static boolean edit(Located located) {
+        switch (located.control()) {
+            case ListView<?> list -> {
+                if (!list.isEditable()) {
+                    return false;
+                }
+                list.edit(located.row());
+            }
+            case TableView<?> table -> {
+                if (!table.isEditable() || located.column() == null || !located.column().isEditable()) {
+                    return false;
+                }
+                editTableCell(table, located.row(), located.column());
+            }
+            case TreeView<?> tree -> {
+                if (!tree.isEditable()) {
+                    return false;
+                }
+                editTreeItem(tree, located.treeItem());
+            }
+            default -> throw new IllegalStateException("Unsupported control");
+        }
+        return true;
+    }
+
+    /**
+     * Returns the visible cell currently rendering the item, or null if none is laid out yet.
+     * For tables without a column this is the {@link TableRow}.
+     */
+    static IndexedCell<?> findCell(Located located) {
+        var selector = switch (located.control()) {
+            case ListView<?> ignored -> ".list-cell";
+            case TableView<?> ignored -> located.column() != null ? ".table-cell" : ".table-row-cell";
+            case TreeView<?> ignored -> ".tree-cell";
+            default -> throw new IllegalStateException("Unsupported control");
+        };
+
+        for (var node : located.control().lookupAll(selector)) {
+            if (!(node instanceof IndexedCell<?> cell) || !cell.isVisible() || cell.getIndex() != located.row()) {
+                continue;
+            }
+            if (cell instanceof TableCell<?, ?> tableCell && tableCell.getTableColumn() != located.column()) {
+                continue;
+            }
+            if (cell instanceof TreeCell<?> treeCell && treeCell.getTreeItem() != located.treeItem()) {
+                continue;
+            }
+            return cell;
+        }
+        return null;
+    }
+
+    /**
+     * Completes on the FX thread with the item's cell once the skin laid it out.
+     * Completes exceptionally if no cell shows up within the timeout.
+     */
+    static CompletableFuture<IndexedCell<?>> realize(Located located, long timeoutMs) {
+        var future = new CompletableFuture<IndexedCell<?>>();
+        var existing = findCell(located);
+        if (existing != null) {
+            future.complete(existing);
+            return future;
+        }
+
+        new AnimationTimer() {
+            private long origin = -1;
+
+            @Override
+            public void handle(long now) {
+                if (origin < 0) {
+                    origin = now;
+                }
+                var cell = findCell(located);
+                if (cell != null) {
+                    stop();
+                    future.complete(cell);
+                } else if (now - origin > timeoutMs * 1_000_000L) {
+                    stop();
+                    future.completeExceptionally(new IllegalStateException(
+                            "Cell for row " + located.row() + " was not realized within " + timeoutMs + "ms"));
+                }
+            }
+        }.start();
+        return future;
+    }
+
+    private static void checkRow(int row, int size, ActionExecutor.ItemTarget target) {
+        if (row < 0 || row >= size) {
+            throw new IllegalArgumentException("Item not found: " + describe(target) + " (items: " + size + ")");
+        }
+    }
+
+    private static String describe(ActionExecutor.ItemTarget target) {
+        return target.index() != null ? "index " + target.index() : "text '" + target.text() + "'";
+    }
+
+    private static int indexOfText(List<?> items, String text) {
+        for (int i = 0; i < items.size(); i++) {
+            if (text.equals(String.valueOf(items.get(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfText(TableView<?> table, TableColumn<?, ?> column, String text) {
+        if (column == null) {
+            return indexOfText(table.getItems(), text);
+        }
+        for (int i = 0; i < table.getItems().size(); i++) {
+            if (text.equals(String.valueOf(column.getCellData(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static TableColumn<?, ?> findColumn(TableView<?> table, String key) {
+        for (var column : table.getVisibleLeafColumns()) {
+            if (key.equals(column.getId()) || key.equals(column.getText())) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    private static TreeItem<?> findTreeItem(TreeItem<?> item, String text) {
+        if (item == null) {
+            return null;
+        }
+        if (text.equals(String.valueOf(item.getValue()))) {
+            return item;
+        }
+        for (var child : item.getChildren()) {
+            var found = findTreeItem(child, text);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static void expandAncestors(TreeItem<?> item) {
+        for (var parent = item.getParent(); parent != null; parent = parent.getParent()) {
+            parent.setExpanded(true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> void scrollToColumn(TableView<S> table, TableColumn<?, ?> column) {
+        table.scrollToColumn((TableColumn<S, ?>) column);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> void selectTableCell(TableView<S> table, int row, TableColumn<?, ?> column) {
+        if (column != null) {
+            table.getSelectionModel().clearAndSelect(row, (TableColumn<S, ?>) column);
+            table.getFocusModel().focus(row, (TableColumn<S, ?>) column);
+        } else {
+            table.getSelectionModel().clearAndSelect(row);
+            table.getFocusModel().focus(row);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> void editTableCell(TableView<S> table, int row, TableColumn<?, ?> column) {
+        table.edit(row, (TableColumn<S, ?>) column);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> int rowOf(TreeView<T> tree, TreeItem<?> item) {
+        return tree.getRow((TreeItem<T>) item);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void editTreeItem(TreeView<T> tree, TreeItem<?> item) {
+        tree.edit((TreeItem<T>) item);
+    }
+}
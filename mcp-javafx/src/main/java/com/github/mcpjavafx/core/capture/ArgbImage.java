@@ -0,0 +1,14 @@
+package com.github.mcpjavafx.core.capture;
+
+/**
+ * Uncompressed image as row-major ARGB pixels.
+ *
+ * @param scale image pixels per scene unit for captures, 1 for decoded files
+ */
+public record ArgbImage(int width, int height, double scale, int[] argb) {
+    public ArgbImage {
+        if (width <= 0 || height <= 0 || argb.length < width * height) {
+            throw new IllegalArgumentException("Invalid image size " + width + "x" + height);
+        }
+    }
+}
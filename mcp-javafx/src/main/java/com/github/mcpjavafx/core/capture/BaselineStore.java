@@ -0,0 +1,87 @@
+package com.github.mcpjavafx.core.capture;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Reads and writes baseline PNGs below a single directory.
+ *
+ * <p>
+ * Baseline names are relative paths. Absolute paths and names that resolve outside the directory,
+ * directly or through symbolic links, are rejected, so clients can only touch files in it.
+ * </p>
+ */
+public final class BaselineStore {
+
+    static final long MAX_BASELINE_BYTES = 64L * 1024 * 1024;
+
+    private final Path root;
+
+    public BaselineStore(String directory) {
+        this.root = Path.of(directory).toAbsolutePath().normalize();
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    /**
+     * Resolves a baseline name to a file below the root, appending {@code .png} if missing.
+     *
+     * @throws IllegalArgumentException if the name is empty or points outside the root
+     */
+    public Path resolve(String name) throws IOException {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Baseline name must not be empty");
+        }
+        var fileName = name.toLowerCase().endsWith(".png") ? name : name + ".png";
+        var relative = Path.of(fileName);
+        if (relative.isAbsolute()) {
+            throw new IllegalArgumentException("Baseline name must be relative: " + name);
+        }
+        var path = root.resolve(relative).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Baseline name points outside the baseline directory: " + name);
+        }
+        if (Files.exists(path) && Files.exists(root) && !path.toRealPath().startsWith(root.toRealPath())) {
+            throw new IllegalArgumentException("Baseline name points outside the baseline directory: " + name);
+        }
+        return path;
+    }
+
+    /**
+     * @return the decoded baseline, or null if it does not exist
+     */
+    public ArgbImage read(String name) throws IOException {
+        var path = resolve(name);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        if (Files.size(path) > MAX_BASELINE_BYTES) {
+            throw new IllegalArgumentException("Baseline is larger than " + MAX_BASELINE_BYTES + " bytes: " + name);
+        }
+        return PngDecoder.decode(Files.readAllBytes(path));
+    }
+
+    /**
+     * Writes the image as the new baseline, replacing any existing file atomically.
+     */
+    public Path write(String name, ArgbImage image, PngEncoder encoder) throws IOException {
+        var path = resolve(name);
+        Files.createDirectories(path.getParent());
+        if (!path.getParent().toRealPath().startsWith(root.toRealPath())) {
+            throw new IllegalArgumentException("Baseline name points outside the baseline directory: " + name);
+        }
+        var png = encoder.encode(image.width(), image.height(), image.argb());
+        var temp = Files.createTempFile(path.getParent(), ".baseline-", ".png.tmp");
+        try {
+            Files.write(temp, png);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.mcpjavafx.core.capture;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared daemon pool for image encoding tasks. Idle threads exit, so an unused server costs nothing.
+ */
+final class EncoderPool {
+
+    static final Executor EXECUTOR;
+
+    static {
+        var counter = new AtomicInteger();
+        var threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        var executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    var thread = new Thread(runnable, "McpImageEncoder-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        EXECUTOR = executor;
+    }
+
+    private EncoderPool() {
+    }
+}
@@ -0,0 +1,250 @@
+package com.github.mcpjavafx.core.capture;
+
+import javafx.scene.Node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records encoded frames of a stage or node at a fixed rate into a bounded ring buffer.
+ *
+ * <p>
+ * Frames are captured on a dedicated daemon thread through {@link ScreenCapturer}, so the FX
+ * thread only renders and reads pixels. When a capture takes longer than the frame interval the
+ * missed ticks are skipped, not queued. The oldest frames are evicted once the buffer exceeds its
+ * frame or byte limit. One recording runs at a time; starting a new one replaces it.
+ * </p>
+ */
+public class FrameRecorder {
+
+    private static final Logger LOG = Logger.getLogger(FrameRecorder.class.getName());
+
+    public static final int DEFAULT_FPS = 10;
+    public static final int MAX_FPS = 30;
+    public static final int DEFAULT_MAX_FRAMES = 100;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_DURATION_MS = 30_000;
+
+    private final ScreenCapturer capturer;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "McpFrameRecorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Consumer<Frame>> subscribers = new CopyOnWriteArrayList<>();
+
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private Settings settings;
+    private ScheduledFuture<?> task;
+    private long startNanos;
+    private long nextSeq = 1;
+    private long bufferedBytes;
+    private long captured;
+    private long skipped;
+    private long lastTickNanos;
+    private String lastError;
+
+    public FrameRecorder(ScreenCapturer capturer) {
+        this.capturer = Objects.requireNonNull(capturer, "capturer");
+    }
+
+    /**
+     * @param fps        frames per second, 1 to {@link #MAX_FPS}
+     * @param maxFrames  ring buffer size in frames
+     * @param maxBytes   ring buffer size in encoded bytes
+     * @param durationMs stop automatically after this long
+     * @param stageIndex stage to record (-1 for focused), used when node is null
+     * @param node       record only the area of this node, or null for the whole stage
+     * @param options    capture options for every frame
+     */
+    public record Settings(int fps, int maxFrames, long maxBytes, long durationMs, int stageIndex, Node node,
+            ScreenCapturer.Options options) {
+        public Settings {
+            if (fps < 1 || fps > MAX_FPS) {
+                throw new IllegalArgumentException("fps must be between 1 and " + MAX_FPS);
+            }
+            if (maxFrames < 1 || maxBytes < 1 || durationMs < 1) {
+                throw new IllegalArgumentException("maxFrames, maxBytes and durationMs must be positive");
+            }
+            Objects.requireNonNull(options, "options");
+        }
+    }
+
+    /**
+     * An encoded frame.
+     *
+     * @param seq         sequence number, increasing across recordings
+     * @param timestampMs wall-clock capture time
+     * @param offsetMs    time since the recording started
+     */
+    public record Frame(long seq, long timestampMs, double offsetMs, String contentType, int width, int height,
+            byte[] data) {
+    }
+
+    /**
+     * Recorder state.
+     *
+     * @param firstSeq oldest buffered frame, or 0 if empty
+     * @param lastSeq  newest buffered frame, or 0 if empty
+     * @param captured frames captured by the current or last recording
+     * @param skipped  ticks skipped because a capture was still running
+     */
+    public record Status(boolean recording, int fps, int bufferedFrames, long bufferedBytes, long firstSeq,
+            long lastSeq, long captured, long skipped, String lastError) {
+    }
+
+    /**
+     * Starts recording, replacing any running recording and clearing the buffer.
+     */
+    public synchronized Status start(Settings settings) {
+        cancelTask();
+        frames.clear();
+        bufferedBytes = 0;
+        captured = 0;
+        skipped = 0;
+        lastError = null;
+        this.settings = settings;
+        startNanos = System.nanoTime();
+        lastTickNanos = 0;
+
+        var periodNanos = TimeUnit.SECONDS.toNanos(1) / settings.fps();
+        task = scheduler.scheduleAtFixedRate(() -> tick(periodNanos), 0, periodNanos, TimeUnit.NANOSECONDS);
+        scheduler.schedule(this::stopIfExpired, settings.durationMs(), TimeUnit.MILLISECONDS);
+        return status();
+    }
+
+    /**
+     * Stops recording. Buffered frames stay available until the next start.
+     */
+    public synchronized Status stop() {
+        cancelTask();
+        return status();
+    }
+
+    public synchronized Status status() {
+        return new Status(
+                task != null,
+                settings != null ? settings.fps() : 0,
+                frames.size(),
+                bufferedBytes,
+                frames.isEmpty() ? 0 : frames.peekFirst().seq(),
+                frames.isEmpty() ? 0 : frames.peekLast().seq(),
+                captured,
+                skipped,
+                lastError);
+    }
+
+    /**
+     * Returns up to {@code limit} buffered frames with a sequence number greater than {@code afterSeq}.
+     */
+    public synchronized List<Frame> frames(long afterSeq, int limit) {
+        var result = new ArrayList<Frame>();
+        for (var frame : frames) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (frame.seq() > afterSeq) {
+                result.add(frame);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Registers a listener called on the recorder thread for every new frame.
+     * Returns a handle that unregisters it.
+     */
+    public Runnable subscribe(Consumer<Frame> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    public synchronized boolean isRecording() {
+        return task != null;
+    }
+
+    /**
+     * Stops recording and releases the recorder thread.
+     */
+    public synchronized void shutdown() {
+        cancelTask();
+        scheduler.shutdownNow();
+    }
+
+    private void tick(long periodNanos) {
+        Settings current;
+        synchronized (this) {
+            if (task == null) {
+                return;
+            }
+            var now = System.nanoTime();
+            if (lastTickNanos != 0 && now - lastTickNanos > 2 * periodNanos) {
+                skipped += (now - lastTickNanos) / periodNanos - 1;
+            }
+            lastTickNanos = now;
+            current = settings;
+        }
+
+        ScreenCapturer.Capture capture;
+        try {
+            capture = capturer.captureImage(current.stageIndex(), current.node(), current.options());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                lastError = e.getMessage();
+            }
+            LOG.log(Level.FINE, "Frame capture failed", e);
+            return;
+        }
+        if (capture == null) {
+            return;
+        }
+
+        Frame frame;
+        synchronized (this) {
+            if (task == null || settings != current) {
+                return;
+            }
+            frame = new Frame(nextSeq++, System.currentTimeMillis(),
+                    Math.round((System.nanoTime() - startNanos) / 1_000.0) / 1_000.0,
+                    capture.contentType(), capture.width(), capture.height(), capture.data());
+            frames.addLast(frame);
+            bufferedBytes += frame.data().length;
+            captured++;
+            while (frames.size() > current.maxFrames()
+                    || (bufferedBytes > current.maxBytes() && frames.size() > 1)) {
+                bufferedBytes -= frames.removeFirst().data().length;
+            }
+        }
+
+        for (var subscriber : subscribers) {
+            try {
+                subscriber.accept(frame);
+            } catch (RuntimeException e) {
+                LOG.log(Level.FINE, "Frame subscriber failed", e);
+            }
+        }
+    }
+
+    private synchronized void stopIfExpired() {
+        if (task != null && System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(settings.durationMs())) {
+            cancelTask();
+        }
+    }
+
+    private void cancelTask() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+}
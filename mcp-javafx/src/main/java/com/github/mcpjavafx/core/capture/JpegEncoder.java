@@ -0,0 +1,416 @@
+package com.github.mcpjavafx.core.capture;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Baseline JPEG encoder for ARGB pixel buffers that needs neither AWT nor the FX thread.
+ *
+ * <p>
+ * Writes YCbCr with 4:2:0 chroma subsampling, the IJG quantization tables scaled by quality and
+ * the standard Huffman tables. Each row of 16x16 MCUs is entropy-coded in parallel and separated by
+ * restart markers, which reset the DC predictors so rows are independent. Translucent pixels are
+ * composited over white.
+ * </p>
+ */
+public final class JpegEncoder {
+
+    public static final int DEFAULT_QUALITY = 80;
+
+    private static final int[] ZIGZAG = {
+            0, 1, 8, 16, 9, 2, 3, 10, 17, 24, 32, 25, 18, 11, 4, 5,
+            12, 19, 26, 33, 40, 48, 41, 34, 27, 20, 13, 6, 7, 14, 21, 28,
+            35, 42, 49, 56, 57, 50, 43, 36, 29, 22, 15, 23, 30, 37, 44, 51,
+            58, 59, 52, 45, 38, 31, 39, 46, 53, 60, 61, 54, 47, 55, 62, 63};
+
+    private static final int[] LUMINANCE_QUANT = {
+            16, 11, 10, 16, 24, 40, 51, 61,
+            12, 12, 14, 19, 26, 58, 60, 55,
+            14, 13, 16, 24, 40, 57, 69, 56,
+            14, 17, 22, 29, 51, 87, 80, 62,
+            18, 22, 37, 56, 68, 109, 103, 77,
+            24, 35, 55, 64, 81, 104, 113, 92,
+            49, 64, 78, 87, 103, 121, 120, 101,
+            72, 92, 95, 98, 112, 100, 103, 99};
+
+    private static final int[] CHROMINANCE_QUANT = {
+            17, 18, 24, 47, 99, 99, 99, 99,
+            18, 21, 26, 66, 99, 99, 99, 99,
+            24, 26, 56, 99, 99, 99, 99, 99,
+            47, 66, 99, 99, 99, 99, 99, 99,
+            99, 99, 99, 99, 99, 99, 99, 99,
+            99, 99, 99, 99, 99, 99, 99, 99,
+            99, 99, 99, 99, 99, 99, 99, 99,
+            99, 99, 99, 99, 99, 99, 99, 99};
+
+    private static final int[] DC_LUMINANCE_BITS = {0, 1, 5, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0};
+    private static final int[] DC_CHROMINANCE_BITS = {0, 3, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0};
+    private static final int[] DC_VALUES = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+
+    private static final int[] AC_LUMINANCE_BITS = {0, 2, 1, 3, 3, 2, 4, 3, 5, 5, 4, 4, 0, 0, 1, 0x7d};
+    private static final int[] AC_LUMINANCE_VALUES = {
+            0x01, 0x02, 0x03, 0x00, 0x04, 0x11, 0x05, 0x12, 0x21, 0x31, 0x41, 0x06, 0x13, 0x51, 0x61, 0x07,
+            0x22, 0x71, 0x14, 0x32, 0x81, 0x91, 0xa1, 0x08, 0x23, 0x42, 0xb1, 0xc1, 0x15, 0x52, 0xd1, 0xf0,
+            0x24, 0x33, 0x62, 0x72, 0x82, 0x09, 0x0a, 0x16, 0x17, 0x18, 0x19, 0x1a, 0x25, 0x26, 0x27, 0x28,
+            0x29, 0x2a, 0x34, 0x35, 0x36, 0x37, 0x38, 0x39, 0x3a, 0x43, 0x44, 0x45, 0x46, 0x47, 0x48, 0x49,
+            0x4a, 0x53, 0x54, 0x55, 0x56, 0x57, 0x58, 0x59, 0x5a, 0x63, 0x64, 0x65, 0x66, 0x67, 0x68, 0x69,
+            0x6a, 0x73, 0x74, 0x75, 0x76, 0x77, 0x78, 0x79, 0x7a, 0x83, 0x84, 0x85, 0x86, 0x87, 0x88, 0x89,
+            0x8a, 0x92, 0x93, 0x94, 0x95, 0x96, 0x97, 0x98, 0x99, 0x9a, 0xa2, 0xa3, 0xa4, 0xa5, 0xa6, 0xa7,
+            0xa8, 0xa9, 0xaa, 0xb2, 0xb3, 0xb4, 0xb5, 0xb6, 0xb7, 0xb8, 0xb9, 0xba, 0xc2, 0xc3, 0xc4, 0xc5,
+            0xc6, 0xc7, 0xc8, 0xc9, 0xca, 0xd2, 0xd3, 0xd4, 0xd5, 0xd6, 0xd7, 0xd8, 0xd9, 0xda, 0xe1, 0xe2,
+            0xe3, 0xe4, 0xe5, 0xe6, 0xe7, 0xe8, 0xe9, 0xea, 0xf1, 0xf2, 0xf3, 0xf4, 0xf5, 0xf6, 0xf7, 0xf8,
+            0xf9, 0xfa};
+
+    private static final int[] AC_CHROMINANCE_BITS = {0, 2, 1, 2, 4, 4, 3, 4, 7, 5, 4, 4, 0, 1, 2, 0x77};
+    private static final int[] AC_CHROMINANCE_VALUES = {
+            0x00, 0x01, 0x02, 0x03, 0x11, 0x04, 0x05, 0x21, 0x31, 0x06, 0x12, 0x41, 0x51, 0x07, 0x61, 0x71,
+            0x13, 0x22, 0x32, 0x81, 0x08, 0x14, 0x42, 0x91, 0xa1, 0xb1, 0xc1, 0x09, 0x23, 0x33, 0x52, 0xf0,
+            0x15, 0x62, 0x72, 0xd1, 0x0a, 0x16, 0x24, 0x34, 0xe1, 0x25, 0xf1, 0x17, 0x18, 0x19, 0x1a, 0x26,
+            0x27, 0x28, 0x29, 0x2a, 0x35, 0x36, 0x37, 0x38, 0x39, 0x3a, 0x43, 0x44, 0x45, 0x46, 0x47, 0x48,
+            0x49, 0x4a, 0x53, 0x54, 0x55, 0x56, 0x57, 0x58, 0x59, 0x5a, 0x63, 0x64, 0x65, 0x66, 0x67, 0x68,
+            0x69, 0x6a, 0x73, 0x74, 0x75, 0x76, 0x77, 0x78, 0x79, 0x7a, 0x82, 0x83, 0x84, 0x85, 0x86, 0x87,
+            0x88, 0x89, 0x8a, 0x92, 0x93, 0x94, 0x95, 0x96, 0x97, 0x98, 0x99, 0x9a, 0xa2, 0xa3, 0xa4, 0xa5,
+            0xa6, 0xa7, 0xa8, 0xa9, 0xaa, 0xb2, 0xb3, 0xb4, 0xb5, 0xb6, 0xb7, 0xb8, 0xb9, 0xba, 0xc2, 0xc3,
+            0xc4, 0xc5, 0xc6, 0xc7, 0xc8, 0xc9, 0xca, 0xd2, 0xd3, 0xd4, 0xd5, 0xd6, 0xd7, 0xd8, 0xd9, 0xda,
+            0xe2, 0xe3, 0xe4, 0xe5, 0xe6, 0xe7, 0xe8, 0xe9, 0xea, 0xf2, 0xf3, 0xf4, 0xf5, 0xf6, 0xf7, 0xf8,
+            0xf9, 0xfa};
+
+    private static final HuffmanTable DC_LUMINANCE = new HuffmanTable(DC_LUMINANCE_BITS, DC_VALUES);
+    private static final HuffmanTable DC_CHROMINANCE = new HuffmanTable(DC_CHROMINANCE_BITS, DC_VALUES);
+    private static final HuffmanTable AC_LUMINANCE = new HuffmanTable(AC_LUMINANCE_BITS, AC_LUMINANCE_VALUES);
+    private static final HuffmanTable AC_CHROMINANCE = new HuffmanTable(AC_CHROMINANCE_BITS, AC_CHROMINANCE_VALUES);
+
+    /** Orthonormal 8-point DCT basis: COSINES[u][x]. */
+    private static final double[][] COSINES = new double[8][8];
+
+    static {
+        for (int u = 0; u < 8; u++) {
+            var scale = u == 0 ? Math.sqrt(1.0 / 8) : Math.sqrt(2.0 / 8);
+            for (int x = 0; x < 8; x++) {
+                COSINES[u][x] = scale * Math.cos((2 * x + 1) * u * Math.PI / 16);
+            }
+        }
+    }
+
+    private final int quality;
+    private final int[] luminanceQuant;
+    private final int[] chrominanceQuant;
+    private final Executor executor;
+
+    /**
+     * Creates an encoder that codes MCU rows on the shared encoder pool.
+     *
+     * @param quality 1 (smallest) to 100 (best)
+     */
+    public JpegEncoder(int quality) {
+        this(quality, EncoderPool.EXECUTOR);
+    }
+
+    /**
+     * @param quality  1 (smallest) to 100 (best)
+     * @param executor runs the per-row coding tasks
+     */
+    public JpegEncoder(int quality, Executor executor) {
+        if (quality < 1 || quality > 100) {
+            throw new IllegalArgumentException("quality must be between 1 and 100: " + quality);
+        }
+        this.quality = quality;
+        this.luminanceQuant = scaleQuant(LUMINANCE_QUANT, quality);
+        this.chrominanceQuant = scaleQuant(CHROMINANCE_QUANT, quality);
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    public int quality() {
+        return quality;
+    }
+
+    /**
+     * Encodes pixels in {@code PixelFormat.getIntArgbInstance()} layout (non-premultiplied ARGB, row-major).
+     * Blocks until all rows are coded; call from a worker thread, not the FX thread.
+     */
+    public byte[] encode(int width, int height, int[] argb) {
+        if (width <= 0 || height <= 0 || width > 0xFFFF || height > 0xFFFF) {
+            throw new IllegalArgumentException("Unsupported JPEG size: " + width + "x" + height);
+        }
+        if (argb.length < width * height) {
+            throw new IllegalArgumentException("Pixel buffer too small for " + width + "x" + height);
+        }
+
+        var mcuColumns = (width + 15) / 16;
+        var mcuRows = (height + 15) / 16;
+        var rows = new ArrayList<CompletableFuture<byte[]>>(mcuRows);
+        for (int row = 0; row < mcuRows; row++) {
+            var mcuRow = row;
+            rows.add(CompletableFuture.supplyAsync(() -> encodeMcuRow(argb, width, height, mcuRow, mcuColumns),
+                    executor));
+        }
+
+        var out = new ByteArrayOutputStream(width * height / 4 + 1024);
+        writeHeaders(out, width, height, mcuColumns);
+        try {
+            for (int row = 0; row < mcuRows; row++) {
+                if (row > 0) {
+                    out.write(0xFF);
+                    out.write(0xD0 + ((row - 1) & 7));
+                }
+                var bytes = rows.get(row).join();
+                out.write(bytes, 0, bytes.length);
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+        out.write(0xFF);
+        out.write(0xD9);
+        return out.toByteArray();
+    }
+
+    private byte[] encodeMcuRow(int[] argb, int width, int height, int mcuRow, int mcuColumns) {
+        var writer = new BitWriter(mcuColumns * 128);
+        var y = new double[4][64];
+        var cb = new double[64];
+        var cr = new double[64];
+        var coefficients = new int[64];
+        int[] dc = {0, 0, 0};
+
+        for (int mcuColumn = 0; mcuColumn < mcuColumns; mcuColumn++) {
+            Arrays.fill(cb, 0);
+            Arrays.fill(cr, 0);
+            var originX = mcuColumn * 16;
+            var originY = mcuRow * 16;
+            for (int py = 0; py < 16; py++) {
+                var sy = Math.min(originY + py, height - 1);
+                for (int px = 0; px < 16; px++) {
+                    var sx = Math.min(originX + px, width - 1);
+                    var pixel = argb[sy * width + sx];
+                    var alpha = (pixel >>> 24) / 255.0;
+                    var r = ((pixel >> 16) & 0xFF) * alpha + 255 * (1 - alpha);
+                    var g = ((pixel >> 8) & 0xFF) * alpha + 255 * (1 - alpha);
+                    var b = (pixel & 0xFF) * alpha + 255 * (1 - alpha);
+
+                    var block = (py / 8) * 2 + (px / 8);
+                    y[block][(py % 8) * 8 + (px % 8)] = 0.299 * r + 0.587 * g + 0.114 * b - 128;
+                    var chroma = (py / 2) * 8 + (px / 2);
+                    cb[chroma] += (-0.168736 * r - 0.331264 * g + 0.5 * b) / 4;
+                    cr[chroma] += (0.5 * r - 0.418688 * g - 0.081312 * b) / 4;
+                }
+            }
+
+            for (var block : y) {
+                transform(block, luminanceQuant, coefficients);
+                dc[0] = writeBlock(writer, coefficients, dc[0], DC_LUMINANCE, AC_LUMINANCE);
+            }
+            transform(cb, chrominanceQuant, coefficients);
+            dc[1] = writeBlock(writer, coefficients, dc[1], DC_CHROMINANCE, AC_CHROMINANCE);
+            transform(cr, chrominanceQuant, coefficients);
+            dc[2] = writeBlock(writer, coefficients, dc[2], DC_CHROMINANCE, AC_CHROMINANCE);
+        }
+        return writer.finish();
+    }
+
+    /**
+     * Forward DCT and quantization of one level-shifted block, output in zigzag order.
+     */
+    private static void transform(double[] block, int[] quant, int[] out) {
+        var temp = new double[64];
+        for (int row = 0; row < 8; row++) {
+            for (int u = 0; u < 8; u++) {
+                double sum = 0;
+                for (int x = 0; x < 8; x++) {
+                    sum += COSINES[u][x] * block[row * 8 + x];
+                }
+                temp[row * 8 + u] = sum;
+            }
+        }
+        for (int k = 0; k < 64; k++) {
+            var natural = ZIGZAG[k];
+            var v = natural / 8;
+            var u = natural % 8;
+            double sum = 0;
+            for (int row = 0; row < 8; row++) {
+                sum += COSINES[v][row] * temp[row * 8 + u];
+            }
+            out[k] = (int) Math.round(sum / quant[natural]);
+        }
+    }
+
+    private static int writeBlock(BitWriter writer, int[] coefficients, int previousDc,
+            HuffmanTable dcTable, HuffmanTable acTable) {
+        var diff = coefficients[0] - previousDc;
+        var category = category(diff);
+        dcTable.write(writer, category);
+        writeAmplitude(writer, diff, category);
+
+        int zeros = 0;
+        for (int k = 1; k < 64; k++) {
+            var value = coefficients[k];
+            if (value == 0) {
+                zeros++;
+                continue;
+            }
+            while (zeros > 15) {
+                acTable.write(writer, 0xF0);
+                zeros -= 16;
+            }
+            var size = category(value);
+            acTable.write(writer, (zeros << 4) | size);
+            writeAmplitude(writer, value, size);
+            zeros = 0;
+        }
+        if (zeros > 0) {
+            acTable.write(writer, 0x00);
+        }
+        return coefficients[0];
+    }
+
+    private static int category(int value) {
+        return 32 - Integer.numberOfLeadingZeros(Math.abs(value));
+    }
+
+    private static void writeAmplitude(BitWriter writer, int value, int size) {
+        if (size > 0) {
+            writer.write(value < 0 ? value - 1 : value, size);
+        }
+    }
+
+    private void writeHeaders(ByteArrayOutputStream out, int width, int height, int mcuColumns) {
+        // SOI
+        out.write(0xFF);
+        out.write(0xD8);
+
+        // APP0 JFIF 1.1, no density, no thumbnail
+        writeMarker(out, 0xE0, new byte[]{'J', 'F', 'I', 'F', 0, 1, 1, 0, 0, 1, 0, 1, 0, 0});
+
+        // DQT: tables 0 and 1 in zigzag order
+        var dqt = new byte[2 * 65];
+        for (int table = 0; table < 2; table++) {
+            var quant = table == 0 ? luminanceQuant : chrominanceQuant;
+            dqt[table * 65] = (byte) table;
+            for (int k = 0; k < 64; k++) {
+                dqt[table * 65 + 1 + k] = (byte) quant[ZIGZAG[k]];
+            }
+        }
+        writeMarker(out, 0xDB, dqt);
+
+        // SOF0: 8-bit, three components, Y sampled 2x2 and chroma 1x1
+        writeMarker(out, 0xC0, new byte[]{
+                8, (byte) (height >> 8), (byte) height, (byte) (width >> 8), (byte) width, 3,
+                1, 0x22, 0,
+                2, 0x11, 1,
+                3, 0x11, 1});
+
+        var dht = new ByteArrayOutputStream();
+        DC_LUMINANCE.writeDefinition(dht, 0x00);
+        AC_LUMINANCE.writeDefinition(dht, 0x10);
+        DC_CHROMINANCE.writeDefinition(dht, 0x01);
+        AC_CHROMINANCE.writeDefinition(dht, 0x11);
+        writeMarker(out, 0xC4, dht.toByteArray());
+
+        // DRI: one restart interval per MCU row
+        writeMarker(out, 0xDD, new byte[]{(byte) (mcuColumns >> 8), (byte) mcuColumns});
+
+        // SOS
+        writeMarker(out, 0xDA, new byte[]{3, 1, 0x00, 2, 0x11, 3, 0x11, 0, 63, 0});
+    }
+
+    private static void writeMarker(ByteArrayOutputStream out, int marker, byte[] payload) {
+        out.write(0xFF);
+        out.write(marker);
+        var length = payload.length + 2;
+        out.write(length >> 8);
+        out.write(length);
+        out.write(payload, 0, payload.length);
+    }
+
+    private static int[] scaleQuant(int[] base, int quality) {
+        // IJG quality scaling
+        var scale = quality < 50 ? 5000 / quality : 200 - quality * 2;
+        var result = new int[64];
+        for (int i = 0; i < 64; i++) {
+            result[i] = Math.max(1, Math.min(255, (base[i] * scale + 50) / 100));
+        }
+        return result;
+    }
+
+    private static final class HuffmanTable {
+        private final int[] bits;
+        private final int[] values;
+        private final int[] codes = new int[256];
+        private final int[] lengths = new int[256];
+
+        HuffmanTable(int[] bits, int[] values) {
+            this.bits = bits;
+            this.values = values;
+            int code = 0;
+            int k = 0;
+            for (int length = 1; length <= 16; length++) {
+                for (int i = 0; i < bits[length - 1]; i++) {
+                    codes[values[k]] = code++;
+                    lengths[values[k]] = length;
+                    k++;
+                }
+                code <<= 1;
+            }
+        }
+
+        void write(BitWriter writer, int symbol) {
+            writer.write(codes[symbol], lengths[symbol]);
+        }
+
+        void writeDefinition(ByteArrayOutputStream out, int tableClassAndId) {
+            out.write(tableClassAndId);
+            for (var count : bits) {
+                out.write(count);
+            }
+            for (var value : values) {
+                out.write(value);
+            }
+        }
+    }
+
+    /**
+     * Entropy-coded segment writer with 0xFF byte stuffing.
+     */
+    private static final class BitWriter {
+        private final ByteArrayOutputStream out;
+        private int buffer;
+        private int count;
+
+        BitWriter(int capacity) {
+            this.out = new ByteArrayOutputStream(capacity);
+        }
+
+        void write(int value, int length) {
+            for (int i = length - 1; i >= 0; i--) {
+                buffer = (buffer << 1) | ((value >> i) & 1);
+                if (++count == 8) {
+                    emit();
+                }
+            }
+        }
+
+        private void emit() {
+            out.write(buffer);
+            if (buffer == 0xFF) {
+                out.write(0);
+            }
+            buffer = 0;
+            count = 0;
+        }
+
+        byte[] finish() {
+            // Pad the last byte with 1-bits before a marker.
+            while (count != 0) {
+                buffer = (buffer << 1) | 1;
+                if (++count == 8) {
+                    emit();
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+}
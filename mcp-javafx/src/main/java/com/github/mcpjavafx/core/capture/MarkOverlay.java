@@ -0,0 +1,189 @@
+package com.github.mcpjavafx.core.capture;
+
+import com.github.mcpjavafx.core.fx.CancellationToken;
+import com.github.mcpjavafx.core.fx.NodeRefService;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.ButtonBase;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ComboBoxBase;
+import javafx.scene.control.Control;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.Slider;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.TextInputControl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set-of-marks support: finds interactive nodes in a captured region and draws numbered boxes
+ * over the captured pixels.
+ *
+ * <p>
+ * Collection runs on the FX thread in the same pass that requests the snapshot, so the marks
+ * describe exactly the frame that is rendered. Drawing works on the ARGB buffer afterwards, off
+ * the FX thread, with a built-in digit font.
+ * </p>
+ */
+final class MarkOverlay {
+
+    static final int MAX_MARKS = 200;
+
+    private static final int MAX_TEXT_LENGTH = 40;
+    private static final int[] COLORS = {
+            0xFFE6194B, 0xFF3CB44B, 0xFF4363D8, 0xFFF58231, 0xFF911EB4,
+            0xFF008080, 0xFFF032E6, 0xFF9A6324, 0xFF800000, 0xFF000075
+    };
+
+    /** 3x5 digit glyphs, one row per entry, high bit is the left column. */
+    private static final int[][] DIGITS = {
+            {7, 5, 5, 5, 7}, {2, 6, 2, 2, 7}, {7, 1, 7, 4, 7}, {7, 1, 7, 1, 7}, {5, 5, 7, 1, 1},
+            {7, 4, 7, 1, 7}, {7, 4, 7, 5, 7}, {7, 1, 1, 1, 1}, {7, 5, 7, 5, 7}, {7, 5, 7, 1, 7}
+    };
+    private static final int GLYPH_SCALE = 2;
+    private static final int PADDING = 2;
+
+    private MarkOverlay() {
+    }
+
+    /**
+     * Collects interactive nodes below {@code root} that intersect {@code region}, numbered from 1
+     * in scene-graph order. Must run on the FX thread.
+     *
+     * @param region  captured area in scene coordinates
+     * @param scale   image pixels per scene unit
+     * @param originX image x of the scene origin (negative viewport offset)
+     * @param originY image y of the scene origin
+     */
+    static List<ScreenCapturer.Mark> collect(Parent root, Bounds region, double scale, double originX,
+            double originY, NodeRefService nodeRefService, int stageIndex) {
+        var marks = new ArrayList<ScreenCapturer.Mark>();
+        visit(root, region, scale, originX, originY, nodeRefService, stageIndex, marks);
+        return marks;
+    }
+
+    private static void visit(Node node, Bounds region, double scale, double originX, double originY,
+            NodeRefService nodeRefService, int stageIndex, List<ScreenCapturer.Mark> marks) {
+        if (marks.size() >= MAX_MARKS || !node.isVisible() || node.getOpacity() == 0) {
+            return;
+        }
+        CancellationToken.checkpoint();
+        var leaf = isInteractiveLeaf(node);
+        if ((leaf || isInteractive(node)) && !node.isDisabled()) {
+            var bounds = node.localToScene(node.getBoundsInLocal());
+            var minX = Math.max(bounds.getMinX(), region.getMinX());
+            var minY = Math.max(bounds.getMinY(), region.getMinY());
+            var maxX = Math.min(bounds.getMaxX(), region.getMaxX());
+            var maxY = Math.min(bounds.getMaxY(), region.getMaxY());
+            if (maxX - minX >= 1 && maxY - minY >= 1) {
+                var x = (int) Math.floor(minX * scale + originX);
+                var y = (int) Math.floor(minY * scale + originY);
+                marks.add(new ScreenCapturer.Mark(
+                        marks.size() + 1,
+                        nodeRefService.forNode(node, stageIndex),
+                        node.getClass().getSimpleName(),
+                        text(node),
+                        x,
+                        y,
+                        Math.max(1, (int) Math.ceil(maxX * scale + originX) - x),
+                        Math.max(1, (int) Math.ceil(maxY * scale + originY) - y)));
+            }
+        }
+        if (!leaf && node instanceof Parent parent) {
+            for (var child : parent.getChildrenUnmodifiable()) {
+                visit(child, region, scale, originX, originY, nodeRefService, stageIndex, marks);
+            }
+        }
+    }
+
+    /**
+     * Controls that are used as a whole; their skin internals are never marked.
+     */
+    private static boolean isInteractiveLeaf(Node node) {
+        return node instanceof ButtonBase
+                || node instanceof TextInputControl
+                || node instanceof ComboBoxBase
+                || node instanceof ChoiceBox
+                || node instanceof Slider
+                || node instanceof Spinner;
+    }
+
+    /**
+     * Focusable controls (lists, tables, tab panes) and nodes with click handlers; their children may be marked too.
+     */
+    private static boolean isInteractive(Node node) {
+        return (node instanceof Control control && control.isFocusTraversable())
+                || node.getOnMouseClicked() != null
+                || node.getOnMousePressed() != null;
+    }
+
+    private static String text(Node node) {
+        String text = null;
+        if (node instanceof Labeled labeled) {
+            text = labeled.getText();
+        } else if (node instanceof TextInputControl input) {
+            text = input.getText() != null && !input.getText().isEmpty() ? input.getText() : input.getPromptText();
+        }
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) + "…" : text;
+    }
+
+    /**
+     * Draws a box and a numbered label for every mark into the ARGB buffer.
+     */
+    static void draw(int[] argb, int width, int height, List<ScreenCapturer.Mark> marks) {
+        for (var mark : marks) {
+            var color = COLORS[(mark.id() - 1) % COLORS.length];
+            var x0 = mark.x();
+            var y0 = mark.y();
+            var x1 = mark.x() + mark.width() - 1;
+            var y1 = mark.y() + mark.height() - 1;
+            for (int t = 0; t < 2; t++) {
+                fillRect(argb, width, height, x0, y0 + t, x1 - x0 + 1, 1, color);
+                fillRect(argb, width, height, x0, y1 - t, x1 - x0 + 1, 1, color);
+                fillRect(argb, width, height, x0 + t, y0, 1, y1 - y0 + 1, color);
+                fillRect(argb, width, height, x1 - t, y0, 1, y1 - y0 + 1, color);
+            }
+
+            var label = Integer.toString(mark.id());
+            var labelWidth = label.length() * 4 * GLYPH_SCALE - GLYPH_SCALE + 2 * PADDING;
+            var labelHeight = 5 * GLYPH_SCALE + 2 * PADDING;
+            // Above the box when there is room, otherwise inside its top-left corner.
+            var lx = Math.max(0, Math.min(x0, width - labelWidth));
+            var ly = y0 - labelHeight >= 0 ? y0 - labelHeight : Math.max(0, y0);
+            fillRect(argb, width, height, lx, ly, labelWidth, labelHeight, color);
+            for (int i = 0; i < label.length(); i++) {
+                drawDigit(argb, width, height, label.charAt(i) - '0',
+                        lx + PADDING + i * 4 * GLYPH_SCALE, ly + PADDING, 0xFFFFFFFF);
+            }
+        }
+    }
+
+    private static void drawDigit(int[] argb, int width, int height, int digit, int x, int y, int color) {
+        var glyph = DIGITS[digit];
+        for (int row = 0; row < glyph.length; row++) {
+            for (int column = 0; column < 3; column++) {
+                if ((glyph[row] & (4 >> column)) != 0) {
+                    fillRect(argb, width, height, x + column * GLYPH_SCALE, y + row * GLYPH_SCALE,
+                            GLYPH_SCALE, GLYPH_SCALE, color);
+                }
+            }
+        }
+    }
+
+    private static void fillRect(int[] argb, int width, int height, int x, int y, int w, int h, int color) {
+        var startX = Math.max(0, x);
+        var endX = Math.min(width, x + w);
+        var startY = Math.max(0, y);
+        var endY = Math.min(height, y + h);
+        for (int row = startY; row < endY; row++) {
+            for (int column = startX; column < endX; column++) {
+                argb[row * width + column] = color;
+            }
+        }
+    }
+}
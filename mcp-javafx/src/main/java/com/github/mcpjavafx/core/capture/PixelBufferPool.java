@@ -0,0 +1,77 @@
+package com.github.mcpjavafx.core.capture;
+
+import javafx.scene.image.WritableImage;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Reuses snapshot images and ARGB buffers between captures of the same size.
+ *
+ * <p>
+ * Screenshots of a window are almost always the same size, so a few idle buffers per size avoid
+ * allocating a fresh full-frame image and pixel array for every capture. Pooled buffers are held
+ * softly and the pool is bounded, so idle buffers never pin memory the application needs.
+ * A buffer is checked out while in use; concurrent captures get their own.
+ * </p>
+ */
+final class PixelBufferPool {
+
+    static final int DEFAULT_CAPACITY = 4;
+
+    private final int capacity;
+    private final Deque<SoftReference<WritableImage>> images = new ArrayDeque<>();
+    private final Deque<SoftReference<int[]>> pixels = new ArrayDeque<>();
+
+    PixelBufferPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns an idle image of exactly this size, or a new one.
+     */
+    synchronized WritableImage acquireImage(int width, int height) {
+        for (Iterator<SoftReference<WritableImage>> it = images.iterator(); it.hasNext(); ) {
+            var image = it.next().get();
+            if (image == null) {
+                it.remove();
+            } else if ((int) image.getWidth() == width && (int) image.getHeight() == height) {
+                it.remove();
+                return image;
+            }
+        }
+        return new WritableImage(width, height);
+    }
+
+    synchronized void releaseImage(WritableImage image) {
+        images.addFirst(new SoftReference<>(image));
+        while (images.size() > capacity) {
+            images.removeLast();
+        }
+    }
+
+    /**
+     * Returns an idle pixel array of exactly this length, or a new one. Contents are undefined.
+     */
+    synchronized int[] acquirePixels(int length) {
+        for (Iterator<SoftReference<int[]>> it = pixels.iterator(); it.hasNext(); ) {
+            var buffer = it.next().get();
+            if (buffer == null) {
+                it.remove();
+            } else if (buffer.length == length) {
+                it.remove();
+                return buffer;
+            }
+        }
+        return new int[length];
+    }
+
+    synchronized void releasePixels(int[] buffer) {
+        pixels.addFirst(new SoftReference<>(buffer));
+        while (pixels.size() > capacity) {
+            pixels.removeLast();
+        }
+    }
+}
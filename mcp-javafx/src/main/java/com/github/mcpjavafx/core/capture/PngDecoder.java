@@ -0,0 +1,259 @@
+package com.github.mcpjavafx.core.capture;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decodes PNG files into ARGB pixels without AWT.
+ *
+ * <p>
+ * Supports every non-interlaced color type and bit depth, including palettes and {@code tRNS}
+ * transparency. 16-bit samples are reduced to their high byte. Gamma and color profile chunks
+ * are ignored, which matches how screenshots are written.
+ * </p>
+ */
+final class PngDecoder {
+
+    private static final long SIGNATURE = 0x89504E470D0A1A0AL;
+
+    private static final int COLOR_GRAY = 0;
+    private static final int COLOR_RGB = 2;
+    private static final int COLOR_PALETTE = 3;
+    private static final int COLOR_GRAY_ALPHA = 4;
+    private static final int COLOR_RGBA = 6;
+
+    private PngDecoder() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is not a PNG or uses an unsupported feature
+     */
+    static ArgbImage decode(byte[] png) {
+        var in = ByteBuffer.wrap(png);
+        if (png.length < 8 || in.getLong() != SIGNATURE) {
+            throw new IllegalArgumentException("Not a PNG file");
+        }
+
+        int width = 0;
+        int height = 0;
+        int bitDepth = 0;
+        int colorType = -1;
+        int[] palette = null;
+        byte[] transparency = null;
+        var idat = new ByteArrayOutputStream();
+
+        while (in.remaining() >= 12) {
+            var length = in.getInt();
+            var type = new String(png, in.position(), 4, StandardCharsets.US_ASCII);
+            in.position(in.position() + 4);
+            if (length < 0 || length > in.remaining() - 4) {
+                throw new IllegalArgumentException("Truncated PNG chunk " + type);
+            }
+            var start = in.position();
+            switch (type) {
+                case "IHDR" -> {
+                    width = in.getInt();
+                    height = in.getInt();
+                    bitDepth = in.get() & 0xFF;
+                    colorType = in.get() & 0xFF;
+                    in.get(); // compression method, always deflate
+                    in.get(); // filter method, always adaptive
+                    if (in.get() != 0) {
+                        throw new IllegalArgumentException("Interlaced PNGs are not supported");
+                    }
+                }
+                case "PLTE" -> {
+                    palette = new int[length / 3];
+                    for (int i = 0; i < palette.length; i++) {
+                        palette[i] = 0xFF000000 | (png[start + i * 3] & 0xFF) << 16
+                                | (png[start + i * 3 + 1] & 0xFF) << 8 | (png[start + i * 3 + 2] & 0xFF);
+                    }
+                }
+                case "tRNS" -> {
+                    transparency = new byte[length];
+                    System.arraycopy(png, start, transparency, 0, length);
+                }
+                case "IDAT" -> idat.write(png, start, length);
+                default -> {
+                    // Ancillary chunks are not needed for pixels.
+                }
+            }
+            in.position(start + length + 4); // skip CRC
+            if ("IEND".equals(type)) {
+                break;
+            }
+        }
+
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("PNG has no valid IHDR chunk");
+        }
+        if ((long) width * height > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("PNG is too large: " + width + "x" + height);
+        }
+        var channels = switch (colorType) {
+            case COLOR_GRAY, COLOR_PALETTE -> 1;
+            case COLOR_GRAY_ALPHA -> 2;
+            case COLOR_RGB -> 3;
+            case COLOR_RGBA -> 4;
+            default -> throw new IllegalArgumentException("Unknown PNG color type " + colorType);
+        };
+        var validDepth = switch (colorType) {
+            case COLOR_GRAY -> bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8 || bitDepth == 16;
+            case COLOR_PALETTE -> bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8;
+            default -> bitDepth == 8 || bitDepth == 16;
+        };
+        if (!validDepth) {
+            throw new IllegalArgumentException("Invalid PNG bit depth " + bitDepth + " for color type " + colorType);
+        }
+        if (colorType == COLOR_PALETTE && palette == null) {
+            throw new IllegalArgumentException("Palette PNG without PLTE chunk");
+        }
+        if (palette != null && transparency != null && colorType == COLOR_PALETTE) {
+            for (int i = 0; i < Math.min(palette.length, transparency.length); i++) {
+                palette[i] = (palette[i] & 0x00FFFFFF) | (transparency[i] & 0xFF) << 24;
+            }
+        }
+
+        var bitsPerPixel = channels * bitDepth;
+        var stride = (width * bitsPerPixel + 7) / 8;
+        var bytesPerPixel = Math.max(1, bitsPerPixel / 8);
+        var raw = inflate(idat.toByteArray(), (stride + 1) * height);
+
+        var argb = new int[width * height];
+        var previous = new byte[stride];
+        var row = new byte[stride];
+        for (int y = 0; y < height; y++) {
+            var offset = y * (stride + 1);
+            System.arraycopy(raw, offset + 1, row, 0, stride);
+            unfilter(raw[offset], row, previous, bytesPerPixel);
+            for (int x = 0; x < width; x++) {
+                argb[y * width + x] = pixel(row, x, colorType, bitDepth, palette, transparency);
+            }
+            var swap = previous;
+            previous = row;
+            row = swap;
+        }
+        return new ArgbImage(width, height, 1.0, argb);
+    }
+
+    private static byte[] inflate(byte[] data, int expected) {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            var out = new byte[expected];
+            var total = 0;
+            while (total < expected && !inflater.finished()) {
+                var n = inflater.inflate(out, total, expected - total);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                total += n;
+            }
+            if (total < expected) {
+                throw new IllegalArgumentException("PNG image data is truncated");
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt PNG image data: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void unfilter(byte filter, byte[] row, byte[] previous, int bpp) {
+        switch (filter) {
+            case 0 -> {
+            }
+            case 1 -> {
+                for (int i = bpp; i < row.length; i++) {
+                    row[i] += row[i - bpp];
+                }
+            }
+            case 2 -> {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] += previous[i];
+                }
+            }
+            case 3 -> {
+                for (int i = 0; i < row.length; i++) {
+                    var left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    row[i] += (byte) ((left + (previous[i] & 0xFF)) >>> 1);
+                }
+            }
+            case 4 -> {
+                for (int i = 0; i < row.length; i++) {
+                    var a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    var b = previous[i] & 0xFF;
+                    var c = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+                    row[i] += (byte) paeth(a, b, c);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown PNG filter type " + filter);
+        }
+    }
+
+    private static int paeth(int a, int b, int c) {
+        var p = a + b - c;
+        var pa = Math.abs(p - a);
+        var pb = Math.abs(p - b);
+        var pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    private static int pixel(byte[] row, int x, int colorType, int bitDepth, int[] palette, byte[] transparency) {
+        return switch (colorType) {
+            case COLOR_PALETTE -> {
+                var index = sample(row, x, bitDepth);
+                yield index < palette.length ? palette[index] : 0xFF000000;
+            }
+            case COLOR_GRAY -> {
+                var raw = rawSample(row, x, bitDepth);
+                var gray = bitDepth < 8 ? raw * 255 / ((1 << bitDepth) - 1) : sample(row, x, bitDepth);
+                var alpha = transparency != null && transparency.length >= 2
+                        && raw == ((transparency[0] & 0xFF) << 8 | (transparency[1] & 0xFF)) ? 0 : 0xFF;
+                yield alpha << 24 | gray << 16 | gray << 8 | gray;
+            }
+            case COLOR_GRAY_ALPHA -> {
+                var gray = sample(row, x * 2, bitDepth);
+                yield sample(row, x * 2 + 1, bitDepth) << 24 | gray << 16 | gray << 8 | gray;
+            }
+            case COLOR_RGB -> {
+                var alpha = 0xFF;
+                if (transparency != null && transparency.length >= 6
+                        && rawSample(row, x * 3, bitDepth) == ((transparency[0] & 0xFF) << 8 | (transparency[1] & 0xFF))
+                        && rawSample(row, x * 3 + 1, bitDepth) == ((transparency[2] & 0xFF) << 8 | (transparency[3] & 0xFF))
+                        && rawSample(row, x * 3 + 2, bitDepth) == ((transparency[4] & 0xFF) << 8 | (transparency[5] & 0xFF))) {
+                    alpha = 0;
+                }
+                yield alpha << 24 | sample(row, x * 3, bitDepth) << 16
+                        | sample(row, x * 3 + 1, bitDepth) << 8 | sample(row, x * 3 + 2, bitDepth);
+            }
+            default -> sample(row, x * 4 + 3, bitDepth) << 24 | sample(row, x * 4, bitDepth) << 16
+                    | sample(row, x * 4 + 1, bitDepth) << 8 | sample(row, x * 4 + 2, bitDepth);
+        };
+    }
+
+    /**
+     * Sample {@code index} of a row as 8 bits; palette indices and sub-byte samples are returned unscaled.
+     */
+    private static int sample(byte[] row, int index, int bitDepth) {
+        return bitDepth == 16 ? row[index * 2] & 0xFF : rawSample(row, index, bitDepth);
+    }
+
+    private static int rawSample(byte[] row, int index, int bitDepth) {
+        return switch (bitDepth) {
+            case 8 -> row[index] & 0xFF;
+            case 16 -> (row[index * 2] & 0xFF) << 8 | (row[index * 2 + 1] & 0xFF);
+            default -> {
+                var bit = index * bitDepth;
+                yield (row[bit >>> 3] >>> (8 - bitDepth - (bit & 7))) & ((1 << bitDepth) - 1);
+            }
+        };
+    }
+}
@@ -0,0 +1,354 @@
+package com.github.mcpjavafx.core.capture;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * PNG encoder for ARGB pixel buffers that needs neither AWT nor the FX thread.
+ *
+ * <p>
+ * The image is split into horizontal strips that are filtered and deflated in parallel,
+ * each as a raw deflate segment primed with the tail of the previous strip. The segments are
+ * concatenated into a single zlib stream, as in pigz, so any PNG decoder reads the result.
+ * Opaque images are written as 8-bit RGB, everything else as 8-bit RGBA.
+ * </p>
+ */
+public final class PngEncoder {
+
+    /** Rows per strip. Each strip is one deflate task. */
+    public static final int STRIP_ROWS = 128;
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int ADLER_BASE = 65521;
+
+    private static final int FILTER_NONE = 0;
+    private static final int FILTER_SUB = 1;
+    private static final int FILTER_UP = 2;
+    private static final int FILTER_PAETH = 4;
+
+    private final int compressionLevel;
+    private final Executor executor;
+
+    /**
+     * Creates an encoder that deflates strips on the shared encoder pool.
+     *
+     * @param compressionLevel deflate level, 0 (store) to 9 (best), or -1 for the zlib default
+     */
+    public PngEncoder(int compressionLevel) {
+        this(compressionLevel, EncoderPool.EXECUTOR);
+    }
+
+    /**
+     * @param compressionLevel deflate level, 0 (store) to 9 (best), or -1 for the zlib default
+     * @param executor         runs the per-strip filter and deflate tasks
+     */
+    public PngEncoder(int compressionLevel, Executor executor) {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("compressionLevel must be between -1 and 9: " + compressionLevel);
+        }
+        this.compressionLevel = compressionLevel;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    public int compressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Encodes pixels in {@code PixelFormat.getIntArgbInstance()} layout (non-premultiplied ARGB, row-major).
+     * Blocks until all strips are compressed; call from a worker thread, not the FX thread.
+     */
+    public byte[] encode(int width, int height, int[] argb) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Image must not be empty: " + width + "x" + height);
+        }
+        if (argb.length < width * height) {
+            throw new IllegalArgumentException("Pixel buffer too small for " + width + "x" + height);
+        }
+
+        var alpha = hasAlpha(argb, width * height);
+        var bytesPerPixel = alpha ? 4 : 3;
+
+        var strips = new ArrayList<CompletableFuture<Strip>>();
+        for (int y = 0; y < height; y += STRIP_ROWS) {
+            var first = y;
+            var last = Math.min(height, y + STRIP_ROWS);
+            var finish = last == height;
+            strips.add(CompletableFuture.supplyAsync(
+                    () -> compressStrip(argb, width, bytesPerPixel, first, last, finish), executor));
+        }
+
+        var zlib = new ByteArrayOutputStream();
+        zlib.write(0x78);
+        zlib.write(zlibLevelFlag());
+        long adler = 1;
+        try {
+            for (var future : strips) {
+                var strip = future.join();
+                zlib.write(strip.deflated, 0, strip.deflated.length);
+                adler = combineAdler(adler, strip.adler, strip.rawLength);
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+        writeInt(zlib, (int) adler);
+
+        var png = new ByteArrayOutputStream(zlib.size() + 64);
+        png.write(SIGNATURE, 0, SIGNATURE.length);
+
+        var header = new ByteArrayOutputStream(13);
+        writeInt(header, width);
+        writeInt(header, height);
+        header.write(8);
+        header.write(alpha ? 6 : 2);
+        header.write(0);
+        header.write(0);
+        header.write(0);
+        writeChunk(png, "IHDR", header.toByteArray());
+        writeChunk(png, "IDAT", zlib.toByteArray());
+        writeChunk(png, "IEND", new byte[0]);
+        return png.toByteArray();
+    }
+
+    private record Strip(byte[] deflated, long adler, long rawLength) {
+    }
+
+    private Strip compressStrip(int[] argb, int width, int bytesPerPixel, int firstRow, int endRow, boolean finish) {
+        var rowBytes = width * bytesPerPixel;
+        var raw = new byte[(endRow - firstRow) * (rowBytes + 1)];
+
+        var previous = new byte[rowBytes];
+        if (firstRow > 0) {
+            unpackRow(argb, width, firstRow - 1, bytesPerPixel, previous);
+        }
+        var current = new byte[rowBytes];
+        var scratch = new byte[rowBytes];
+
+        int offset = 0;
+        for (int y = firstRow; y < endRow; y++) {
+            unpackRow(argb, width, y, bytesPerPixel, current);
+            offset = filterRow(current, previous, bytesPerPixel, raw, offset, scratch);
+            var swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        var adler = new Adler32();
+        adler.update(raw);
+
+        var deflater = new Deflater(compressionLevel, true);
+        try {
+            if (firstRow > 0) {
+                deflater.setDictionary(dictionary(argb, width, bytesPerPixel, firstRow));
+            }
+            deflater.setInput(raw);
+            if (finish) {
+                deflater.finish();
+            }
+            var out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            var buffer = new byte[16 * 1024];
+            while (true) {
+                int n = finish
+                        ? deflater.deflate(buffer)
+                        : deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, n);
+                // A sync flush is complete once deflate leaves room in the buffer.
+                if (finish ? deflater.finished() : n < buffer.length) {
+                    break;
+                }
+            }
+            return new Strip(out.toByteArray(), adler.getValue(), raw.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes the filter type and filtered bytes for one row, picking the filter with the
+     * smallest sum of absolute values (the libpng heuristic). Level 0 stores rows unfiltered.
+     */
+    private int filterRow(byte[] row, byte[] previous, int bpp, byte[] out, int offset, byte[] scratch) {
+        var length = row.length;
+        if (compressionLevel == Deflater.NO_COMPRESSION) {
+            out[offset] = FILTER_NONE;
+            System.arraycopy(row, 0, out, offset + 1, length);
+            return offset + 1 + length;
+        }
+
+        var bestFilter = FILTER_NONE;
+        var bestSum = absSum(row, length);
+
+        // Sub
+        for (int i = 0; i < length; i++) {
+            scratch[i] = (byte) (row[i] - (i >= bpp ? row[i - bpp] : 0));
+        }
+        var sum = absSum(scratch, length);
+        if (sum < bestSum) {
+            bestSum = sum;
+            bestFilter = FILTER_SUB;
+            System.arraycopy(scratch, 0, out, offset + 1, length);
+        }
+
+        // Up
+        for (int i = 0; i < length; i++) {
+            scratch[i] = (byte) (row[i] - previous[i]);
+        }
+        sum = absSum(scratch, length);
+        if (sum < bestSum) {
+            bestSum = sum;
+            bestFilter = FILTER_UP;
+            System.arraycopy(scratch, 0, out, offset + 1, length);
+        }
+
+        // Paeth
+        for (int i = 0; i < length; i++) {
+            int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+            int b = previous[i] & 0xFF;
+            int c = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+            scratch[i] = (byte) (row[i] - paeth(a, b, c));
+        }
+        sum = absSum(scratch, length);
+        if (sum < bestSum) {
+            bestFilter = FILTER_PAETH;
+            System.arraycopy(scratch, 0, out, offset + 1, length);
+        }
+
+        if (bestFilter == FILTER_NONE) {
+            System.arraycopy(row, 0, out, offset + 1, length);
+        }
+        out[offset] = (byte) bestFilter;
+        return offset + 1 + length;
+    }
+
+    private static int paeth(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    private static long absSum(byte[] bytes, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += Math.abs((int) bytes[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Rebuilds the filtered bytes that end right before {@code firstRow}, so the strip can
+     * reference them. Filtered output depends only on pixels, so this matches the previous strip.
+     */
+    private byte[] dictionary(int[] argb, int width, int bytesPerPixel, int firstRow) {
+        var rowBytes = width * bytesPerPixel;
+        var rows = Math.min(firstRow, DICTIONARY_SIZE / (rowBytes + 1) + 1);
+        var filtered = new byte[rows * (rowBytes + 1)];
+        var previous = new byte[rowBytes];
+        var current = new byte[rowBytes];
+        var scratch = new byte[rowBytes];
+        var start = firstRow - rows;
+        if (start > 0) {
+            unpackRow(argb, width, start - 1, bytesPerPixel, previous);
+        }
+        int offset = 0;
+        for (int y = start; y < firstRow; y++) {
+            unpackRow(argb, width, y, bytesPerPixel, current);
+            offset = filterRow(current, previous, bytesPerPixel, filtered, offset, scratch);
+            var swap = previous;
+            previous = current;
+            current = swap;
+        }
+        var size = Math.min(DICTIONARY_SIZE, filtered.length);
+        var dictionary = new byte[size];
+        System.arraycopy(filtered, filtered.length - size, dictionary, 0, size);
+        return dictionary;
+    }
+
+    private static void unpackRow(int[] argb, int width, int y, int bytesPerPixel, byte[] out) {
+        int src = y * width;
+        int dst = 0;
+        for (int x = 0; x < width; x++) {
+            int pixel = argb[src + x];
+            out[dst++] = (byte) (pixel >>> 16);
+            out[dst++] = (byte) (pixel >>> 8);
+            out[dst++] = (byte) pixel;
+            if (bytesPerPixel == 4) {
+                out[dst++] = (byte) (pixel >>> 24);
+            }
+        }
+    }
+
+    private static boolean hasAlpha(int[] argb, int count) {
+        for (int i = 0; i < count; i++) {
+            if ((argb[i] >>> 24) != 0xFF) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int zlibLevelFlag() {
+        // FLG values for CMF 0x78 with FLEVEL matching the deflate level; each keeps the header check valid.
+        return switch (compressionLevel) {
+            case 0, 1 -> 0x01;
+            case 2, 3, 4, 5 -> 0x5E;
+            case 7, 8, 9 -> 0xDA;
+            default -> 0x9C;
+        };
+    }
+
+    /**
+     * Adler-32 of the concatenation of two inputs (zlib's adler32_combine).
+     */
+    static long combineAdler(long adler1, long adler2, long length2) {
+        long rem = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (rem * sum1) % ADLER_BASE;
+        sum1 += (adler2 & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum2 >= (ADLER_BASE << 1)) {
+            sum2 -= (ADLER_BASE << 1);
+        }
+        if (sum2 >= ADLER_BASE) {
+            sum2 -= ADLER_BASE;
+        }
+        return (sum2 << 16) | sum1;
+    }
+
+    private static void writeChunk(ByteArrayOutputStream out, String type, byte[] data) {
+        var typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        writeInt(out, data.length);
+        out.write(typeBytes, 0, typeBytes.length);
+        out.write(data, 0, data.length);
+        var crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        writeInt(out, (int) crc.getValue());
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
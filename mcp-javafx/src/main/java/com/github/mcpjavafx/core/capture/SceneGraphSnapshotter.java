@@ -1,8 +1,10 @@
 package com.github.mcpjavafx.core.capture;
 
 import com.github.mcpjavafx.api.SnapshotOptions;
+import com.github.mcpjavafx.core.fx.CancellationToken;
 import com.github.mcpjavafx.core.fx.Fx;
 import com.github.mcpjavafx.core.fx.NodeRefService;
+import com.github.mcpjavafx.core.fx.SceneWalk;
 import com.github.mcpjavafx.core.model.AccessibilityInfo;
 import com.github.mcpjavafx.core.model.Bounds;
 import com.github.mcpjavafx.core.model.FxProperties;
@@ -40,14 +42,22 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Captures the JavaFX scene graph as a serializable snapshot.
  */
 public class SceneGraphSnapshotter {
 
+    // Size estimate for maxBytes: ref uid, JSON keys and indentation per node, plus each path segment.
+    private static final long NODE_BASE_BYTES = 120;
+    private static final long PATH_SEGMENT_BYTES = 14;
+    private static final int TREE_LABEL_BYTES = 120;
+
     private final int fxTimeoutMs;
     private final NodeRefService nodeRefService = new NodeRefService();
 
@@ -73,7 +83,22 @@ public class SceneGraphSnapshotter {
      * @return UI snapshot
      */
     public UiSnapshot capture(StageMode mode, Integer stageIndex, SnapshotOptions options) {
-        return Fx.exec(() -> captureOnFxThread(mode, stageIndex, options), fxTimeoutMs);
+        return capture(mode, stageIndex, options, SceneWalk.unbounded());
+    }
+
+    /**
+     * Captures a snapshot of the UI, stopping at the walk's deadline and starting at its cursor.
+     *
+     * <p>
+     * When resuming, only the cursor's stage is captured (with {@link StageMode#ALL}, it and the
+     * stages after it). The cursor's ancestors are included so the result is a well-formed tree;
+     * nodes before the cursor are left out. After return, {@link SceneWalk#stoppedAt()} tells
+     * whether the snapshot is partial. The FX thread is never held longer than the FX timeout.
+     * </p>
+     */
+    public UiSnapshot capture(StageMode mode, Integer stageIndex, SnapshotOptions options, SceneWalk walk) {
+        var timeoutMs = walk.timeoutMs() > 0 ? (int) Math.min(walk.timeoutMs(), fxTimeoutMs) : fxTimeoutMs;
+        return Fx.exec(() -> captureOnFxThread(mode, stageIndex, options, walk), timeoutMs);
     }
 
     /**
@@ -106,7 +131,53 @@ public class SceneGraphSnapshotter {
         }, fxTimeoutMs);
     }
 
-    private UiSnapshot captureOnFxThread(StageMode mode, Integer stageIndex, SnapshotOptions options) {
+    /**
+     * Captures every node below the given roots without nesting, keyed by uid in scene-graph order.
+     *
+     * <p>
+     * Each entry carries no children. Traversal honours {@code options.depth()} and
+     * {@code includeControlInternals}, as a tree snapshot would.
+     * </p>
+     */
+    public Map<String, UiNode> captureFlat(List<Node> roots, SnapshotOptions options) {
+        Objects.requireNonNull(roots, "roots");
+        Objects.requireNonNull(options, "options");
+
+        return Fx.exec(() -> {
+            var stages = getSortedStages();
+            var nodeOptions = SnapshotOptions.builder()
+                    .depth(0)
+                    .includeBounds(options.includeBounds())
+                    .includeLocalToScreen(options.includeLocalToScreen())
+                    .includeProperties(options.includeProperties())
+                    .includeVirtualization(options.includeVirtualization())
+                    .includeAccessibility(options.includeAccessibility())
+                    .includeControlInternals(options.includeControlInternals())
+                    .build();
+
+            var result = new LinkedHashMap<String, UiNode>();
+            for (var root : roots) {
+                collectFlat(root, resolveStageIndex(stages, root), options, nodeOptions, 0, result);
+            }
+            return result;
+        }, fxTimeoutMs);
+    }
+
+    private void collectFlat(Node node, int stageIndex, SnapshotOptions options, SnapshotOptions nodeOptions,
+            int depth, Map<String, UiNode> result) {
+        CancellationToken.checkpoint();
+        var captured = captureNode(node, stageIndex, nodeOptions, 0);
+        result.put(captured.ref().uid(), captured);
+
+        if (depth < options.depth() && node instanceof Parent parent && shouldRecurse(node, options)) {
+            for (var child : parent.getChildrenUnmodifiable()) {
+                collectFlat(child, stageIndex, options, nodeOptions, depth + 1, result);
+            }
+        }
+    }
+
+    private UiSnapshot captureOnFxThread(StageMode mode, Integer stageIndex, SnapshotOptions options,
+            SceneWalk walk) {
         var stages = nodeRefService.getSortedStages();
 
         if (stages.isEmpty()) {
@@ -118,14 +189,24 @@ public class SceneGraphSnapshotter {
                     List.of());
         }
 
-        var selectedStages = selectStages(stages, mode, stageIndex);
+        var selectedStages = walk.resumeStage() >= 0 && mode != StageMode.ALL
+                ? (walk.resumeStage() < stages.size() ? List.of(stages.get(walk.resumeStage())) : List.<Stage>of())
+                : selectStages(stages, mode, stageIndex);
         var focusInfo = captureFocusInfo(stages);
+        var expanded = planBudget(selectedStages, options);
 
         var stageInfos = new ArrayList<UiSnapshot.StageInfo>();
         for (int i = 0; i < selectedStages.size(); i++) {
             var stage = selectedStages.get(i);
             int actualIndex = stages.indexOf(stage);
-            stageInfos.add(captureStage(stage, actualIndex, options));
+            if (!walk.includesStage(actualIndex)) {
+                continue;
+            }
+            if (walk.stopBeforeStage(actualIndex)) {
+                break;
+            }
+            walk.beginStage(actualIndex);
+            stageInfos.add(captureStage(stage, actualIndex, options, walk, expanded));
         }
 
         return new UiSnapshot(
@@ -191,13 +272,14 @@ public class SceneGraphSnapshotter {
         return null;
     }
 
-    private UiSnapshot.StageInfo captureStage(Stage stage, int stageIndex, SnapshotOptions options) {
+    private UiSnapshot.StageInfo captureStage(Stage stage, int stageIndex, SnapshotOptions options,
+            SceneWalk walk, Set<Node> expanded) {
         UiSnapshot.SceneInfo sceneInfo = null;
 
         if (stage.getScene() != null) {
             var scene = stage.getScene();
             var root = scene.getRoot();
-            var rootNode = root != null ? captureNode(root, stageIndex, options, 0) : null;
+            var rootNode = root != null ? captureNode(root, stageIndex, options, 0, walk, expanded) : null;
 
             var stylesheets = scene.getStylesheets().stream().toList();
             sceneInfo = new UiSnapshot.SceneInfo(stylesheets, rootNode);
@@ -216,8 +298,17 @@ public class SceneGraphSnapshotter {
     }
 
     private UiNode captureNode(Node node, int stageIndex, SnapshotOptions options, int depth) {
+        return captureNode(node, stageIndex, options, depth, SceneWalk.unbounded(), null);
+    }
+
+    /**
+     * @param expanded nodes whose children fit the snapshot budget, or null if there is none
+     */
+    private UiNode captureNode(Node node, int stageIndex, SnapshotOptions options, int depth, SceneWalk walk,
+            Set<Node> expanded) {
+        CancellationToken.checkpoint();
         if (options.skeleton()) {
-            return captureSkeletonNode(node, stageIndex, options, depth);
+            return captureSkeletonNode(node, stageIndex, options, depth, walk, expanded);
         }
 
         var ref = nodeRefService.forNode(node, stageIndex);
@@ -226,9 +317,7 @@ public class SceneGraphSnapshotter {
         List<UiNode> children = List.of();
         if (depth < options.depth() && node instanceof Parent parent) {
             if (shouldRecurse(node, options)) {
-                children = parent.getChildrenUnmodifiable().stream()
-                        .map(child -> captureNode(child, stageIndex, options, depth + 1))
-                        .toList();
+                children = captureChildren(parent, stageIndex, options, depth, walk, expanded);
             }
         }
 
@@ -249,7 +338,8 @@ public class SceneGraphSnapshotter {
                 options.includeAccessibility() ? captureAccessibility(node) : null,
                 options.includeProperties() ? captureFxProperties(node) : null,
                 options.includeVirtualization() ? captureVirtualization(node) : null,
-                children);
+                children,
+                collapsedChildren(node, options, depth, expanded));
     }
 
     private boolean shouldRecurse(Node node, SnapshotOptions options) {
@@ -274,14 +364,38 @@ public class SceneGraphSnapshotter {
         return true;
     }
 
-    private UiNode captureSkeletonNode(Node node, int stageIndex, SnapshotOptions options, int depth) {
+    /**
+     * Captures children in order, leaving out those before the walk's cursor and stopping
+     * once its deadline has passed. Nothing is captured below a node the budget did not expand.
+     */
+    private List<UiNode> captureChildren(Parent parent, int stageIndex, SnapshotOptions options, int depth,
+            SceneWalk walk, Set<Node> expanded) {
+        if (expanded != null && !expanded.contains(parent)) {
+            return List.of();
+        }
+        var nodes = parent.getChildrenUnmodifiable();
+        var children = new ArrayList<UiNode>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            if (walk.skip(i)) {
+                continue;
+            }
+            if (walk.stopBefore(i)) {
+                break;
+            }
+            walk.push(i);
+            children.add(captureNode(nodes.get(i), stageIndex, options, depth + 1, walk, expanded));
+            walk.pop();
+        }
+        return children;
+    }
+
+    private UiNode captureSkeletonNode(Node node, int stageIndex, SnapshotOptions options, int depth,
+            SceneWalk walk, Set<Node> expanded) {
         var ref = nodeRefService.forNode(node, stageIndex);
         List<UiNode> children = List.of();
         if (depth < options.depth() && node instanceof Parent parent) {
             if (shouldRecurse(node, options)) {
-                children = parent.getChildrenUnmodifiable().stream()
-                        .map(child -> captureSkeletonNode(child, stageIndex, options, depth + 1))
-                        .toList();
+                children = captureChildren(parent, stageIndex, options, depth, walk, expanded);
             }
         }
 
@@ -302,7 +416,62 @@ public class SceneGraphSnapshotter {
                 null,
                 null,
                 null,
-                children);
+                children,
+                collapsedChildren(node, options, depth, expanded));
+    }
+
+    /**
+     * Plans which nodes get their children captured under {@code maxNodes}/{@code maxBytes};
+     * null when the options set no budget.
+     */
+    private Set<Node> planBudget(List<Stage> stages, SnapshotOptions options) {
+        if (options.maxNodes() <= 0 && options.maxBytes() <= 0) {
+            return null;
+        }
+        var roots = stages.stream()
+                .map(Stage::getScene)
+                .filter(Objects::nonNull)
+                .map(scene -> (Node) scene.getRoot())
+                .filter(Objects::nonNull)
+                .toList();
+        return SnapshotBudget.expand(
+                roots,
+                (node, depth) -> depth < options.depth() && node instanceof Parent parent
+                        && shouldRecurse(node, options) ? parent.getChildrenUnmodifiable() : List.of(),
+                this::estimateBytes,
+                options.maxNodes(),
+                options.maxBytes());
+    }
+
+    /**
+     * Rough size of a node in the compact snapshot result: its line in the text tree plus its
+     * JSON object, both dominated by the ref path, type, id and label.
+     */
+    private long estimateBytes(Node node, int depth) {
+        var size = NODE_BASE_BYTES + depth * PATH_SEGMENT_BYTES + 2L * node.getClass().getSimpleName().length();
+        if (node.getId() != null) {
+            size += 2L * node.getId().length();
+        }
+        var text = captureTextInfo(node);
+        if (text != null) {
+            // The text tree truncates labels; the JSON carries them in full.
+            var label = text.label() != null ? text.label().length() : 0;
+            size += label + Math.min(label, TREE_LABEL_BYTES) + (text.prompt() != null ? text.prompt().length() : 0);
+        }
+        return size;
+    }
+
+    /**
+     * Number of children left out because the budget did not expand the node, or null. Nodes at
+     * the depth limit were cut by {@code depth}, not the budget, and get null.
+     */
+    private Integer collapsedChildren(Node node, SnapshotOptions options, int depth, Set<Node> expanded) {
+        if (expanded == null || expanded.contains(node) || depth >= options.depth()
+                || !(node instanceof Parent parent) || !shouldRecurse(node, options)) {
+            return null;
+        }
+        var count = parent.getChildrenUnmodifiable().size();
+        return count > 0 ? count : null;
     }
 
     private int resolveStageIndex(List<Stage> stages, Node node) {
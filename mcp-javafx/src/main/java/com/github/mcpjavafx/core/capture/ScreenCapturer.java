@@ -0,0 +1,374 @@
+package com.github.mcpjavafx.core.capture;
+
+import com.github.mcpjavafx.core.fx.Fx;
+import com.github.mcpjavafx.core.fx.NodeRefService;
+import com.github.mcpjavafx.core.model.NodeRef;
+import javafx.application.Platform;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.transform.Transform;
+import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Captures screenshots of stages or single nodes.
+ *
+ * <p>
+ * Only rendering the region and reading its pixels run on the FX thread. The snapshot is
+ * requested with a callback, so the FX thread renders it with the next pulse instead of blocking
+ * in a synchronous render, and it reuses pooled images and pixel buffers of the same size.
+ * Downscaling is applied as a snapshot transform, so JavaFX renders directly at the target size
+ * instead of rendering the full window and shrinking it afterwards. Encoding runs on the encoder pool.
+ * </p>
+ *
+ * <p>
+ * Every capture gets a frame id and its tile hashes are remembered. A later capture that names
+ * that id in {@link Options#since()} returns only the tiles whose hash changed.
+ * </p>
+ *
+ * <p>
+ * With {@link Options#marks()}, interactive nodes in the captured area are collected in the same
+ * FX pass as the snapshot and drawn as numbered boxes onto the image (set-of-marks).
+ * </p>
+ */
+public class ScreenCapturer {
+
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    private final int fxTimeoutMs;
+    private final NodeRefService nodeRefService;
+    private final PngEncoder pngEncoder;
+    private final TileFrameCache frameCache = new TileFrameCache(TileFrameCache.DEFAULT_CAPACITY);
+    private final PixelBufferPool bufferPool = new PixelBufferPool(PixelBufferPool.DEFAULT_CAPACITY);
+
+    public ScreenCapturer(int fxTimeoutMs, NodeRefService nodeRefService, PngEncoder pngEncoder) {
+        this.fxTimeoutMs = fxTimeoutMs;
+        this.nodeRefService = Objects.requireNonNull(nodeRefService, "nodeRefService");
+        this.pngEncoder = Objects.requireNonNull(pngEncoder, "pngEncoder");
+    }
+
+    /**
+     * Output image format.
+     */
+    public enum Format {
+        PNG("image/png"),
+        JPEG("image/jpeg");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return PNG;
+            }
+            return switch (value.toLowerCase()) {
+                case "png" -> PNG;
+                case "jpeg", "jpg" -> JPEG;
+                default -> throw new IllegalArgumentException("Unknown image format: " + value);
+            };
+        }
+    }
+
+    /**
+     * @param maxWidth         downscale so the image is at most this wide (null = no limit)
+     * @param maxHeight        downscale so the image is at most this high (null = no limit)
+     * @param format           output format
+     * @param quality          JPEG quality 1-100 (null = {@link JpegEncoder#DEFAULT_QUALITY})
+     * @param compressionLevel PNG deflate level (null = configured level)
+     * @param since            frame id of a previous capture the client still has; return only changed tiles
+     * @param tileSize         tile edge in image pixels for change detection
+     * @param marks            draw numbered boxes over interactive nodes and return them
+     */
+    public record Options(Integer maxWidth, Integer maxHeight, Format format, Integer quality,
+            Integer compressionLevel, String since, int tileSize, boolean marks) {
+        public static final Options DEFAULT = new Options(null, null, Format.PNG, null, null, null, DEFAULT_TILE_SIZE,
+                false);
+
+        public Options {
+            format = format != null ? format : Format.PNG;
+            if ((maxWidth != null && maxWidth <= 0) || (maxHeight != null && maxHeight <= 0)) {
+                throw new IllegalArgumentException("maxWidth and maxHeight must be positive");
+            }
+            if (tileSize < 8) {
+                throw new IllegalArgumentException("tileSize must be at least 8");
+            }
+        }
+    }
+
+    /**
+     * An encoded screenshot.
+     *
+     * @param data    the full image, or null when {@code diff} is set
+     * @param scale   image pixels per scene unit (below 1 when downscaled)
+     * @param frameId id to pass as {@link Options#since()} next time
+     * @param diff    changed tiles relative to {@link Options#since()}, or null for a full image
+     * @param marks   marks drawn onto the image, or null unless {@link Options#marks()} was set
+     */
+    public record Capture(String contentType, byte[] data, int width, int height, double scale,
+            String frameId, TileDiff diff, List<Mark> marks) {
+    }
+
+    /**
+     * A numbered box drawn over an interactive node, in image pixels.
+     *
+     * @param id   the number drawn in the label, from 1
+     * @param text label or text content, truncated, or null
+     */
+    public record Mark(int id, NodeRef ref, String type, String text, int x, int y, int width, int height) {
+    }
+
+    /**
+     * Tiles that changed since an earlier frame. Apply them onto that frame's image to get this one.
+     *
+     * @param since          the frame the tiles are relative to
+     * @param tiles          changed tiles, each encoded as a standalone image
+     * @param unchangedTiles number of tiles left out
+     */
+    public record TileDiff(String since, int tileSize, List<Tile> tiles, int unchangedTiles) {
+    }
+
+    /**
+     * An encoded tile at image pixel coordinates.
+     */
+    public record Tile(int x, int y, int width, int height, byte[] data) {
+    }
+
+    private record Pixels(int width, int height, double scale, int[] argb, List<Mark> marks) {
+    }
+
+    /**
+     * Captures the area a node covers in its scene, or a whole stage when {@code node} is null.
+     * Content overlapping the node (popups in the same scene, overlays) is included, as on screen.
+     *
+     * Must not be called on the FX Application Thread, which renders the snapshot.
+     *
+     * @param stageIndex stage index (-1 for focused), used when node is null
+     * @return the capture, or null if there is nothing showing to capture
+     */
+    public Capture capture(int stageIndex, Node node, Options options) {
+        var pixels = grab(stageIndex, node, options);
+        if (pixels == null) {
+            return null;
+        }
+        try {
+            return encodeCapture(pixels, options);
+        } finally {
+            bufferPool.releasePixels(pixels.argb());
+        }
+    }
+
+    /**
+     * Like {@link #capture}, but always returns the full image and does not assign a frame id, so
+     * high-rate callers such as {@link FrameRecorder} do not evict frames clients diff against.
+     */
+    public Capture captureImage(int stageIndex, Node node, Options options) {
+        var pixels = grab(stageIndex, node, options);
+        if (pixels == null) {
+            return null;
+        }
+        try {
+            var data = encode(pixels.width(), pixels.height(), pixels.argb(), options, null);
+            return new Capture(options.format().contentType(), data, pixels.width(), pixels.height(),
+                    pixels.scale(), null, null, pixels.marks());
+        } finally {
+            bufferPool.releasePixels(pixels.argb());
+        }
+    }
+
+    /**
+     * Captures unencoded pixels, for comparisons on the server. Format and tile options are ignored.
+     *
+     * @return the pixels, or null if there is nothing showing to capture
+     */
+    public ArgbImage capturePixels(int stageIndex, Node node, Options options) {
+        var pixels = grab(stageIndex, node, options);
+        // The buffer is handed to the caller and therefore not returned to the pool.
+        return pixels != null ? new ArgbImage(pixels.width(), pixels.height(), pixels.scale(), pixels.argb()) : null;
+    }
+
+    private Pixels grab(int stageIndex, Node node, Options options) {
+        if (Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("Screenshots cannot be awaited on the FX Application Thread");
+        }
+        var future = Fx.exec(() -> grabOnFxThread(stageIndex, node, options), fxTimeoutMs);
+        var pixels = Fx.await(future, fxTimeoutMs, "screenshot");
+        if (pixels != null && pixels.marks() != null) {
+            MarkOverlay.draw(pixels.argb(), pixels.width(), pixels.height(), pixels.marks());
+        }
+        return pixels;
+    }
+
+    private Capture encodeCapture(Pixels pixels, Options options) {
+        var frame = TileFrameCache.hash(pixels.argb(), pixels.width(), pixels.height(), options.tileSize());
+        var previous = frameCache.get(options.since());
+        var changed = previous != null ? TileFrameCache.changedTiles(previous, frame) : null;
+        var frameId = frameCache.put(frame);
+
+        if (changed != null) {
+            var diff = new TileDiff(options.since(), options.tileSize(), encodeTiles(pixels, changed, options),
+                    frame.hashes().length - changed.size());
+            return new Capture(options.format().contentType(), null, pixels.width(), pixels.height(),
+                    pixels.scale(), frameId, diff, pixels.marks());
+        }
+
+        var data = encode(pixels.width(), pixels.height(), pixels.argb(), options, null);
+        return new Capture(options.format().contentType(), data, pixels.width(), pixels.height(), pixels.scale(),
+                frameId, null, pixels.marks());
+    }
+
+    /**
+     * Encodes tiles concurrently, one task per tile; each tile is encoded on its own task's thread.
+     */
+    private List<Tile> encodeTiles(Pixels pixels, List<TileFrameCache.TileRect> rects, Options options) {
+        var futures = new ArrayList<CompletableFuture<Tile>>(rects.size());
+        for (var rect : rects) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                var argb = new int[rect.width() * rect.height()];
+                for (int row = 0; row < rect.height(); row++) {
+                    System.arraycopy(pixels.argb(), (rect.y() + row) * pixels.width() + rect.x(),
+                            argb, row * rect.width(), rect.width());
+                }
+                var data = encode(rect.width(), rect.height(), argb, options, Runnable::run);
+                return new Tile(rect.x(), rect.y(), rect.width(), rect.height(), data);
+            }, EncoderPool.EXECUTOR));
+        }
+        var tiles = new ArrayList<Tile>(futures.size());
+        for (var future : futures) {
+            tiles.add(future.join());
+        }
+        return tiles;
+    }
+
+    /**
+     * @param executor encoder executor, or null for the shared pool
+     */
+    private byte[] encode(int width, int height, int[] argb, Options options, Executor executor) {
+        return switch (options.format()) {
+            case PNG -> {
+                var level = options.compressionLevel() != null
+                        ? options.compressionLevel()
+                        : pngEncoder.compressionLevel();
+                var encoder = executor != null
+                        ? new PngEncoder(level, executor)
+                        : options.compressionLevel() != null ? new PngEncoder(level) : pngEncoder;
+                yield encoder.encode(width, height, argb);
+            }
+            case JPEG -> {
+                var quality = options.quality() != null ? options.quality() : JpegEncoder.DEFAULT_QUALITY;
+                var encoder = executor != null ? new JpegEncoder(quality, executor) : new JpegEncoder(quality);
+                yield encoder.encode(width, height, argb);
+            }
+        };
+    }
+
+    /**
+     * Requests the snapshot; the future completes on the FX thread once it was rendered and read.
+     */
+    private CompletableFuture<Pixels> grabOnFxThread(int stageIndex, Node node, Options options) {
+        Scene scene;
+        Bounds region;
+        if (node != null) {
+            scene = node.getScene();
+            if (scene == null || !node.isVisible()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            region = clipToScene(node.localToScene(node.getBoundsInLocal()), scene);
+        } else {
+            var stage = getStage(stageIndex);
+            scene = stage != null ? stage.getScene() : null;
+            if (scene == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            region = new BoundingBox(0, 0, scene.getWidth(), scene.getHeight());
+        }
+        if (region == null || region.getWidth() < 1 || region.getHeight() < 1) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var scale = 1.0;
+        if (options.maxWidth() != null) {
+            scale = Math.min(scale, options.maxWidth() / region.getWidth());
+        }
+        if (options.maxHeight() != null) {
+            scale = Math.min(scale, options.maxHeight() / region.getHeight());
+        }
+
+        // Viewport is in the root's parent (scene) coordinates after the transform.
+        var x = Math.floor(region.getMinX() * scale);
+        var y = Math.floor(region.getMinY() * scale);
+        var width = Math.max(1, (int) Math.round(region.getWidth() * scale));
+        var height = Math.max(1, (int) Math.round(region.getHeight() * scale));
+
+        var params = new SnapshotParameters();
+        if (scale != 1.0) {
+            params.setTransform(Transform.scale(scale, scale));
+        }
+        params.setViewport(new Rectangle2D(x, y, width, height));
+
+        var marks = options.marks()
+                ? MarkOverlay.collect(scene.getRoot(), region, scale, -x, -y, nodeRefService,
+                        nodeRefService.getSortedStages().indexOf(scene.getWindow()))
+                : null;
+
+        var future = new CompletableFuture<Pixels>();
+        var target = bufferPool.acquireImage(width, height);
+        var imageScale = scale;
+        scene.getRoot().snapshot(result -> {
+            try {
+                var image = result.getImage();
+                var w = (int) image.getWidth();
+                var h = (int) image.getHeight();
+                var argb = bufferPool.acquirePixels(w * h);
+                image.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), argb, 0, w);
+                future.complete(new Pixels(w, h, imageScale, argb, marks));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                bufferPool.releaseImage(target);
+            }
+            return null;
+        }, params, target);
+        return future;
+    }
+
+    private static Bounds clipToScene(Bounds bounds, Scene scene) {
+        var minX = Math.max(0, bounds.getMinX());
+        var minY = Math.max(0, bounds.getMinY());
+        var maxX = Math.min(scene.getWidth(), bounds.getMaxX());
+        var maxY = Math.min(scene.getHeight(), bounds.getMaxY());
+        if (maxX <= minX || maxY <= minY) {
+            return null;
+        }
+        return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    private Stage getStage(int stageIndex) {
+        var stages = nodeRefService.getSortedStages();
+
+        if (stageIndex < 0) {
+            return stages.stream()
+                    .filter(Stage::isFocused)
+                    .findFirst()
+                    .orElse(stages.isEmpty() ? null : stages.get(0));
+        }
+
+        return stageIndex < stages.size() ? stages.get(stageIndex) : null;
+    }
+}
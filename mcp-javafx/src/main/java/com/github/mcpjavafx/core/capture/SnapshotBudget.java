@@ -0,0 +1,72 @@
+package com.github.mcpjavafx.core.capture;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Decides which nodes of a snapshot get their children captured under a node and size budget.
+ *
+ * <p>
+ * Nodes are expanded breadth-first, one whole child list at a time, so every level is
+ * filled in before the next one is started. The first child list that does not fit ends the
+ * expansion; nodes that were not expanded become placeholders with a child count. Roots are
+ * always included.
+ * </p>
+ */
+final class SnapshotBudget {
+
+    private SnapshotBudget() {
+    }
+
+    /**
+     * Returns the nodes whose children fit the budget.
+     *
+     * @param roots    nodes the snapshot starts from
+     * @param children children a node would be captured with at the given depth; empty if it is a leaf there
+     * @param bytes    estimated serialized size of a node at the given depth
+     * @param maxNodes maximum number of nodes, or {@code <= 0} for no limit
+     * @param maxBytes maximum estimated size, or {@code <= 0} for no limit
+     */
+    static <T> Set<T> expand(List<T> roots, BiFunction<T, Integer, List<? extends T>> children,
+            ToLongBiFunction<T, Integer> bytes, int maxNodes, long maxBytes) {
+        Set<T> expanded = Collections.newSetFromMap(new IdentityHashMap<>());
+        var queue = new ArrayDeque<Level<T>>();
+        long nodes = roots.size();
+        long size = 0;
+        for (var root : roots) {
+            size += bytes.applyAsLong(root, 0);
+            queue.add(new Level<>(root, 0));
+        }
+
+        while (!queue.isEmpty()) {
+            var next = queue.poll();
+            var kids = children.apply(next.node(), next.depth());
+            if (kids.isEmpty()) {
+                continue;
+            }
+            var depth = next.depth() + 1;
+            long kidsSize = 0;
+            for (var kid : kids) {
+                kidsSize += bytes.applyAsLong(kid, depth);
+            }
+            if ((maxNodes > 0 && nodes + kids.size() > maxNodes) || (maxBytes > 0 && size + kidsSize > maxBytes)) {
+                break;
+            }
+            nodes += kids.size();
+            size += kidsSize;
+            expanded.add(next.node());
+            for (var kid : kids) {
+                queue.add(new Level<>(kid, depth));
+            }
+        }
+        return expanded;
+    }
+
+    private record Level<T>(T node, int depth) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.mcpjavafx.core.capture;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers per-tile hashes of recent screenshots so later captures can send only changed tiles.
+ *
+ * <p>
+ * Frames are kept in a small LRU keyed by frame id. Only hashes are stored, never pixels, so a
+ * frame costs a few kilobytes regardless of its size. Thread-safe.
+ * </p>
+ */
+final class TileFrameCache {
+
+    static final int DEFAULT_CAPACITY = 16;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Map<String, Frame> frames;
+
+    TileFrameCache(int capacity) {
+        this.frames = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Frame> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Tile hashes of one frame, row-major.
+     */
+    record Frame(int width, int height, int tileSize, long[] hashes) {
+        int columns() {
+            return (width + tileSize - 1) / tileSize;
+        }
+    }
+
+    /**
+     * A tile rectangle in image pixels.
+     */
+    record TileRect(int x, int y, int width, int height) {
+    }
+
+    /**
+     * Stores a frame and returns its new id.
+     */
+    synchronized String put(Frame frame) {
+        var id = "f-" + nextId.getAndIncrement();
+        frames.put(id, frame);
+        return id;
+    }
+
+    synchronized Frame get(String id) {
+        return id != null ? frames.get(id) : null;
+    }
+
+    /**
+     * Returns the tiles of {@code current} whose hash differs from {@code previous}, or null if the
+     * frames are not comparable (different size or tile size).
+     */
+    static List<TileRect> changedTiles(Frame previous, Frame current) {
+        if (previous.width() != current.width() || previous.height() != current.height()
+                || previous.tileSize() != current.tileSize()) {
+            return null;
+        }
+        var changed = new ArrayList<TileRect>();
+        var columns = current.columns();
+        var tileSize = current.tileSize();
+        for (int i = 0; i < current.hashes().length; i++) {
+            if (previous.hashes()[i] != current.hashes()[i]) {
+                var x = (i % columns) * tileSize;
+                var y = (i / columns) * tileSize;
+                changed.add(new TileRect(x, y,
+                        Math.min(tileSize, current.width() - x),
+                        Math.min(tileSize, current.height() - y)));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Hashes each tile of an ARGB image with a 64-bit multiply-xorshift mix.
+     */
+    static Frame hash(int[] argb, int width, int height, int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("tileSize must be positive");
+        }
+        var columns = (width + tileSize - 1) / tileSize;
+        var rows = (height + tileSize - 1) / tileSize;
+        var hashes = new long[columns * rows];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = 0x9E3779B97F4A7C15L;
+        }
+
+        for (int y = 0; y < height; y++) {
+            var rowBase = (y / tileSize) * columns;
+            var offset = y * width;
+            for (int column = 0; column < columns; column++) {
+                var start = column * tileSize;
+                var end = Math.min(width, start + tileSize);
+                var h = hashes[rowBase + column];
+                for (int x = start; x < end; x++) {
+                    h = (h ^ argb[offset + x]) * 0xFF51AFD7ED558CCDL;
+                    h ^= h >>> 29;
+                }
+                hashes[rowBase + column] = h;
+            }
+        }
+        return new Frame(width, height, tileSize, hashes);
+    }
+}
@@ -58,6 +58,9 @@ public class TreeFormatter {
         if (label != null && !label.isEmpty()) {
             sb.append(' ').append('"').append(StringUtils.truncate(label, MAX_LABEL_LENGTH)).append('"');
         }
+        if (node.collapsedChildren() != null) {
+            sb.append(" [+").append(node.collapsedChildren()).append(" children]");
+        }
         sb.append(System.lineSeparator());
 
         var children = node.children();
@@ -145,6 +148,7 @@ public class TreeFormatter {
                 null,
                 null,
                 null,
-                children);
+                children,
+                node.collapsedChildren());
     }
 }
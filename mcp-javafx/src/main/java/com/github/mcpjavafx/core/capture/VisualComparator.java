@@ -0,0 +1,226 @@
+package com.github.mcpjavafx.core.capture;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Compares a capture against a baseline image.
+ *
+ * <p>
+ * Two checks must both pass. The per-pixel check counts pixels where any channel differs by more
+ * than a threshold, which catches small but real changes such as a wrong label. The perceptual
+ * hash (64-bit DCT pHash of a 32x32 grayscale thumbnail) catches layout shifts and is stable
+ * under anti-aliasing and font rendering noise that would trip a strict pixel diff. Differences
+ * are summarised as a small heatmap rather than a full diff image.
+ * </p>
+ */
+public final class VisualComparator {
+
+    public static final int DEFAULT_HEATMAP_SIZE = 64;
+
+    private static final int HASH_SAMPLE_SIZE = 32;
+    private static final int HASH_FREQUENCIES = 8;
+    private static final double[][] DCT_COSINES = dctCosines();
+
+    private VisualComparator() {
+    }
+
+    /**
+     * @param pixelThreshold  largest per-channel difference (0-255) that still counts as equal
+     * @param maxDiffRatio    largest fraction of differing pixels that still passes
+     * @param maxHashDistance largest perceptual hash Hamming distance (0-64) that still passes
+     */
+    public record Tolerance(int pixelThreshold, double maxDiffRatio, int maxHashDistance) {
+        public static final Tolerance DEFAULT = new Tolerance(16, 0.001, 6);
+
+        public Tolerance {
+            if (pixelThreshold < 0 || pixelThreshold > 255) {
+                throw new IllegalArgumentException("pixelThreshold must be between 0 and 255");
+            }
+            if (maxDiffRatio < 0 || maxDiffRatio > 1) {
+                throw new IllegalArgumentException("maxDiffRatio must be between 0 and 1");
+            }
+            if (maxHashDistance < 0 || maxHashDistance > 64) {
+                throw new IllegalArgumentException("maxHashDistance must be between 0 and 64");
+            }
+        }
+    }
+
+    /**
+     * A rectangle in image pixels.
+     */
+    public record Region(int x, int y, int width, int height) {
+    }
+
+    /**
+     * @param reason       why the comparison failed, or null if it passed
+     * @param score        fraction of matching pixels, 0 when the sizes differ
+     * @param hashDistance perceptual hash Hamming distance, 0 (same) to 64
+     * @param diffBounds   bounding box of the differing pixels, or null if none
+     * @param heatmap      share of differing pixels per cell over a dimmed copy of the capture, or null if none
+     */
+    public record Result(boolean pass, String reason, double score, long diffPixels, double diffRatio,
+            int hashDistance, Region diffBounds, ArgbImage heatmap) {
+    }
+
+    public static Result compare(ArgbImage baseline, ArgbImage actual, Tolerance tolerance, int heatmapSize) {
+        var hashDistance = Long.bitCount(perceptualHash(baseline) ^ perceptualHash(actual));
+        if (baseline.width() != actual.width() || baseline.height() != actual.height()) {
+            return new Result(false,
+                    "Size differs: baseline " + baseline.width() + "x" + baseline.height()
+                            + ", actual " + actual.width() + "x" + actual.height(),
+                    0, 0, 1, hashDistance, null, null);
+        }
+
+        var width = actual.width();
+        var height = actual.height();
+        var scale = Math.min(1.0, (double) Math.max(1, heatmapSize) / Math.max(width, height));
+        var heatWidth = Math.max(1, (int) Math.round(width * scale));
+        var heatHeight = Math.max(1, (int) Math.round(height * scale));
+        var cellDiffs = new int[heatWidth * heatHeight];
+        var cellPixels = new int[cellDiffs.length];
+        var cellLuma = new long[cellDiffs.length];
+
+        long diffPixels = 0;
+        int minX = width;
+        int minY = height;
+        int maxX = -1;
+        int maxY = -1;
+        for (int y = 0; y < height; y++) {
+            var cellRow = (int) ((long) y * heatHeight / height) * heatWidth;
+            for (int x = 0; x < width; x++) {
+                var a = baseline.argb()[y * width + x];
+                var b = actual.argb()[y * width + x];
+                var cell = cellRow + (int) ((long) x * heatWidth / width);
+                cellPixels[cell]++;
+                cellLuma[cell] += luma(b);
+                if (a != b && channelDelta(a, b) > tolerance.pixelThreshold()) {
+                    diffPixels++;
+                    cellDiffs[cell]++;
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+
+        var total = (long) width * height;
+        var diffRatio = (double) diffPixels / total;
+        String reason = null;
+        if (diffRatio > tolerance.maxDiffRatio()) {
+            reason = diffPixels + " pixels (" + percent(diffRatio) + ") differ by more than "
+                    + tolerance.pixelThreshold() + ", allowed " + percent(tolerance.maxDiffRatio());
+        } else if (hashDistance > tolerance.maxHashDistance()) {
+            reason = "Perceptual hash distance " + hashDistance + " exceeds " + tolerance.maxHashDistance();
+        }
+
+        Region bounds = null;
+        ArgbImage heatmap = null;
+        if (diffPixels > 0) {
+            bounds = new Region(minX, minY, maxX - minX + 1, maxY - minY + 1);
+            heatmap = heatmap(heatWidth, heatHeight, cellDiffs, cellPixels, cellLuma);
+        }
+        return new Result(reason == null, reason, 1 - diffRatio, diffPixels, diffRatio, hashDistance, bounds,
+                heatmap);
+    }
+
+    /**
+     * 64-bit DCT perceptual hash: the lowest 8x8 frequencies of a 32x32 grayscale thumbnail,
+     * one bit per coefficient above the median of the non-DC coefficients.
+     */
+    static long perceptualHash(ArgbImage image) {
+        var n = HASH_SAMPLE_SIZE;
+        var samples = new double[n * n];
+        for (int cy = 0; cy < n; cy++) {
+            // Box average; images smaller than the thumbnail repeat pixels instead of leaving cells empty.
+            var y0 = (int) ((long) cy * image.height() / n);
+            var y1 = Math.max(y0 + 1, (int) ((long) (cy + 1) * image.height() / n));
+            for (int cx = 0; cx < n; cx++) {
+                var x0 = (int) ((long) cx * image.width() / n);
+                var x1 = Math.max(x0 + 1, (int) ((long) (cx + 1) * image.width() / n));
+                long sum = 0;
+                for (int y = y0; y < y1; y++) {
+                    for (int x = x0; x < x1; x++) {
+                        sum += luma(image.argb()[y * image.width() + x]);
+                    }
+                }
+                samples[cy * n + cx] = (double) sum / ((y1 - y0) * (x1 - x0));
+            }
+        }
+
+        var k = HASH_FREQUENCIES;
+        var rows = new double[n * k];
+        for (int y = 0; y < n; y++) {
+            for (int u = 0; u < k; u++) {
+                var sum = 0.0;
+                for (int x = 0; x < n; x++) {
+                    sum += samples[y * n + x] * DCT_COSINES[x][u];
+                }
+                rows[y * k + u] = sum;
+            }
+        }
+        var coefficients = new double[k * k];
+        for (int v = 0; v < k; v++) {
+            for (int u = 0; u < k; u++) {
+                var sum = 0.0;
+                for (int y = 0; y < n; y++) {
+                    sum += rows[y * k + u] * DCT_COSINES[y][v];
+                }
+                coefficients[v * k + u] = sum;
+            }
+        }
+
+        var ac = Arrays.copyOfRange(coefficients, 1, coefficients.length);
+        Arrays.sort(ac);
+        var median = ac[ac.length / 2];
+        long hash = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] > median) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    private static ArgbImage heatmap(int width, int height, int[] diffs, int[] pixels, long[] luma) {
+        var argb = new int[width * height];
+        for (int i = 0; i < argb.length; i++) {
+            var gray = pixels[i] > 0 ? (int) (luma[i] / pixels[i] * 35 / 100) : 0;
+            if (diffs[i] == 0) {
+                argb[i] = 0xFF000000 | gray << 16 | gray << 8 | gray;
+                continue;
+            }
+            var intensity = 0.25 + 0.75 * Math.sqrt((double) diffs[i] / pixels[i]);
+            var red = (int) Math.round(gray + (255 - gray) * intensity);
+            var other = (int) Math.round(gray * (1 - intensity));
+            argb[i] = 0xFF000000 | red << 16 | other << 8 | other;
+        }
+        return new ArgbImage(width, height, 1.0, argb);
+    }
+
+    private static int channelDelta(int a, int b) {
+        var delta = Math.abs((a >>> 24) - (b >>> 24));
+        delta = Math.max(delta, Math.abs((a >> 16 & 0xFF) - (b >> 16 & 0xFF)));
+        delta = Math.max(delta, Math.abs((a >> 8 & 0xFF) - (b >> 8 & 0xFF)));
+        return Math.max(delta, Math.abs((a & 0xFF) - (b & 0xFF)));
+    }
+
+    private static int luma(int argb) {
+        return ((argb >> 16 & 0xFF) * 299 + (argb >> 8 & 0xFF) * 587 + (argb & 0xFF) * 114) / 1000;
+    }
+
+    private static String percent(double ratio) {
+        return String.format(Locale.ROOT, "%.3f%%", ratio * 100);
+    }
+
+    private static double[][] dctCosines() {
+        var cosines = new double[HASH_SAMPLE_SIZE][HASH_FREQUENCIES];
+        for (int x = 0; x < HASH_SAMPLE_SIZE; x++) {
+            for (int u = 0; u < HASH_FREQUENCIES; u++) {
+                cosines[x][u] = Math.cos((2 * x + 1) * u * Math.PI / (2 * HASH_SAMPLE_SIZE));
+            }
+        }
+        return cosines;
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.mcpjavafx.core.fx;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cooperative cancellation signal for a tool call and the FX-thread work it posts.
+ *
+ * <p>
+ * A token is bound to the calling thread with {@link #bind()}; {@link Fx#exec} carries the
+ * caller's token to the FX thread, so long traversals can call {@link #checkpoint()} without
+ * passing the token around. A child token is cancelled together with its parent but can also
+ * be cancelled on its own, which is how a timed-out {@code Fx.exec} task is abandoned without
+ * affecting the rest of the call.
+ * </p>
+ */
+public final class CancellationToken {
+
+    /** Token that is never cancelled; the default when nothing is bound. */
+    public static final CancellationToken NONE = new CancellationToken();
+
+    private static final ThreadLocal<CancellationToken> CURRENT = ThreadLocal.withInitial(() -> NONE);
+
+    private final CompletableFuture<String> cancelled = new CompletableFuture<>();
+
+    private CancellationToken() {
+    }
+
+    public static CancellationToken create() {
+        return new CancellationToken();
+    }
+
+    /**
+     * Creates a token that is cancelled when this one is.
+     */
+    public CancellationToken child() {
+        var child = new CancellationToken();
+        if (this != NONE) {
+            cancelled.thenAccept(child::cancel);
+        }
+        return child;
+    }
+
+    /**
+     * Cancels this token and its children. Only the first reason is kept.
+     */
+    public void cancel(String reason) {
+        if (this != NONE) {
+            cancelled.complete(reason);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled.isDone();
+    }
+
+    /**
+     * @throws CancellationException if this token is cancelled
+     */
+    public void throwIfCancelled() {
+        if (cancelled.isDone()) {
+            throw new CancellationException(cancelled.join());
+        }
+    }
+
+    /**
+     * Runs {@code action} once this token is cancelled, or immediately if it already is.
+     */
+    public void onCancel(Runnable action) {
+        if (this != NONE) {
+            cancelled.thenRun(action);
+        }
+    }
+
+    /**
+     * Makes this token the calling thread's current token until the returned scope is closed.
+     */
+    public Scope bind() {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> CURRENT.set(previous);
+    }
+
+    /**
+     * The calling thread's current token, or {@link #NONE}.
+     */
+    public static CancellationToken current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Throws if the calling thread's current token is cancelled; called from long traversals.
+     *
+     * @throws CancellationException if the current token is cancelled
+     */
+    public static void checkpoint() {
+        CURRENT.get().throwIfCancelled();
+    }
+
+    /**
+     * Restores the previously bound token when closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -1,14 +1,15 @@
 package com.github.mcpjavafx.core.fx;
 
-import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class for executing code on the JavaFX Application Thread.
@@ -16,6 +17,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public final class Fx {
 
+    /** Slack for the detector to observe its deadline on the next pulse. */
+    private static final int IDLE_GRACE_MS = 250;
+
+    private static final AtomicInteger PENDING = new AtomicInteger();
+    private static final AtomicLong SKIPPED = new AtomicLong();
+
     private Fx() {
         // Utility class
     }
@@ -24,11 +31,19 @@ public final class Fx {
      * Executes a callable on the FX Application Thread and returns the result.
      * If already on FX thread, executes immediately.
      *
+     * <p>
+     * Tasks from concurrent callers are batched and run back to back within a single {@code runLater}.
+     * The task runs under a child of the caller's {@link CancellationToken}. It is cancelled
+     * when the wait times out, and a task still queued when its token is cancelled is skipped
+     * instead of run; one already running stops at its next {@link CancellationToken#checkpoint()}.
+     * </p>
+     *
      * @param action    the callable to execute
      * @param timeoutMs timeout in milliseconds
      * @param <T>       return type
      * @return the result of the callable
      * @throws FxTimeoutException if the operation times out
+     * @throws CancellationException if the caller's token is cancelled
      */
     public static <T> T exec(Callable<T> action, int timeoutMs) throws FxTimeoutException {
         if (Platform.isFxApplicationThread()) {
@@ -39,28 +54,88 @@ public final class Fx {
             }
         }
 
+        var token = CancellationToken.current().child();
+        token.throwIfCancelled();
         var future = new CompletableFuture<T>();
+        token.onCancel(() -> future.completeExceptionally(new CancellationException("FX task cancelled")));
 
-        Platform.runLater(() -> {
-            try {
-                future.complete(action.call());
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        });
+        PENDING.incrementAndGet();
+        try {
+            FxTaskQueue.INSTANCE.execute(() -> {
+                if (token.isCancelled()) {
+                    SKIPPED.incrementAndGet();
+                    PENDING.decrementAndGet();
+                    return;
+                }
+                try (var scope = token.bind()) {
+                    future.complete(action.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    PENDING.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            PENDING.decrementAndGet();
+            throw e;
+        }
 
         try {
             return future.get(timeoutMs, TimeUnit.MILLISECONDS);
         } catch (TimeoutException e) {
+            token.cancel("FX thread operation timed out after " + timeoutMs + "ms");
             throw new FxTimeoutException("FX thread operation timed out after " + timeoutMs + "ms");
         } catch (InterruptedException e) {
+            token.cancel("FX thread operation interrupted");
             Thread.currentThread().interrupt();
             throw new FxTimeoutException("FX thread operation interrupted", e);
         } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException cancelled) {
+                throw cancelled;
+            }
             throw new RuntimeException("Error executing on FX thread", e.getCause());
         }
     }
 
+    /**
+     * Posts a task to the FX Application Thread without waiting for it, through the same
+     * batched queue as {@link #exec} and counted in {@link #pendingTasks()}.
+     *
+     * @param action the task to run
+     * @throws IllegalStateException if the FX toolkit is not running
+     */
+    public static void post(Runnable action) {
+        PENDING.incrementAndGet();
+        try {
+            FxTaskQueue.INSTANCE.execute(() -> {
+                try {
+                    action.run();
+                } finally {
+                    PENDING.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            PENDING.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Number of {@link #exec} and {@link #post} tasks posted to the FX event queue that have not finished yet,
+     * including those whose caller already timed out.
+     */
+    public static int pendingTasks() {
+        return PENDING.get();
+    }
+
+    /**
+     * Number of {@link #exec} tasks dropped from the FX event queue because they were
+     * cancelled before they started.
+     */
+    public static long skippedTasks() {
+        return SKIPPED.get();
+    }
+
     /**
      * Executes a runnable on the FX Application Thread.
      * If already on FX thread, executes immediately.
@@ -77,42 +152,57 @@ public final class Fx {
     }
 
     /**
-     * Waits for the UI to be idle (all pending events processed).
-     * Uses double runLater + one AnimationTimer pulse for reliable idle detection.
+     * Waits for the UI to settle, as determined by {@link QuiescenceDetector}.
      *
      * @param timeoutMs timeout in milliseconds
-     * @throws FxTimeoutException if the operation times out
+     * @throws FxTimeoutException if the UI is still busy when the timeout expires
      */
     public static void awaitUiIdle(int timeoutMs) throws FxTimeoutException {
-        var future = new CompletableFuture<Void>();
+        var options = QuiescenceDetector.Options.DEFAULT.withMaxWaitMs(timeoutMs);
+        var result = await(QuiescenceDetector.start(options), timeoutMs + IDLE_GRACE_MS, "UI idle");
+        if (!result.quiet()) {
+            throw new FxTimeoutException("UI not idle after " + timeoutMs + "ms, busy: " + result.busyPulses());
+        }
+    }
 
-        // First runLater to ensure we're in the queue
-        Platform.runLater(() -> {
-            // Second runLater to process any events from the first
-            Platform.runLater(() -> {
-                // Wait for one animation pulse
-                var done = new AtomicBoolean(false);
-                new AnimationTimer() {
-                    @Override
-                    public void handle(long now) {
-                        if (!done.getAndSet(true)) {
-                            stop();
-                            future.complete(null);
-                        }
-                    }
-                }.start();
-            });
-        });
+    /**
+     * Returns a future that completes on the FX Application Thread once the UI has settled
+     * or {@link QuiescenceDetector#DEFAULT_MAX_WAIT_MS} expired.
+     * Does not block the calling thread, so it can be chained from code already running on the FX thread.
+     */
+    public static CompletableFuture<Void> uiIdle() {
+        return QuiescenceDetector.start(QuiescenceDetector.Options.DEFAULT).thenApply(result -> null);
+    }
 
+    /**
+     * Blocks until the future completes, translating timeouts and interrupts into {@link FxTimeoutException}.
+     * Returns early if the caller's {@link CancellationToken} is cancelled; the future itself is left alone.
+     *
+     * @param future    the future to wait for
+     * @param timeoutMs timeout in milliseconds
+     * @param what      short description used in error messages
+     * @param <T>       result type
+     * @return the future's result
+     * @throws FxTimeoutException if the future does not complete in time
+     * @throws CancellationException if the caller's token is cancelled, or the future was
+     */
+    public static <T> T await(CompletableFuture<T> future, long timeoutMs, String what) throws FxTimeoutException {
+        var token = CancellationToken.current();
+        token.throwIfCancelled();
+        var watched = future.copy();
+        token.onCancel(() -> watched.completeExceptionally(new CancellationException("Wait for " + what + " cancelled")));
         try {
-            future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return watched.get(timeoutMs, TimeUnit.MILLISECONDS);
         } catch (TimeoutException e) {
-            throw new FxTimeoutException("Timed out waiting for UI idle after " + timeoutMs + "ms");
+            throw new FxTimeoutException("Timed out waiting for " + what + " after " + timeoutMs + "ms");
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new FxTimeoutException("Interrupted waiting for UI idle", e);
+            throw new FxTimeoutException("Interrupted waiting for " + what, e);
         } catch (ExecutionException e) {
-            throw new RuntimeException("Error waiting for UI idle", e.getCause());
+            if (e.getCause() instanceof CancellationException cancelled) {
+                throw cancelled;
+            }
+            throw new RuntimeException("Error waiting for " + what, e.getCause());
         }
     }
 
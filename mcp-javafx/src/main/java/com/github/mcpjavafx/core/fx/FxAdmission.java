@@ -0,0 +1,179 @@
+package com.github.mcpjavafx.core.fx;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Admission control for tool calls that post work to the FX thread.
+ *
+ * <p>
+ * Each tool has its own concurrency limit and a bounded number of callers waiting for a
+ * slot. A call is rejected immediately with {@link FxBusyException} when the tool's wait
+ * queue is full or when too many {@link Fx#exec} tasks are already pending on the FX event
+ * queue, and after waiting {@code maxWaitMs} without getting a slot. The exception carries a
+ * retry-after hint derived from the tool's recent execution times.
+ * </p>
+ */
+public final class FxAdmission {
+
+    /** Running average assumed for a tool before its first call completes. */
+    private static final long INITIAL_AVERAGE_MS = 100;
+    private static final long MIN_RETRY_AFTER_MS = 50;
+    private static final long MAX_RETRY_AFTER_MS = 10_000;
+
+    /**
+     * Admission limits; a value {@code <= 0} disables any of the first three.
+     *
+     * @param maxConcurrent concurrent calls per tool
+     * @param maxQueued     callers per tool waiting for a slot
+     * @param maxFxPending  {@link Fx#exec} tasks pending on the FX event queue above which new calls are rejected
+     * @param maxWaitMs     longest time a queued caller waits for a slot
+     */
+    public record Limits(int maxConcurrent, int maxQueued, int maxFxPending, int maxWaitMs) {
+    }
+
+    /**
+     * Per-tool counters.
+     *
+     * @param maxConcurrent effective concurrency limit, or 0 if unlimited
+     * @param running       calls currently executing
+     * @param queued        calls waiting for a slot
+     * @param admitted      calls admitted since start
+     * @param rejected      calls rejected since start
+     * @param averageMs     running average execution time
+     */
+    public record ToolMetrics(int maxConcurrent, int running, int queued, long admitted, long rejected,
+            long averageMs) {
+    }
+
+    private final Limits limits;
+    private final Map<String, Integer> concurrencyLimits;
+    private final IntSupplier fxPending;
+    private final Map<String, ToolState> tools = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedFxPending = new AtomicLong();
+
+    /**
+     * @param limits               admission limits
+     * @param concurrencyLimits concurrency limits for specific tools, used instead of {@code limits.maxConcurrent()};
+     *                          a value {@code <= 0} disables the limit for that tool
+     */
+    public FxAdmission(Limits limits, Map<String, Integer> concurrencyLimits) {
+        this(limits, concurrencyLimits, Fx::pendingTasks);
+    }
+
+    FxAdmission(Limits limits, Map<String, Integer> concurrencyLimits, IntSupplier fxPending) {
+        this.limits = limits;
+        this.concurrencyLimits = Map.copyOf(concurrencyLimits);
+        this.fxPending = fxPending;
+    }
+
+    /**
+     * Runs {@code work} once the tool has a free slot.
+     *
+     * @throws FxBusyException if the call is not admitted
+     */
+    public <T> T run(String tool, Callable<T> work) throws Exception {
+        var state = tools.computeIfAbsent(tool, this::newState);
+        var pending = fxPending.getAsInt();
+        if (limits.maxFxPending() > 0 && pending >= limits.maxFxPending()) {
+            rejectedFxPending.incrementAndGet();
+            throw state.reject("FX event queue has " + pending + " pending tasks");
+        }
+        if (state.permits == null) {
+            return state.execute(work);
+        }
+        if (!state.permits.tryAcquire()) {
+            var waiting = state.queued.incrementAndGet();
+            try {
+                if (limits.maxQueued() > 0 && waiting > limits.maxQueued()) {
+                    throw state.reject(tool + " has " + state.maxConcurrent + " running and "
+                            + limits.maxQueued() + " queued calls");
+                }
+                if (!state.permits.tryAcquire(Math.max(limits.maxWaitMs(), 0), TimeUnit.MILLISECONDS)) {
+                    throw state.reject(tool + " had no free slot within " + limits.maxWaitMs() + "ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FxTimeoutException("Interrupted waiting for admission of " + tool, e);
+            } finally {
+                state.queued.decrementAndGet();
+            }
+        }
+        try {
+            return state.execute(work);
+        } finally {
+            state.permits.release();
+        }
+    }
+
+    /**
+     * Current counters per tool, sorted by tool name.
+     */
+    public Map<String, ToolMetrics> metrics() {
+        var metrics = new TreeMap<String, ToolMetrics>();
+        tools.forEach((tool, state) -> metrics.put(tool, state.metrics()));
+        return metrics;
+    }
+
+    /**
+     * Calls rejected because the FX event queue was over {@link Limits#maxFxPending()}.
+     */
+    public long rejectedFxPending() {
+        return rejectedFxPending.get();
+    }
+
+    private ToolState newState(String tool) {
+        return new ToolState(concurrencyLimits.getOrDefault(tool, limits.maxConcurrent()));
+    }
+
+    private static final class ToolState {
+        final int maxConcurrent;
+        final Semaphore permits;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicLong admitted = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        volatile long averageMs = INITIAL_AVERAGE_MS;
+
+        ToolState(int maxConcurrent) {
+            this.maxConcurrent = Math.max(maxConcurrent, 0);
+            this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+        }
+
+        <T> T execute(Callable<T> work) throws Exception {
+            // A caller that was cancelled while queued gives its slot up unused.
+            CancellationToken.checkpoint();
+            admitted.incrementAndGet();
+            running.incrementAndGet();
+            var start = System.nanoTime();
+            try {
+                return work.call();
+            } finally {
+                running.decrementAndGet();
+                var elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                // Exponential moving average; races only lose a sample.
+                averageMs = (averageMs * 7 + elapsedMs) / 8;
+            }
+        }
+
+        FxBusyException reject(String reason) {
+            rejected.incrementAndGet();
+            var waves = maxConcurrent > 0 ? 1 + (queued.get() + running.get()) / maxConcurrent : 1;
+            var retryAfterMs = Math.clamp(averageMs * waves, MIN_RETRY_AFTER_MS, MAX_RETRY_AFTER_MS);
+            return new FxBusyException("Server busy: " + reason + "; retry after " + retryAfterMs + "ms",
+                    retryAfterMs);
+        }
+
+        ToolMetrics metrics() {
+            return new ToolMetrics(maxConcurrent, running.get(), queued.get(), admitted.get(), rejected.get(),
+                    averageMs);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.mcpjavafx.core.fx;
+
+/**
+ * Exception thrown when a UI operation is rejected because the FX thread is saturated.
+ */
+public class FxBusyException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public FxBusyException(String message, long retryAfterMs) {
+        super(message);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    /**
+     * Suggested delay before retrying, in milliseconds.
+     */
+    public long retryAfterMs() {
+        return retryAfterMs;
+    }
+}
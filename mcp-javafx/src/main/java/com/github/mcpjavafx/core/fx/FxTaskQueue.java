@@ -0,0 +1,85 @@
+package com.github.mcpjavafx.core.fx;
+
+import javafx.application.Platform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Batches library tasks for the FX thread into as few {@code Platform.runLater} calls as possible.
+ *
+ * <p>
+ * Producers append to a lock-free queue; only the producer that finds no drain scheduled posts
+ * one. The drain runs queued tasks back to back until the queue is empty or its time budget is
+ * used up, in which case the rest go to a fresh {@code runLater} so rendering pulses can run in
+ * between.
+ * </p>
+ */
+final class FxTaskQueue {
+
+    private static final Logger LOG = Logger.getLogger(FxTaskQueue.class.getName());
+
+    /** FX-thread time one drain may use before yielding; at least one task always runs. */
+    static final long DRAIN_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+
+    static final FxTaskQueue INSTANCE = new FxTaskQueue(Platform::runLater, System::nanoTime);
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Consumer<Runnable> post;
+    private final LongSupplier nanoClock;
+
+    FxTaskQueue(Consumer<Runnable> post, LongSupplier nanoClock) {
+        this.post = post;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Queues a task for the FX thread.
+     *
+     * @throws IllegalStateException if the FX toolkit is not running
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                post.accept(this::drain);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                tasks.remove(task);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        var deadline = nanoClock.getAsLong() + DRAIN_BUDGET_NANOS;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                LOG.log(Level.WARNING, "FX task failed", e);
+            }
+            if (nanoClock.getAsLong() - deadline >= 0) {
+                break;
+            }
+        }
+        scheduled.set(false);
+        // Tasks added after the last poll, or left over by the budget, need another drain.
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                post.accept(this::drain);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                LOG.log(Level.FINE, "FX toolkit gone, dropping queued tasks", e);
+            }
+        }
+    }
+}
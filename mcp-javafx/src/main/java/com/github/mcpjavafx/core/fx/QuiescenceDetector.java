@@ -0,0 +1,219 @@
+package com.github.mcpjavafx.core.fx;
+
+import com.github.mcpjavafx.api.UiActivity;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.text.Text;
+import javafx.stage.Window;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Detects when the UI has settled.
+ *
+ * <p>
+ * On every pulse the detector samples a set of busy signals. It completes once none of them
+ * fired for {@link Options#stablePulses()} consecutive pulses, or when {@link Options#maxWaitMs()}
+ * expires. The result reports how many pulses each signal kept the UI busy.
+ * </p>
+ */
+public final class QuiescenceDetector {
+
+    public static final int DEFAULT_STABLE_PULSES = 2;
+    public static final long DEFAULT_MAX_WAIT_MS = 3000;
+
+    /**
+     * Reasons the UI was considered busy on a pulse.
+     */
+    public enum Signal {
+        /** A scene root still needs a layout pass. */
+        LAYOUT,
+        /** Visible geometry, transforms, opacity or text changed since the previous pulse. */
+        SCENE_CHANGES,
+        /** A probe task posted on the previous pulse has not run yet. */
+        EVENT_QUEUE,
+        /** An animation registered with {@link UiActivity} is running. */
+        ANIMATIONS,
+        /** A worker registered with {@link UiActivity} is scheduled or running. */
+        WORKERS
+    }
+
+    /**
+     * @param stablePulses consecutive quiet pulses required
+     * @param maxWaitMs    give up after this long and report the UI as busy
+     */
+    public record Options(int stablePulses, long maxWaitMs) {
+        public static final Options DEFAULT = new Options(DEFAULT_STABLE_PULSES, DEFAULT_MAX_WAIT_MS);
+
+        public Options {
+            if (stablePulses <= 0) {
+                throw new IllegalArgumentException("stablePulses must be positive");
+            }
+            if (maxWaitMs < 0) {
+                throw new IllegalArgumentException("maxWaitMs must not be negative");
+            }
+        }
+
+        public Options withMaxWaitMs(long maxWaitMs) {
+            return new Options(stablePulses, maxWaitMs);
+        }
+    }
+
+    /**
+     * Outcome of an idle wait.
+     *
+     * @param quiet      whether the UI settled before maxWaitMs
+     * @param elapsedMs  time spent waiting
+     * @param pulses     pulses observed
+     * @param busyPulses per signal, the number of pulses it was busy
+     */
+    public record Result(boolean quiet, double elapsedMs, int pulses, Map<Signal, Integer> busyPulses) {
+    }
+
+    private QuiescenceDetector() {
+    }
+
+    /**
+     * Starts detection. May be called from any thread; sampling happens on the FX Application Thread.
+     *
+     * @return future completed on the FX thread; never completes exceptionally
+     */
+    public static CompletableFuture<Result> start(Options options) {
+        var future = new CompletableFuture<Result>();
+        Fx.post(() -> new Sampler(options, future).start());
+        return future;
+    }
+
+    private static final class Sampler extends AnimationTimer {
+        private final Options options;
+        private final CompletableFuture<Result> future;
+        private final Map<Signal, Integer> busyPulses = new EnumMap<>(Signal.class);
+        private final long startNanos = System.nanoTime();
+        private long previousFingerprint;
+        private boolean probePending;
+        private int pulses;
+        private int stable;
+
+        Sampler(Options options, CompletableFuture<Result> future) {
+            this.options = options;
+            this.future = future;
+        }
+
+        @Override
+        public void handle(long now) {
+            var fingerprint = fingerprint();
+            var first = pulses++ == 0;
+            var busy = false;
+
+            if (first) {
+                // Baseline only: nothing to compare against yet.
+                busy = true;
+            } else {
+                busy |= mark(Signal.LAYOUT, needsLayout());
+                busy |= mark(Signal.SCENE_CHANGES, fingerprint != previousFingerprint);
+                busy |= mark(Signal.EVENT_QUEUE, probePending);
+                busy |= mark(Signal.ANIMATIONS, UiActivity.runningAnimations() > 0);
+                busy |= mark(Signal.WORKERS, UiActivity.activeWorkers() > 0);
+            }
+            previousFingerprint = fingerprint;
+
+            if (!probePending) {
+                probePending = true;
+                Fx.post(() -> probePending = false);
+            }
+
+            stable = busy ? 0 : stable + 1;
+            var elapsedNanos = System.nanoTime() - startNanos;
+            if (stable >= options.stablePulses()) {
+                finish(true, elapsedNanos);
+            } else if (elapsedNanos >= options.maxWaitMs() * 1_000_000L) {
+                finish(false, elapsedNanos);
+            }
+        }
+
+        private boolean mark(Signal signal, boolean busy) {
+            if (busy) {
+                busyPulses.merge(signal, 1, Integer::sum);
+            }
+            return busy;
+        }
+
+        private void finish(boolean quiet, long elapsedNanos) {
+            stop();
+            var elapsedMs = Math.round(elapsedNanos / 1_000.0) / 1_000.0;
+            future.complete(new Result(quiet, elapsedMs, pulses, Collections.unmodifiableMap(busyPulses)));
+        }
+    }
+
+    private static boolean needsLayout() {
+        for (var window : Window.getWindows()) {
+            var scene = window.getScene();
+            if (window.isShowing() && scene != null && scene.getRoot() != null && scene.getRoot().isNeedsLayout()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long fingerprint() {
+        long hash = 1;
+        for (var window : Window.getWindows()) {
+            var scene = window.getScene();
+            if (window.isShowing() && scene != null && scene.getRoot() != null) {
+                hash = 31 * hash + Double.hashCode(window.getWidth());
+                hash = 31 * hash + Double.hashCode(window.getHeight());
+                hash = fingerprint(scene.getRoot(), hash);
+            }
+        }
+        return hash;
+    }
+
+    private static long fingerprint(Node node, long hash) {
+        if (!node.isVisible()) {
+            return 31 * hash;
+        }
+
+        hash = 31 * hash + System.identityHashCode(node);
+        hash = 31 * hash + Double.hashCode(node.getLayoutX());
+        hash = 31 * hash + Double.hashCode(node.getLayoutY());
+        hash = 31 * hash + Double.hashCode(node.getTranslateX());
+        hash = 31 * hash + Double.hashCode(node.getTranslateY());
+        hash = 31 * hash + Double.hashCode(node.getScaleX());
+        hash = 31 * hash + Double.hashCode(node.getScaleY());
+        hash = 31 * hash + Double.hashCode(node.getRotate());
+        hash = 31 * hash + Double.hashCode(node.getOpacity());
+
+        var bounds = node.getLayoutBounds();
+        hash = 31 * hash + Double.hashCode(bounds.getWidth());
+        hash = 31 * hash + Double.hashCode(bounds.getHeight());
+
+        var text = textOf(node);
+        if (text != null) {
+            hash = 31 * hash + text.hashCode();
+        }
+
+        if (node instanceof Parent parent) {
+            for (var child : parent.getChildrenUnmodifiable()) {
+                hash = fingerprint(child, hash);
+            }
+        }
+        return hash;
+    }
+
+    private static String textOf(Node node) {
+        if (node instanceof Labeled labeled) {
+            return labeled.getText();
+        } else if (node instanceof TextInputControl input) {
+            return input.getText();
+        } else if (node instanceof Text text) {
+            return text.getText();
+        }
+        return null;
+    }
+}
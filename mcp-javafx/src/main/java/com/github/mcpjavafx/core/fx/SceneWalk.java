@@ -0,0 +1,182 @@
+package com.github.mcpjavafx.core.fx;
+
+import com.github.mcpjavafx.core.model.TraversalCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline and resume position of one depth-first scene traversal on the FX thread.
+ *
+ * <p>
+ * Traversals call {@link #skip(int)} and {@link #stopBefore(int)} for every child before
+ * descending into it with {@link #push(int)}/{@link #pop()}. Children that lie before the
+ * resume cursor are skipped; once the deadline has passed the traversal stops and
+ * {@link #stoppedAt()} names the first node that was not visited, which the client passes
+ * back to continue. At least one node is always visited, so resuming makes progress.
+ * </p>
+ *
+ * <p>
+ * The deadline is set when the walk is created, before the work is queued, so time spent
+ * waiting for the FX thread counts against it. A margin is kept free for returning the
+ * result before the caller's {@code timeoutMs} expires.
+ * </p>
+ */
+public final class SceneWalk {
+
+    private static final long MAX_MARGIN_MS = 500;
+
+    private final long timeoutMs;
+    private final long deadlineNanos;
+    private final TraversalCursor resumeFrom;
+
+    private int stageIndex = -1;
+    private int[] path = new int[16];
+    private int depth;
+    /** Length of the prefix of {@link #path} that equals the resume cursor's path. */
+    private int spine;
+    private boolean onResumeStage;
+    /** Nodes visited at or after the resume cursor; ancestors of the cursor do not count. */
+    private long visited;
+    private TraversalCursor stoppedAt;
+
+    SceneWalk(long timeoutMs, long deadlineNanos, TraversalCursor resumeFrom) {
+        this.timeoutMs = timeoutMs;
+        this.deadlineNanos = deadlineNanos;
+        this.resumeFrom = resumeFrom;
+    }
+
+    /**
+     * A walk without deadline or cursor.
+     */
+    public static SceneWalk unbounded() {
+        return new SceneWalk(0, 0, null);
+    }
+
+    /**
+     * A walk that stops early enough to return within {@code timeoutMs}.
+     *
+     * @param timeoutMs  time the caller waits for the result
+     * @param resumeFrom position to continue from, or null to start at the root
+     */
+    public static SceneWalk within(long timeoutMs, TraversalCursor resumeFrom) {
+        var margin = Math.min(timeoutMs / 5, MAX_MARGIN_MS);
+        return new SceneWalk(timeoutMs, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs - margin),
+                resumeFrom);
+    }
+
+    /**
+     * Time the caller waits for the traversal, or 0 if unbounded.
+     */
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Stage the traversal resumes in, or -1 when starting from the beginning.
+     */
+    public int resumeStage() {
+        return resumeFrom != null ? resumeFrom.stageIndex() : -1;
+    }
+
+    /**
+     * Whether a stage is visited at all; stages before the resume cursor's stage are not.
+     */
+    public boolean includesStage(int stageIndex) {
+        return resumeFrom == null || stageIndex >= resumeFrom.stageIndex();
+    }
+
+    /**
+     * Checks the deadline before a stage's root; on expiry records the root as the stop position.
+     */
+    public boolean stopBeforeStage(int stageIndex) {
+        if (stoppedAt == null && visited > 0 && expired()) {
+            stoppedAt = new TraversalCursor(stageIndex, List.of());
+        }
+        return stoppedAt != null;
+    }
+
+    /**
+     * Starts visiting a stage's scene root.
+     */
+    public void beginStage(int stageIndex) {
+        this.stageIndex = stageIndex;
+        depth = 0;
+        spine = 0;
+        onResumeStage = resumeFrom != null && resumeFrom.stageIndex() == stageIndex;
+        if (resumed()) {
+            visited++;
+        }
+    }
+
+    /**
+     * Whether the child at {@code index} of the current node lies before the resume cursor.
+     */
+    public boolean skip(int index) {
+        return onSpine() && depth < resumeFrom.path().size() && index < resumeFrom.path().get(depth);
+    }
+
+    /**
+     * Whether the current node is at or after the resume cursor; ancestors of the cursor
+     * were already visited by the traversal that produced it.
+     */
+    public boolean resumed() {
+        return !onSpine() || depth >= resumeFrom.path().size();
+    }
+
+    /**
+     * Checks the deadline before the child at {@code index}; on expiry records that child as
+     * the stop position and returns true, as it does for every call after that.
+     */
+    public boolean stopBefore(int index) {
+        if (stoppedAt == null && visited > 0 && expired()) {
+            var stopPath = new ArrayList<Integer>(depth + 1);
+            for (int i = 0; i < depth; i++) {
+                stopPath.add(path[i]);
+            }
+            stopPath.add(index);
+            stoppedAt = new TraversalCursor(stageIndex, stopPath);
+        }
+        return stoppedAt != null;
+    }
+
+    public void push(int index) {
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        if (onSpine() && depth < resumeFrom.path().size() && index == resumeFrom.path().get(depth)) {
+            spine++;
+        }
+        path[depth++] = index;
+        if (resumed()) {
+            visited++;
+        }
+    }
+
+    public void pop() {
+        depth--;
+        spine = Math.min(spine, depth);
+    }
+
+    public boolean stopped() {
+        return stoppedAt != null;
+    }
+
+    /**
+     * The first node that was not visited because the deadline passed, or null if the
+     * traversal completed.
+     */
+    public TraversalCursor stoppedAt() {
+        return stoppedAt;
+    }
+
+    private boolean onSpine() {
+        return onResumeStage && spine == depth;
+    }
+
+    private boolean expired() {
+        return timeoutMs > 0 && System.nanoTime() - deadlineNanos >= 0;
+    }
+}
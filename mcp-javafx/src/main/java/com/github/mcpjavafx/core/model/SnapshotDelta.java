@@ -0,0 +1,123 @@
+package com.github.mcpjavafx.core.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Difference between two flat captures of the same scope, keyed by node uid.
+ *
+ * @param added     nodes present only after (without children)
+ * @param removed   refs of nodes present only before
+ * @param changed   nodes present in both whose captured state differs
+ * @param truncated whether entries were dropped because the limit was reached
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SnapshotDelta(
+        List<UiNode> added,
+        List<Removed> removed,
+        List<Change> changed,
+        boolean truncated) {
+
+    /**
+     * A node that disappeared.
+     */
+    public record Removed(NodeRef ref, String type) {
+    }
+
+    /**
+     * A node whose state changed.
+     *
+     * @param node   state after the change (without children)
+     * @param fields names of the UiNode components that differ, e.g. "text", "disabled"
+     */
+    public record Change(UiNode node, List<String> fields) {
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    /**
+     * Computes the delta between two flat captures.
+     *
+     * @param before nodes before, keyed by uid
+     * @param after  nodes after, keyed by uid
+     * @param limit  maximum number of entries across all three lists
+     */
+    public static SnapshotDelta between(Map<String, UiNode> before, Map<String, UiNode> after, int limit) {
+        Objects.requireNonNull(before, "before");
+        Objects.requireNonNull(after, "after");
+
+        var added = new ArrayList<UiNode>();
+        var removed = new ArrayList<Removed>();
+        var changed = new ArrayList<Change>();
+        var remaining = limit;
+        var truncated = false;
+
+        for (var entry : after.entrySet()) {
+            var previous = before.get(entry.getKey());
+            var current = entry.getValue();
+            if (previous == null) {
+                if (remaining-- <= 0) {
+                    truncated = true;
+                    break;
+                }
+                added.add(current);
+            } else {
+                var fields = changedFields(previous, current);
+                if (!fields.isEmpty()) {
+                    if (remaining-- <= 0) {
+                        truncated = true;
+                        break;
+                    }
+                    changed.add(new Change(current, fields));
+                }
+            }
+        }
+
+        if (!truncated) {
+            for (var entry : before.entrySet()) {
+                if (!after.containsKey(entry.getKey())) {
+                    if (remaining-- <= 0) {
+                        truncated = true;
+                        break;
+                    }
+                    var node = entry.getValue();
+                    removed.add(new Removed(node.ref(), node.type()));
+                }
+            }
+        }
+
+        return new SnapshotDelta(added, removed, changed, truncated);
+    }
+
+    private static List<String> changedFields(UiNode a, UiNode b) {
+        var fields = new ArrayList<String>();
+        compare(fields, "path", a.ref().path(), b.ref().path());
+        compare(fields, "type", a.type(), b.type());
+        compare(fields, "id", a.id(), b.id());
+        compare(fields, "styleClass", a.styleClass(), b.styleClass());
+        compare(fields, "pseudoClass", a.pseudoClass(), b.pseudoClass());
+        compare(fields, "visible", a.visible(), b.visible());
+        compare(fields, "managed", a.managed(), b.managed());
+        compare(fields, "disabled", a.disabled(), b.disabled());
+        compare(fields, "opacity", a.opacity(), b.opacity());
+        compare(fields, "layout", a.layout(), b.layout());
+        compare(fields, "text", a.text(), b.text());
+        compare(fields, "value", a.value(), b.value());
+        compare(fields, "accessibility", a.accessibility(), b.accessibility());
+        compare(fields, "fx", a.fx(), b.fx());
+        compare(fields, "virtualization", a.virtualization(), b.virtualization());
+        return fields;
+    }
+
+    private static void compare(List<String> fields, String name, Object a, Object b) {
+        if (!Objects.equals(a, b)) {
+            fields.add(name);
+        }
+    }
+}
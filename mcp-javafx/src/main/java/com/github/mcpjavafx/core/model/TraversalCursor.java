@@ -0,0 +1,68 @@
+package com.github.mcpjavafx.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Position in a depth-first scene traversal, used to resume a traversal that stopped early.
+ *
+ * <p>
+ * Written as {@code "<stageIndex>:<i>.<j>..."}: the child indices from the scene root to the
+ * first node that was not visited ({@code "0:"} is the root of stage 0). Indices refer to
+ * {@code getChildrenUnmodifiable()}, so a cursor only stays accurate while the scene graph
+ * above that node does not change.
+ * </p>
+ *
+ * @param stageIndex stage the position is in
+ * @param path       child indices from the scene root
+ */
+public record TraversalCursor(int stageIndex, List<Integer> path) {
+
+    public TraversalCursor {
+        if (stageIndex < 0) {
+            throw new IllegalArgumentException("stageIndex must not be negative");
+        }
+        path = List.copyOf(path);
+    }
+
+    /**
+     * Parses a cursor written by {@link #toString()}.
+     *
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static TraversalCursor parse(String value) {
+        var colon = value.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            var stageIndex = Integer.parseInt(value.substring(0, colon));
+            var path = new ArrayList<Integer>();
+            var rest = value.substring(colon + 1);
+            if (!rest.isEmpty()) {
+                for (var part : rest.split("\\.", -1)) {
+                    var index = Integer.parseInt(part);
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Invalid cursor: " + value);
+                    }
+                    path.add(index);
+                }
+            }
+            return new TraversalCursor(stageIndex, path);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        var text = new StringBuilder().append(stageIndex).append(':');
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) {
+                text.append('.');
+            }
+            text.append(path.get(i));
+        }
+        return text.toString();
+    }
+}
@@ -7,6 +7,11 @@ import java.util.List;
 
 /**
  * Representation of a single UI node in the scene graph.
+ *
+ * <p>
+ * {@code collapsedChildren} is set on nodes whose children a snapshot budget left out; the
+ * node's {@code ref} can be used to fetch them.
+ * </p>
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record UiNode(
@@ -26,10 +31,19 @@ public record UiNode(
         AccessibilityInfo accessibility,
         FxProperties fx,
         VirtualizationInfo virtualization,
-        List<UiNode> children) {
+        List<UiNode> children,
+        Integer collapsedChildren) {
 
     private static final int SUMMARY_MAX_LENGTH = 20;
 
+    public UiNode(NodeRef ref, String type, String module, String id, List<String> styleClass,
+            List<String> pseudoClass, boolean visible, boolean managed, boolean disabled, double opacity,
+            LayoutInfo layout, TextInfo text, ValueInfo value, AccessibilityInfo accessibility, FxProperties fx,
+            VirtualizationInfo virtualization, List<UiNode> children) {
+        this(ref, type, module, id, styleClass, pseudoClass, visible, managed, disabled, opacity, layout, text,
+                value, accessibility, fx, virtualization, children, null);
+    }
+
     /**
      * Creates a short summary for query results.
      * Examples: "Button[text=OK]", "TextField[prompt=Enter name]"
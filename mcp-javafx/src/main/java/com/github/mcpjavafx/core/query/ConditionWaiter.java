@@ -0,0 +1,209 @@
+package com.github.mcpjavafx.core.query;
+
+import com.github.mcpjavafx.core.fx.CancellationToken;
+import com.github.mcpjavafx.core.fx.Fx;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for a {@link WaitCondition} without client-side polling.
+ *
+ * <p>
+ * The condition is evaluated once immediately and then after the layout pass of every
+ * pulse, plus whenever windows are opened or closed. Pulses only run when something in a
+ * scene changed, so an idle UI costs nothing while waiting.
+ * </p>
+ *
+ * <p>
+ * Timeouts are capped at the configured maximum. A wait whose caller's
+ * {@link CancellationToken} is cancelled ends right away and detaches its listeners.
+ * </p>
+ */
+public class ConditionWaiter {
+
+    /** Maximum matches inspected and reported for text and enabled conditions. */
+    private static final int MAX_MATCHES = 50;
+
+    private final NodeQueryService queryService;
+    private final int fxTimeoutMs;
+    private final long maxWaitMs;
+
+    public ConditionWaiter(NodeQueryService queryService, int fxTimeoutMs, long maxWaitMs) {
+        this.queryService = Objects.requireNonNull(queryService, "queryService");
+        this.fxTimeoutMs = fxTimeoutMs;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /**
+     * Outcome of a wait.
+     *
+     * @param satisfied   whether the condition held before the timeout
+     * @param condition   the condition kind that was waited for
+     * @param elapsedMs   time until the condition held or the timeout expired
+     * @param evaluations number of times the condition was evaluated
+     * @param matches     nodes satisfying the condition at the last evaluation
+     */
+    public record WaitResult(
+            boolean satisfied,
+            WaitCondition.Kind condition,
+            double elapsedMs,
+            int evaluations,
+            List<NodeQueryService.QueryMatch> matches) {
+    }
+
+    /**
+     * Blocks the caller (not the FX thread) until the condition holds or the timeout expires.
+     *
+     * @throws CancellationException if the caller's token is cancelled
+     */
+    public WaitResult await(WaitCondition condition, long timeoutMs) {
+        if (Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("waitFor cannot be awaited on the FX Application Thread; use start");
+        }
+        var cappedMs = cap(timeoutMs);
+        var future = Fx.exec(() -> start(condition, cappedMs), fxTimeoutMs);
+        return Fx.await(future, cappedMs + fxTimeoutMs, "condition");
+    }
+
+    /**
+     * Starts waiting. Must be called on the FX Application Thread.
+     *
+     * @return future completed on the FX thread; never completes exceptionally on timeout,
+     *         completes with {@link CancellationException} if the current token is cancelled
+     */
+    public CompletableFuture<WaitResult> start(WaitCondition condition, long timeoutMs) {
+        var wait = new PendingWait(condition);
+        wait.begin(cap(timeoutMs));
+        if (!wait.future.isDone()) {
+            CancellationToken.current().onCancel(() -> Fx.post(wait::cancel));
+        }
+        return wait.future;
+    }
+
+    /**
+     * The timeout actually used for a requested one.
+     */
+    public long cap(long timeoutMs) {
+        return Math.min(Math.max(0, timeoutMs), maxWaitMs);
+    }
+
+    private final class PendingWait {
+        private final WaitCondition condition;
+        private final CompletableFuture<WaitResult> future = new CompletableFuture<>();
+        private final Set<Scene> scenes = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Runnable pulseListener = this::evaluate;
+        private final ListChangeListener<Window> windowsListener = change -> evaluate();
+        private final long startNanos = System.nanoTime();
+        private int evaluations;
+
+        PendingWait(WaitCondition condition) {
+            this.condition = condition;
+        }
+
+        void begin(long timeoutMs) {
+            if (evaluate()) {
+                return;
+            }
+            Window.getWindows().addListener(windowsListener);
+            CompletableFuture.delayedExecutor(Math.max(0, timeoutMs), TimeUnit.MILLISECONDS)
+                    .execute(() -> Fx.post(this::timeout));
+        }
+
+        private boolean evaluate() {
+            if (future.isDone()) {
+                return true;
+            }
+            evaluations++;
+            var matches = matching();
+            if (matches != null) {
+                finish(true, matches);
+                return true;
+            }
+            attachToScenes();
+            return false;
+        }
+
+        private void cancel() {
+            if (!future.isDone()) {
+                detach();
+                future.completeExceptionally(new CancellationException("Wait cancelled"));
+            }
+        }
+
+        private void timeout() {
+            if (!future.isDone()) {
+                var matches = matching();
+                finish(matches != null, matches != null ? matches : List.of());
+            }
+        }
+
+        /**
+         * Returns the nodes satisfying the condition, or null if it does not hold.
+         */
+        private List<NodeQueryService.QueryMatch> matching() {
+            var selector = condition.selector();
+            var stageIndex = condition.stageIndex();
+            List<Node> nodes = switch (condition.kind()) {
+                case PRESENT -> queryService.findNodes(stageIndex, selector, 1);
+                case ABSENT -> queryService.findNodes(stageIndex, selector, 1).isEmpty() ? List.of() : null;
+                case TEXT_EQUALS -> queryService.findNodes(stageIndex, selector, MAX_MATCHES).stream()
+                        .filter(node -> condition.text().equals(queryService.extractText(node)))
+                        .toList();
+                case ENABLED -> queryService.findNodes(stageIndex, selector, MAX_MATCHES).stream()
+                        .filter(node -> !node.isDisabled())
+                        .toList();
+                case COUNT_AT_LEAST -> {
+                    var found = queryService.findNodes(stageIndex, selector, condition.count());
+                    yield found.size() >= condition.count() ? found : List.of();
+                }
+            };
+            if (nodes == null || (nodes.isEmpty() && condition.kind() != WaitCondition.Kind.ABSENT)) {
+                return null;
+            }
+            var result = new ArrayList<NodeQueryService.QueryMatch>(nodes.size());
+            for (var node : nodes) {
+                result.add(queryService.toQueryMatch(node));
+            }
+            return result;
+        }
+
+        private void attachToScenes() {
+            for (var window : Window.getWindows()) {
+                var scene = window.getScene();
+                if (scene != null && scenes.add(scene)) {
+                    scene.addPostLayoutPulseListener(pulseListener);
+                }
+            }
+        }
+
+        private void finish(boolean satisfied, List<NodeQueryService.QueryMatch> matches) {
+            detach();
+            var elapsedMs = Math.round((System.nanoTime() - startNanos) / 1_000.0) / 1_000.0;
+            future.complete(new WaitResult(satisfied, condition.kind(), elapsedMs, evaluations, matches));
+        }
+
+        private void detach() {
+            // Listeners may be firing right now; detach after the current pulse or change.
+            var attached = List.copyOf(scenes);
+            Fx.post(() -> {
+                for (var scene : attached) {
+                    scene.removePostLayoutPulseListener(pulseListener);
+                }
+                Window.getWindows().removeListener(windowsListener);
+            });
+        }
+    }
+}
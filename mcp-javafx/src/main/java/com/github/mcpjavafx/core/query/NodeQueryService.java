@@ -1,12 +1,15 @@
 package com.github.mcpjavafx.core.query;
 
+import com.github.mcpjavafx.core.fx.CancellationToken;
 import com.github.mcpjavafx.core.fx.Fx;
 import com.github.mcpjavafx.core.fx.NodeRefService;
+import com.github.mcpjavafx.core.fx.SceneWalk;
 import com.github.mcpjavafx.core.model.Bounds;
 import com.github.mcpjavafx.core.model.LayoutInfo;
 import com.github.mcpjavafx.core.model.NodeRef;
 import com.github.mcpjavafx.util.StringUtils;
 
+import javafx.css.Selector;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -53,25 +56,21 @@ public class NodeQueryService {
      * @return matching nodes
      */
     public List<QueryMatch> queryCss(int stageIndex, String cssSelector, int limit) {
-        return Fx.exec(() -> queryCssOnFxThread(stageIndex, cssSelector, limit), fxTimeoutMs);
+        return queryCss(stageIndex, cssSelector, limit, SceneWalk.unbounded());
     }
 
-    private List<QueryMatch> queryCssOnFxThread(int stageIndex, String cssSelector, int limit) {
-        var scene = getScene(stageIndex);
-        if (scene == null) {
-            return List.of();
-        }
-
-        var root = scene.getRoot();
-        if (root == null) {
-            return List.of();
-        }
-
-        var nodes = root.lookupAll(cssSelector);
-        return nodes.stream()
-                .limit(limit)
-                .map(this::toQueryMatch)
-                .toList();
+    /**
+     * Query by CSS selector within the walk's deadline, starting at its cursor.
+     */
+    public List<QueryMatch> queryCss(int stageIndex, String cssSelector, int limit, SceneWalk walk) {
+        return Fx.exec(() -> {
+            // Same test Node.lookupAll applies, but walked here so the deadline and limit can stop it.
+            var selector = Selector.createSelector(cssSelector);
+            if (selector == null) {
+                return List.<QueryMatch>of();
+            }
+            return queryOnFxThread(stageIndex, selector::applies, limit, walk);
+        }, timeoutMs(walk));
     }
 
     /**
@@ -84,21 +83,75 @@ public class NodeQueryService {
      * @return matching nodes
      */
     public List<QueryMatch> queryText(int stageIndex, String text, String matchMode, int limit) {
-        return Fx.exec(() -> queryTextOnFxThread(stageIndex, text, matchMode, limit), fxTimeoutMs);
+        return queryText(stageIndex, text, matchMode, limit, SceneWalk.unbounded());
     }
 
-    private List<QueryMatch> queryTextOnFxThread(int stageIndex, String text, String matchMode, int limit) {
+    /**
+     * Query by text content within the walk's deadline, starting at its cursor.
+     */
+    public List<QueryMatch> queryText(int stageIndex, String text, String matchMode, int limit, SceneWalk walk) {
+        return Fx.exec(() -> queryOnFxThread(stageIndex, textFilter(text, matchMode), limit, walk),
+                timeoutMs(walk));
+    }
+
+    /**
+     * Walks one stage's scene graph in order. A resuming walk searches the cursor's stage.
+     */
+    private List<QueryMatch> queryOnFxThread(int stageIndex, Predicate<Node> filter, int limit, SceneWalk walk) {
+        var stages = nodeRefService.getSortedStages();
+        var index = walk.resumeStage() >= 0 ? walk.resumeStage() : resolveStageIndex(stages, stageIndex);
+        if (index < 0 || index >= stages.size()) {
+            return List.of();
+        }
+        var scene = stages.get(index).getScene();
+        if (scene == null || scene.getRoot() == null) {
+            return List.of();
+        }
+
+        walk.beginStage(index);
+        var results = new ArrayList<Node>();
+        collectMatches(scene.getRoot(), filter, results, limit, walk);
+        return results.stream().map(this::toQueryMatch).toList();
+    }
+
+    private int timeoutMs(SceneWalk walk) {
+        return walk.timeoutMs() > 0 ? (int) Math.min(walk.timeoutMs(), fxTimeoutMs) : fxTimeoutMs;
+    }
+
+    /**
+     * Finds nodes matching a selector. Must be called on the FX Application Thread.
+     *
+     * @param stageIndex stage to search in (-1 for focused)
+     * @param selector   node selector
+     * @param limit      maximum results
+     * @return matching nodes in scene-graph order
+     */
+    List<Node> findNodes(int stageIndex, NodeSelector selector, int limit) {
         var scene = getScene(stageIndex);
-        if (scene == null) {
+        if (scene == null || scene.getRoot() == null) {
             return List.of();
         }
 
-        Predicate<String> matcher = createTextMatcher(text, matchMode);
-        var results = new ArrayList<QueryMatch>();
-        collectTextMatches(scene.getRoot(), matcher, results, limit);
+        if (selector.css() != null) {
+            return scene.getRoot().lookupAll(selector.css()).stream().limit(limit).toList();
+        }
+
+        var filter = selector.text() != null
+                ? textFilter(selector.text(), selector.match())
+                : (Predicate<Node>) node -> matchesPredicate(node, selector.predicate());
+        var results = new ArrayList<Node>();
+        collectMatches(scene.getRoot(), filter, results, limit);
         return results;
     }
 
+    private Predicate<Node> textFilter(String text, String matchMode) {
+        Predicate<String> matcher = createTextMatcher(text, matchMode);
+        return node -> {
+            var nodeText = extractText(node);
+            return nodeText != null && matcher.test(nodeText.trim());
+        };
+    }
+
     private Predicate<String> createTextMatcher(String text, String matchMode) {
         if (text == null || text.isEmpty()) {
             return s -> true;
@@ -114,27 +167,38 @@ public class NodeQueryService {
         };
     }
 
-    private void collectTextMatches(Node node, Predicate<String> matcher, List<QueryMatch> results, int limit) {
+    private void collectMatches(Node node, Predicate<Node> filter, List<Node> results, int limit) {
+        collectMatches(node, filter, results, limit, SceneWalk.unbounded());
+    }
+
+    private void collectMatches(Node node, Predicate<Node> filter, List<Node> results, int limit, SceneWalk walk) {
         if (results.size() >= limit) {
             return;
         }
+        CancellationToken.checkpoint();
 
-        var nodeText = extractText(node);
-        if (nodeText != null && matcher.test(nodeText.trim())) {
-            results.add(toQueryMatch(node));
+        // Ancestors of the resume cursor were tested by the walk that produced it.
+        if (walk.resumed() && filter.test(node)) {
+            results.add(node);
         }
 
         if (node instanceof Parent parent) {
-            for (var child : parent.getChildrenUnmodifiable()) {
-                collectTextMatches(child, matcher, results, limit);
-                if (results.size() >= limit) {
+            var children = parent.getChildrenUnmodifiable();
+            for (int i = 0; i < children.size() && results.size() < limit; i++) {
+                if (walk.skip(i)) {
+                    continue;
+                }
+                if (walk.stopBefore(i)) {
                     break;
                 }
+                walk.push(i);
+                collectMatches(children.get(i), filter, results, limit, walk);
+                walk.pop();
             }
         }
     }
 
-    private String extractText(Node node) {
+    String extractText(Node node) {
         if (node instanceof Labeled labeled) {
             return labeled.getText();
         } else if (node instanceof TextInputControl input) {
@@ -154,37 +218,15 @@ public class NodeQueryService {
      * @return matching nodes
      */
     public List<QueryMatch> queryPredicate(int stageIndex, QueryPredicate predicate, int limit) {
-        return Fx.exec(() -> queryPredicateOnFxThread(stageIndex, predicate, limit), fxTimeoutMs);
+        return queryPredicate(stageIndex, predicate, limit, SceneWalk.unbounded());
     }
 
-    private List<QueryMatch> queryPredicateOnFxThread(int stageIndex, QueryPredicate predicate, int limit) {
-        var scene = getScene(stageIndex);
-        if (scene == null) {
-            return List.of();
-        }
-
-        var results = new ArrayList<QueryMatch>();
-        collectPredicateMatches(scene.getRoot(), predicate, results, limit);
-        return results;
-    }
-
-    private void collectPredicateMatches(Node node, QueryPredicate pred, List<QueryMatch> results, int limit) {
-        if (results.size() >= limit) {
-            return;
-        }
-
-        if (matchesPredicate(node, pred)) {
-            results.add(toQueryMatch(node));
-        }
-
-        if (node instanceof Parent parent) {
-            for (var child : parent.getChildrenUnmodifiable()) {
-                collectPredicateMatches(child, pred, results, limit);
-                if (results.size() >= limit) {
-                    break;
-                }
-            }
-        }
+    /**
+     * Query by predicate within the walk's deadline, starting at its cursor.
+     */
+    public List<QueryMatch> queryPredicate(int stageIndex, QueryPredicate predicate, int limit, SceneWalk walk) {
+        return Fx.exec(() -> queryOnFxThread(stageIndex, node -> matchesPredicate(node, predicate), limit, walk),
+                timeoutMs(walk));
     }
 
     private boolean matchesPredicate(Node node, QueryPredicate pred) {
@@ -270,6 +312,7 @@ public class NodeQueryService {
     }
 
     private Node findByUidInTree(Node node, String uid) {
+        CancellationToken.checkpoint();
         if (uid.equals(node.getProperties().get(NodeRef.UID_PROPERTY_KEY))) {
             return node;
         }
@@ -363,31 +406,35 @@ public class NodeQueryService {
 
     private Scene getScene(int stageIndex) {
         var stages = nodeRefService.getSortedStages();
+        var index = resolveStageIndex(stages, stageIndex);
+        return index >= 0 ? stages.get(index).getScene() : null;
+    }
+
+    /**
+     * Index of the requested stage, the focused (or first) stage for a negative index, or -1.
+     */
+    private int resolveStageIndex(List<Stage> stages, int stageIndex) {
         if (stages.isEmpty()) {
-            return null;
+            return -1;
         }
 
         if (stageIndex < 0) {
-            // Find focused
-            var focused = stages.stream()
-                    .filter(Stage::isFocused)
-                    .findFirst()
-                    .orElse(stages.get(0));
-            return focused.getScene();
-        }
-
-        if (stageIndex < stages.size()) {
-            return stages.get(stageIndex).getScene();
+            for (int i = 0; i < stages.size(); i++) {
+                if (stages.get(i).isFocused()) {
+                    return i;
+                }
+            }
+            return 0;
         }
 
-        return null;
+        return stageIndex < stages.size() ? stageIndex : -1;
     }
 
     private List<Stage> getSortedStages() {
         return nodeRefService.getSortedStages();
     }
 
-    private QueryMatch toQueryMatch(Node node) {
+    QueryMatch toQueryMatch(Node node) {
         return new QueryMatch(
                 nodeRefService.forNode(node),
                 node.getClass().getSimpleName(),
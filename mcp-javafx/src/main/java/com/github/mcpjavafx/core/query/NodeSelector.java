@@ -0,0 +1,31 @@
+package com.github.mcpjavafx.core.query;
+
+/**
+ * Selector for locating nodes: exactly one of CSS, text or predicate.
+ *
+ * @param css       CSS selector, resolved with Scene.lookupAll
+ * @param text      visible text to search for
+ * @param match     text match mode: contains (default), equals or regex
+ * @param predicate structured filter
+ */
+public record NodeSelector(String css, String text, String match, QueryPredicate predicate) {
+
+    public NodeSelector {
+        var count = (css != null ? 1 : 0) + (text != null ? 1 : 0) + (predicate != null ? 1 : 0);
+        if (count != 1) {
+            throw new IllegalArgumentException("Exactly one of css, text or predicate must be specified");
+        }
+    }
+
+    public static NodeSelector css(String css) {
+        return new NodeSelector(css, null, null, null);
+    }
+
+    public static NodeSelector text(String text, String match) {
+        return new NodeSelector(null, text, match, null);
+    }
+
+    public static NodeSelector predicate(QueryPredicate predicate) {
+        return new NodeSelector(null, null, null, predicate);
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.mcpjavafx.core.query;
+
+import java.util.Objects;
+
+/**
+ * Condition over the nodes matched by a selector.
+ *
+ * @param kind       what must hold for the matched nodes
+ * @param selector   nodes the condition applies to
+ * @param stageIndex stage to search in (-1 for focused)
+ * @param text       expected text for {@link Kind#TEXT_EQUALS}
+ * @param count      minimum number of matches for {@link Kind#COUNT_AT_LEAST}
+ */
+public record WaitCondition(Kind kind, NodeSelector selector, int stageIndex, String text, int count) {
+
+    public enum Kind {
+        /** At least one node matches. */
+        PRESENT,
+        /** No node matches. */
+        ABSENT,
+        /** A matched node's text equals {@code text}. */
+        TEXT_EQUALS,
+        /** A matched node is enabled. */
+        ENABLED,
+        /** At least {@code count} nodes match. */
+        COUNT_AT_LEAST;
+
+        /**
+         * Parses a condition name such as {@code present} or {@code textEquals}. Null or blank yields
+         * {@link #PRESENT}.
+         */
+        public static Kind parse(String value) {
+            if (value == null || value.isBlank()) {
+                return PRESENT;
+            }
+            return switch (value.toLowerCase()) {
+                case "present", "visible", "appears" -> PRESENT;
+                case "absent", "gone", "disappears" -> ABSENT;
+                case "textequals", "text_equals" -> TEXT_EQUALS;
+                case "enabled" -> ENABLED;
+                case "countatleast", "count_at_least" -> COUNT_AT_LEAST;
+                default -> throw new IllegalArgumentException("Unknown wait condition: " + value);
+            };
+        }
+    }
+
+    public WaitCondition {
+        Objects.requireNonNull(kind, "kind");
+        Objects.requireNonNull(selector, "selector");
+        if (kind == Kind.TEXT_EQUALS && text == null) {
+            throw new IllegalArgumentException("textEquals requires text");
+        }
+        if (kind == Kind.COUNT_AT_LEAST && count <= 0) {
+            throw new IllegalArgumentException("countAtLeast requires a positive count");
+        }
+    }
+}
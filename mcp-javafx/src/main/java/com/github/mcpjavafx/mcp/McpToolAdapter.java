@@ -3,8 +3,14 @@ package com.github.mcpjavafx.mcp;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mcpjavafx.api.McpJavafxConfig;
+import com.github.mcpjavafx.api.ResultFormat;
+import com.github.mcpjavafx.core.capture.FrameRecorder;
+import com.github.mcpjavafx.core.fx.CancellationToken;
+import com.github.mcpjavafx.core.fx.FxAdmission;
+import com.github.mcpjavafx.core.model.ErrorCode;
 import com.github.mcpjavafx.core.model.McpError;
 import com.github.mcpjavafx.util.JsonMapperFactory;
+import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.server.McpStatelessServerFeatures;
 import io.modelcontextprotocol.server.McpStatelessSyncServer;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
@@ -12,6 +18,7 @@ import io.modelcontextprotocol.spec.McpSchema.JsonSchema;
 import io.modelcontextprotocol.spec.McpSchema.TextContent;
 import io.modelcontextprotocol.spec.McpSchema.Tool;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -28,6 +35,11 @@ public class McpToolAdapter {
 
         private static final Logger LOG = Logger.getLogger(McpToolAdapter.class.getName());
 
+        /**
+         * Transport context key under which a transport passes the request's {@link CancellationToken}.
+         */
+        public static final String CANCELLATION_KEY = "mcp-javafx.cancellation";
+
         private final McpJavafxConfig config;
         private final ObjectMapper mapper;
         private final UiToolsService toolsService;
@@ -45,10 +57,55 @@ public class McpToolAdapter {
                 server.addTool(createGetSnapshotTool());
                 server.addTool(createQueryTool());
                 server.addTool(createGetNodeTool());
+                server.addTool(createWaitForTool());
 
                 if (config.allowActions()) {
                         server.addTool(createPerformTool());
                         server.addTool(createScreenshotTool());
+                        server.addTool(createRecordTool());
+                        server.addTool(createVisualAssertTool());
+                }
+        }
+
+        /**
+         * The recorder behind ui_record, for transports that stream its frames.
+         */
+        public FrameRecorder frameRecorder() {
+                return toolsService.frameRecorder();
+        }
+
+        /**
+         * The admission controller in front of FX-thread work, for health reporting.
+         */
+        public FxAdmission admission() {
+                return toolsService.admission();
+        }
+
+        @FunctionalInterface
+        private interface ToolCall {
+                Object execute(JsonNode input) throws Exception;
+        }
+
+        /**
+         * Runs a tool under the request's cancellation token, so its FX-thread work is dropped
+         * once the client goes away.
+         */
+        private CallToolResult call(McpTransportContext exchange, Object arguments, ToolCall tool) {
+                var token = exchange != null && exchange.get(CANCELLATION_KEY) instanceof CancellationToken t
+                                ? t
+                                : CancellationToken.NONE;
+                try (var scope = token.bind()) {
+                        var input = toArgumentsNode(arguments);
+                        // Validated before the tool runs, so a bad value cannot fail a batch that already acted.
+                        ResultFormat format;
+                        try {
+                                format = resultFormat(input);
+                        } catch (IllegalArgumentException e) {
+                                return toStructuredResult(McpError.of(ErrorCode.MCP_UI_INVALID_ARGUMENT, e.getMessage()));
+                        }
+                        return toStructuredResult(tool.execute(input), format);
+                } catch (Exception e) {
+                        return toStructuredResult(toolsService.wrapException(e));
                 }
         }
 
@@ -86,34 +143,32 @@ public class McpToolAdapter {
                                                 "stageIndex", Map.of("type", "integer"),
                                                 "mode", Map.of("type", "string", "enum", List.of("full", "compact")),
                                                 "depth", Map.of("type", "integer"),
-                                                "include", includeSchema),
+                                                "maxNodes", Map.of("type", "integer", "minimum", 1),
+                                                "maxBytes", Map.of("type", "integer", "minimum", 1),
+                                                "include", includeSchema,
+                                                "timeoutMs", Map.of("type", "integer"),
+                                                "cursor", Map.of("type", "string")),
                                 List.of());
 
                 return new McpStatelessServerFeatures.SyncToolSpecification(
                                 tool(
                                                 "ui_get_snapshot",
-                                                "Capture a UI scene graph snapshot. Use mode=compact to reduce payload; use include.* to opt into bounds/properties/accessibility.",
+                                                "Capture a UI scene graph snapshot. Use mode=compact to reduce payload; use include.* to opt into bounds/properties/accessibility. maxNodes/maxBytes fill the tree breadth-first up to a budget and collapse the rest into nodes with collapsedChildren counts; expand one with ui_get_node(ref, includeChildren). If the walk runs out of timeoutMs it returns the nodes captured so far with truncated=true and a cursor to pass back to continue.",
                                                 inputSchema),
-                                (exchange, arguments) -> {
-                                        try {
-                                                var input = toArgumentsNode(arguments);
-                                                var result = toolsService.executeGetSnapshot(input);
-                                                return toStructuredResult(result);
-                                        } catch (Exception e) {
-                                                return toStructuredResult(toolsService.wrapException(e));
-                                        }
-                                });
+                                (exchange, arguments) -> call(exchange, arguments, toolsService::executeGetSnapshot));
         }
 
-        private McpStatelessServerFeatures.SyncToolSpecification createQueryTool() {
-                var scopeSchema = Map.<String, Object>of(
+        private Map<String, Object> scopeSchema() {
+                return Map.of(
                                 "type", "object",
                                 "properties", Map.of(
                                                 "stage", Map.of("type", "string", "enum", List.of("focused", "index")),
                                                 "stageIndex", Map.of("type", "integer")),
                                 "additionalProperties", false);
+        }
 
-                var selectorSchema = Map.<String, Object>of(
+        private Map<String, Object> selectorSchema() {
+                return Map.of(
                                 "type", "object",
                                 "properties", Map.of(
                                                 "css", Map.of("type", "string"),
@@ -123,28 +178,51 @@ public class McpToolAdapter {
                                                                 List.of("contains", "equals", "regex")),
                                                 "predicate", Map.of("type", "object")),
                                 "additionalProperties", true);
+        }
+
+        private Map<String, Object> conditionSchema() {
+                return Map.of("type", "string", "enum",
+                                List.of("present", "absent", "textEquals", "enabled", "countAtLeast"));
+        }
+
+        private McpStatelessServerFeatures.SyncToolSpecification createQueryTool() {
+                var scopeSchema = scopeSchema();
+                var selectorSchema = selectorSchema();
 
                 var inputSchema = objectSchema(
                                 Map.of(
                                                 "scope", scopeSchema,
                                                 "selector", selectorSchema,
-                                                "limit", Map.of("type", "integer")),
+                                                "limit", Map.of("type", "integer"),
+                                                "timeoutMs", Map.of("type", "integer"),
+                                                "cursor", Map.of("type", "string")),
                                 List.of("selector"));
 
                 return new McpStatelessServerFeatures.SyncToolSpecification(
                                 tool(
                                                 "ui_query",
-                                                "Find UI nodes by selector. selector.css uses Scene.lookupAll; selector.text searches visible text with match=contains|equals|regex; selector.predicate supports structured filters.",
+                                                "Find UI nodes by selector. selector.css uses Scene.lookupAll; selector.text searches visible text with match=contains|equals|regex; selector.predicate supports structured filters. If the search runs out of timeoutMs it returns the matches so far with truncated=true and a cursor to pass back to continue.",
+                                                inputSchema),
+                                (exchange, arguments) -> call(exchange, arguments, toolsService::executeQuery));
+        }
+
+        private McpStatelessServerFeatures.SyncToolSpecification createWaitForTool() {
+                var inputSchema = objectSchema(
+                                Map.of(
+                                                "scope", scopeSchema(),
+                                                "selector", selectorSchema(),
+                                                "condition", conditionSchema(),
+                                                "text", Map.of("type", "string"),
+                                                "count", Map.of("type", "integer", "minimum", 1),
+                                                "timeoutMs", Map.of("type", "integer")),
+                                List.of("selector"));
+
+                return new McpStatelessServerFeatures.SyncToolSpecification(
+                                tool(
+                                                "ui_wait_for",
+                                                "Block until a condition holds for the nodes matched by selector, or timeoutMs expires. condition: present (default), absent, textEquals (with text), enabled, countAtLeast (with count). Evaluated server-side after every UI pulse; returns satisfied, elapsedMs and the matching nodes.",
                                                 inputSchema),
-                                (exchange, arguments) -> {
-                                        try {
-                                                var input = toArgumentsNode(arguments);
-                                                var result = toolsService.executeQuery(input);
-                                                return toStructuredResult(result);
-                                        } catch (Exception e) {
-                                                return toStructuredResult(toolsService.wrapException(e));
-                                        }
-                                });
+                                (exchange, arguments) -> call(exchange, arguments, toolsService::executeWaitFor));
         }
 
         private McpStatelessServerFeatures.SyncToolSpecification createGetNodeTool() {
@@ -169,15 +247,7 @@ public class McpToolAdapter {
                                                 "ui_get_node",
                                                 "Get full details for a single node identified by ref.uid (preferred) or ref.path.",
                                                 inputSchema),
-                                (exchange, arguments) -> {
-                                        try {
-                                                var input = toArgumentsNode(arguments);
-                                                var result = toolsService.executeGetNode(input);
-                                                return toStructuredResult(result);
-                                        } catch (Exception e) {
-                                                return toStructuredResult(toolsService.wrapException(e));
-                                        }
-                                });
+                                (exchange, arguments) -> call(exchange, arguments, toolsService::executeGetNode));
         }
 
         private McpStatelessServerFeatures.SyncToolSpecification createPerformTool() {
@@ -205,7 +275,8 @@ public class McpToolAdapter {
                 var actionProperties = new java.util.HashMap<String, Object>();
                 actionProperties.put("type", Map.of("type", "string", "enum", List.of(
                                 "focus", "click", "doubleClick", "typeText", "setText",
-                                "pressKey", "scroll", "mousePressed", "mouseReleased", "drag")));
+                                "pressKey", "scroll", "mousePressed", "mouseReleased", "drag", "waitFor",
+                                "scrollToItem", "selectItem", "clickItem", "editItem")));
                 actionProperties.put("target", targetSchema);
                 actionProperties.put("text", Map.of("type", "string"));
                 actionProperties.put("key", Map.of("type", "string"));
@@ -217,6 +288,25 @@ public class McpToolAdapter {
                 actionProperties.put("to", positionSchema);
                 actionProperties.put("x", Map.of("type", "number"));
                 actionProperties.put("y", Map.of("type", "number"));
+                actionProperties.put("awaitUiIdle", Map.of("type", "boolean"));
+                actionProperties.put("selector", selectorSchema());
+                actionProperties.put("scope", scopeSchema());
+                actionProperties.put("condition", conditionSchema());
+                actionProperties.put("count", Map.of("type", "integer", "minimum", 1));
+                actionProperties.put("timeoutMs", Map.of("type", "integer"));
+                var inputModeSchema = Map.<String, Object>of("type", "string", "enum",
+                                List.of("auto", "robot", "synthetic"));
+                actionProperties.put("input", inputModeSchema);
+                actionProperties.put("charsPerPulse", Map.of("type", "integer", "minimum", 1));
+                actionProperties.put("steps", Map.of("type", "integer", "minimum", 1));
+                actionProperties.put("durationMs", Map.of("type", "integer", "minimum", 0));
+                actionProperties.put("index", Map.of("type", "integer", "minimum", 0));
+                actionProperties.put("item", Map.of("type", "string"));
+                actionProperties.put("column", Map.of("type", "string"));
+                actionProperties.put("clickCount", Map.of("type", "integer", "minimum", 1, "maximum", 2));
+                actionProperties.put("commit", Map.of("type", "boolean"));
+                actionProperties.put("easing",
+                                Map.of("type", "string", "enum", List.of("linear", "easeIn", "easeOut", "easeInOut")));
 
                 var actionSchema = Map.<String, Object>of(
                                 "type", "object",
@@ -224,48 +314,125 @@ public class McpToolAdapter {
                                 "required", List.of("type"),
                                 "additionalProperties", true);
 
+                var deltaSchema = Map.<String, Object>of(
+                                "type", List.of("boolean", "object"),
+                                "properties", Map.of(
+                                                "scope", Map.of("type", "object", "properties",
+                                                                Map.of("ref", refSchema)),
+                                                "depth", Map.of("type", "integer"),
+                                                "includeBounds", Map.of("type", "boolean"),
+                                                "includeProperties", Map.of("type", "boolean"),
+                                                "includeControlInternals", Map.of("type", "boolean"),
+                                                "limit", Map.of("type", "integer", "minimum", 1)));
+
                 var inputSchema = objectSchema(
                                 Map.of(
                                                 "actions", Map.of("type", "array", "items", actionSchema),
+                                                "delta", deltaSchema,
                                                 "awaitUiIdle", Map.of("type", "boolean"),
-                                                "timeoutMs", Map.of("type", "integer")),
+                                                "idleStablePulses", Map.of("type", "integer", "minimum", 1),
+                                                "timeoutMs", Map.of("type", "integer"),
+                                                "input", inputModeSchema),
                                 List.of("actions"));
 
                 return new McpStatelessServerFeatures.SyncToolSpecification(
                                 tool(
                                                 "ui_perform",
-                                                "Execute a sequence of UI actions. Supports: click, doubleClick, focus, setText, typeText, pressKey, scroll, mousePressed, mouseReleased, drag.",
+                                                "Execute a sequence of UI actions as one pipeline on the FX thread. Supports: click, doubleClick, focus, setText, typeText, pressKey, scroll, mousePressed, mouseReleased, drag, waitFor (same selector/condition as ui_wait_for), and scrollToItem, selectItem, clickItem, editItem for ListView/TableView/TreeView items (target = the control, index or item text, optional table column; the row is scrolled into view and its cell awaited). awaitUiIdle (default true) waits until the UI has settled (no pending layout, scene changes, queued runLater work or tracked animations/tasks for idleStablePulses consecutive pulses) after the batch; per-action awaitUiIdle waits after that action; timeoutMs bounds the whole batch. input (auto, robot, synthetic) selects how mouse and keyboard input is delivered, per batch or per action. delta (true or {scope:{ref}, includeBounds, limit}) returns the nodes added, removed and changed between batch start and idle.",
                                                 inputSchema),
-                                (exchange, arguments) -> {
-                                        try {
-                                                var input = toArgumentsNode(arguments);
-                                                var result = toolsService.executePerform(input);
-                                                return toStructuredResult(result);
-                                        } catch (Exception e) {
-                                                return toStructuredResult(toolsService.wrapException(e));
-                                        }
-                                });
+                                (exchange, arguments) -> call(exchange, arguments, toolsService::executePerform));
         }
 
         private McpStatelessServerFeatures.SyncToolSpecification createScreenshotTool() {
+                var refSchema = Map.<String, Object>of(
+                                "type", "object",
+                                "properties", Map.of(
+                                                "uid", Map.of("type", "string"),
+                                                "path", Map.of("type", "string")),
+                                "additionalProperties", false);
+
                 var inputSchema = objectSchema(
-                                Map.of("stageIndex", Map.of("type", "integer")),
+                                Map.of(
+                                                "stageIndex", Map.of("type", "integer"),
+                                                "ref", refSchema,
+                                                "maxWidth", Map.of("type", "integer", "minimum", 1),
+                                                "maxHeight", Map.of("type", "integer", "minimum", 1),
+                                                "format", Map.of("type", "string", "enum", List.of("png", "jpeg")),
+                                                "quality", Map.of("type", "integer", "minimum", 1, "maximum", 100),
+                                                "since", Map.of("type", "string"),
+                                                "tileSize", Map.of("type", "integer", "minimum", 8),
+                                                "compressionLevel",
+                                                Map.of("type", "integer", "minimum", -1, "maximum", 9),
+                                                "marks", Map.of("type", "boolean")),
                                 List.of());
 
                 return new McpStatelessServerFeatures.SyncToolSpecification(
                                 tool(
                                                 "ui_screenshot",
-                                                "Capture a PNG screenshot of a stage.",
+                                                "Capture a screenshot of a stage, or with ref only the area of that node. maxWidth/maxHeight downscale while rendering (aspect ratio kept); prefer a ref and small limits to keep the image cheap. format png (default) or jpeg with quality 1-100 (default 80). compressionLevel (0-9, -1 = zlib default) trades PNG size for encoding time. Returns contentType, dataBase64, width, height, scale and a frameId. Pass a previous frameId as since to receive only the tiles (tileSize px, default 64) that changed since that frame: tiles [{x, y, width, height, dataBase64}] instead of dataBase64. marks: true draws numbered boxes over interactive nodes (captured in the same UI pass) and returns marks [{id, ref, type, text, x, y, width, height}] in image pixels, so a mark number seen in the image maps directly to a ref for ui_perform.",
                                                 inputSchema),
-                                (exchange, arguments) -> {
-                                        try {
-                                                var input = toArgumentsNode(arguments);
-                                                var result = toolsService.executeScreenshot(input);
-                                                return toStructuredResult(result);
-                                        } catch (Exception e) {
-                                                return toStructuredResult(toolsService.wrapException(e));
-                                        }
-                                });
+                                (exchange, arguments) -> call(exchange, arguments, toolsService::executeScreenshot));
+        }
+
+        private McpStatelessServerFeatures.SyncToolSpecification createRecordTool() {
+                var refSchema = Map.<String, Object>of(
+                                "type", "object",
+                                "properties", Map.of(
+                                                "uid", Map.of("type", "string"),
+                                                "path", Map.of("type", "string")),
+                                "additionalProperties", false);
+
+                var properties = new LinkedHashMap<String, Object>();
+                properties.put("action", Map.of("type", "string",
+                                "enum", List.of("start", "stop", "status", "frames")));
+                properties.put("stageIndex", Map.of("type", "integer"));
+                properties.put("ref", refSchema);
+                properties.put("fps", Map.of("type", "integer", "minimum", 1, "maximum", FrameRecorder.MAX_FPS));
+                properties.put("durationMs", Map.of("type", "integer", "minimum", 1));
+                properties.put("maxFrames", Map.of("type", "integer", "minimum", 1));
+                properties.put("maxBytes", Map.of("type", "integer", "minimum", 1));
+                properties.put("maxWidth", Map.of("type", "integer", "minimum", 1));
+                properties.put("maxHeight", Map.of("type", "integer", "minimum", 1));
+                properties.put("format", Map.of("type", "string", "enum", List.of("png", "jpeg")));
+                properties.put("quality", Map.of("type", "integer", "minimum", 1, "maximum", 100));
+                properties.put("compressionLevel", Map.of("type", "integer", "minimum", -1, "maximum", 9));
+                properties.put("afterSeq", Map.of("type", "integer", "minimum", 0));
+                properties.put("limit", Map.of("type", "integer", "minimum", 1));
+
+                return new McpStatelessServerFeatures.SyncToolSpecification(
+                                tool(
+                                                "ui_record",
+                                                "Record frames of a stage (or the area of ref) into a bounded in-memory ring buffer. action start begins recording at fps (default 10, max 30) for durationMs (default 30000), keeping the last maxFrames (default 100) / maxBytes frames; format jpeg (default) or png, maxWidth/maxHeight/quality as in ui_screenshot. Starting again replaces the recording. action frames returns up to limit (default 10) frames with seq > afterSeq as {seq, timestampMs, offsetMs, contentType, width, height, dataBase64} plus nextAfterSeq to pass next time. action stop/status return the recorder status. Frames can also be streamed live as server-sent events from GET /frames.",
+                                                objectSchema(properties, List.of("action"))),
+                                (exchange, arguments) -> call(exchange, arguments, toolsService::executeRecord));
+        }
+
+        private McpStatelessServerFeatures.SyncToolSpecification createVisualAssertTool() {
+                var refSchema = Map.<String, Object>of(
+                                "type", "object",
+                                "properties", Map.of(
+                                                "uid", Map.of("type", "string"),
+                                                "path", Map.of("type", "string")),
+                                "additionalProperties", false);
+
+                var properties = new LinkedHashMap<String, Object>();
+                properties.put("baseline", Map.of("type", "string"));
+                properties.put("stageIndex", Map.of("type", "integer"));
+                properties.put("ref", refSchema);
+                properties.put("maxWidth", Map.of("type", "integer", "minimum", 1));
+                properties.put("maxHeight", Map.of("type", "integer", "minimum", 1));
+                properties.put("pixelThreshold", Map.of("type", "integer", "minimum", 0, "maximum", 255));
+                properties.put("maxDiffRatio", Map.of("type", "number", "minimum", 0, "maximum", 1));
+                properties.put("maxHashDistance", Map.of("type", "integer", "minimum", 0, "maximum", 64));
+                properties.put("heatmapSize", Map.of("type", "integer", "minimum", 1, "maximum", 256));
+                properties.put("update", Map.of("type", "boolean"));
+
+                return new McpStatelessServerFeatures.SyncToolSpecification(
+                                tool(
+                                                "ui_visual_assert",
+                                                "Compare a capture of a stage (or the area of ref) with a baseline PNG on the server, without sending images to the client. baseline is a path relative to -Dmcp.visual.baselineDir. Passes when at most maxDiffRatio (default 0.001) of pixels differ by more than pixelThreshold (default 16) in any channel and the perceptual hash distance is at most maxHashDistance (default 6 of 64). Returns pass, score (fraction of matching pixels), reason, diffPixels, diffRatio, hashDistance, diffBounds and a small heatmap PNG (at most heatmapSize px, default 64) when pixels differ. update: true writes the current capture as the baseline instead. Use the same maxWidth/maxHeight as when the baseline was written.",
+                                                objectSchema(properties, List.of("baseline"))),
+                                (exchange, arguments) -> call(exchange, arguments, toolsService::executeVisualAssert));
         }
 
         private Tool tool(String name, String description, JsonSchema inputSchema) {
@@ -278,8 +445,9 @@ public class McpToolAdapter {
                                 .inputSchema(inputSchema)
                                 // Non-null outputSchema makes the SDK expect structuredContent in
                                 // CallToolResult.
-                                // We always return structuredContent ({"output":...} or {"error":...}).
-                                .outputSchema(objectOutputSchema())
+                                // We always return structuredContent ({"output":...} or {"error":...}),
+                                // unless the server is configured for text-only results.
+                                .outputSchema(config.resultFormat() != ResultFormat.TEXT ? objectOutputSchema() : null)
                                 .meta(Map.of("schemaVersion", "2"))
                                 .build();
         }
@@ -296,6 +464,59 @@ public class McpToolAdapter {
                                 "additionalProperties", true);
         }
 
+        /**
+         * The call's {@code resultFormat}, or the server default.
+         *
+         * @throws IllegalArgumentException if the value is not a known format
+         */
+        private ResultFormat resultFormat(JsonNode input) {
+                var value = input.path("resultFormat");
+                if (value.isMissingNode() || value.isNull()) {
+                        return config.resultFormat();
+                }
+                if (!value.isTextual()) {
+                        throw new IllegalArgumentException("resultFormat must be a string");
+                }
+                return ResultFormat.parse(value.textValue());
+        }
+
+        /**
+         * Builds the result in the given format.
+         */
+        private CallToolResult toStructuredResult(Object result, ResultFormat format) {
+                if (format == ResultFormat.BOTH || result instanceof McpError) {
+                        return toStructuredResult(result);
+                }
+
+                var structured = result instanceof SnapshotResult snapshot ? snapshot.structured() : result;
+                try {
+                        return switch (format) {
+                                case STRUCTURED -> new CallToolResult(List.of(), false, Map.of("output", structured), null);
+                                case SUMMARY -> new CallToolResult(
+                                                List.of(new TextContent(result instanceof SnapshotResult snapshot
+                                                                ? ResultSummary.ofSnapshot(snapshot.structured())
+                                                                : ResultSummary.of(result))),
+                                                false,
+                                                Map.of("output", structured),
+                                                null);
+                                default -> new CallToolResult(
+                                                List.of(new TextContent(result instanceof SnapshotResult snapshot
+                                                                ? snapshot.tree()
+                                                                : mapper.writeValueAsString(result))),
+                                                false,
+                                                // The SDK requires structured content while tools declare an output schema.
+                                                config.resultFormat() != ResultFormat.TEXT ? Map.of() : null,
+                                                null);
+                        };
+                } catch (Exception e) {
+                        return new CallToolResult(
+                                        List.of(new TextContent("Result serialization error: " + e.getMessage())),
+                                        true,
+                                        null,
+                                        null);
+                }
+        }
+
         private CallToolResult toStructuredResult(Object result) {
                 if (result instanceof McpError error) {
                         return new CallToolResult(
@@ -329,9 +550,14 @@ public class McpToolAdapter {
         }
 
         private JsonSchema objectSchema(Map<String, Object> properties, List<String> required) {
+                var withFormat = new LinkedHashMap<String, Object>(properties);
+                withFormat.put("resultFormat", Map.of(
+                                "type", "string",
+                                "enum", List.of("both", "text", "structured", "summary"),
+                                "description", "both (default): text and structuredContent; text: text only; structured: structuredContent only; summary: one-line text plus structuredContent"));
                 return new JsonSchema(
                                 "object",
-                                properties,
+                                withFormat,
                                 required != null ? required : List.of(),
                                 true,
                                 null,
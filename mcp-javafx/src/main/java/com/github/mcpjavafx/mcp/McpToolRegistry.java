@@ -42,11 +42,14 @@ public class McpToolRegistry {
         var tools = new ArrayList<>(List.of(
                 "ui_get_snapshot",
                 "ui_query",
-                "ui_get_node"));
+                "ui_get_node",
+                "ui_wait_for"));
 
         if (config.allowActions()) {
             tools.add("ui_perform");
             tools.add("ui_screenshot");
+            tools.add("ui_record");
+            tools.add("ui_visual_assert");
         }
 
         return tools;
@@ -65,8 +68,11 @@ public class McpToolRegistry {
                 case "ui_get_snapshot" -> toolsService.executeGetSnapshot(input);
                 case "ui_query" -> toolsService.executeQuery(input);
                 case "ui_get_node" -> toolsService.executeGetNode(input);
+                case "ui_wait_for" -> toolsService.executeWaitFor(input);
                 case "ui_perform" -> toolsService.executePerform(input);
                 case "ui_screenshot" -> toolsService.executeScreenshot(input);
+                case "ui_record" -> toolsService.executeRecord(input);
+                case "ui_visual_assert" -> toolsService.executeVisualAssert(input);
                 default -> McpError.of(ErrorCode.MCP_UI_INTERNAL, "Unknown tool: " + tool);
             };
 
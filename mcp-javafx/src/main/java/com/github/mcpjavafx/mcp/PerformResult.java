@@ -0,0 +1,25 @@
+package com.github.mcpjavafx.mcp;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.mcpjavafx.core.actions.ActionExecutor.ActionResult;
+import com.github.mcpjavafx.core.actions.ActionPipeline;
+import com.github.mcpjavafx.core.fx.QuiescenceDetector;
+import com.github.mcpjavafx.core.model.SnapshotDelta;
+
+import java.util.List;
+
+/**
+ * Return payload for ui_perform: the batch outcome plus, when requested, the snapshot delta it caused.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PerformResult(
+        List<ActionResult> results,
+        double durationMs,
+        boolean timedOut,
+        QuiescenceDetector.Result idle,
+        SnapshotDelta delta) {
+
+    static PerformResult of(ActionPipeline.BatchResult batch, SnapshotDelta delta) {
+        return new PerformResult(batch.results(), batch.durationMs(), batch.timedOut(), batch.idle(), delta);
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.mcpjavafx.mcp;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-line text summary of a tool result, used when the structured content carries the data.
+ *
+ * <p>
+ * Only the top level is described: scalars are shown, strings are truncated, and nested
+ * objects and lists are reduced to their size. Nothing is serialized.
+ * </p>
+ */
+final class ResultSummary {
+
+    static final int MAX_LENGTH = 500;
+    private static final int MAX_STRING = 60;
+
+    private ResultSummary() {
+    }
+
+    static String of(Object result) {
+        var text = new StringBuilder();
+        if (result instanceof Map<?, ?> map) {
+            for (var entry : map.entrySet()) {
+                field(text, String.valueOf(entry.getKey()), entry.getValue());
+            }
+        } else if (result instanceof Record record) {
+            for (var component : record.getClass().getRecordComponents()) {
+                try {
+                    field(text, component.getName(), component.getAccessor().invoke(record));
+                } catch (ReflectiveOperationException e) {
+                    field(text, component.getName(), "?");
+                }
+            }
+        } else {
+            text.append(brief(null, result));
+        }
+        return text.length() > MAX_LENGTH ? text.substring(0, MAX_LENGTH - 1) + "…" : text.toString();
+    }
+
+    /**
+     * Describes a snapshot's structured content by its stage and node counts, plus the
+     * resume cursor if it was truncated.
+     */
+    static String ofSnapshot(Object structured) {
+        if (!(structured instanceof Map<?, ?> snapshot)) {
+            return of(structured);
+        }
+        var stages = snapshot.get("stages") instanceof Collection<?> list ? list : List.of();
+        var counts = new long[2];
+        for (var stage : stages) {
+            if (stage instanceof Map<?, ?> stageMap && stageMap.get("scene") instanceof Map<?, ?> scene) {
+                countNodes(scene.get("root"), counts);
+            }
+        }
+        var text = new StringBuilder("snapshot: ")
+                .append(stages.size()).append(stages.size() == 1 ? " stage, " : " stages, ")
+                .append(counts[0]).append(counts[0] == 1 ? " node" : " nodes");
+        if (counts[1] > 0) {
+            text.append(", ").append(counts[1]).append(" collapsed children");
+        }
+        if (Boolean.TRUE.equals(snapshot.get("truncated"))) {
+            text.append(", truncated, cursor=\"").append(snapshot.get("cursor")).append('"');
+        }
+        return text.toString();
+    }
+
+    /** Adds the nodes of a subtree to {@code counts[0]} and its collapsed children to {@code counts[1]}. */
+    private static void countNodes(Object node, long[] counts) {
+        if (!(node instanceof Map<?, ?> map)) {
+            return;
+        }
+        counts[0]++;
+        if (map.get("collapsedChildren") instanceof Number collapsed) {
+            counts[1] += collapsed.longValue();
+        }
+        if (map.get("children") instanceof Collection<?> children) {
+            for (var child : children) {
+                countNodes(child, counts);
+            }
+        }
+    }
+
+    private static void field(StringBuilder text, String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!text.isEmpty()) {
+            text.append(", ");
+        }
+        text.append(name).append('=').append(brief(name, value));
+    }
+
+    private static String brief(String name, Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence chars) {
+            if (name != null && name.endsWith("Base64")) {
+                return "<" + chars.length() + " chars>";
+            }
+            var string = chars.toString();
+            return '"' + (string.length() > MAX_STRING ? string.substring(0, MAX_STRING) + "…" : string) + '"';
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>) {
+            return value.toString();
+        }
+        if (value instanceof Collection<?> collection) {
+            return "[" + collection.size() + " items]";
+        }
+        if (value.getClass().isArray()) {
+            return "[" + Array.getLength(value) + " items]";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return "{" + map.size() + " fields}";
+        }
+        if (value instanceof Record record) {
+            return "{" + record.getClass().getRecordComponents().length + " fields}";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
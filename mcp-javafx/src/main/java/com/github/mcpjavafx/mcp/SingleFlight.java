@@ -0,0 +1,168 @@
+package com.github.mcpjavafx.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.mcpjavafx.core.fx.CancellationToken;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces identical concurrent calls of read-only tools.
+ *
+ * <p>
+ * The first caller for a key runs the work; callers arriving with the same key while it is
+ * in flight wait for and share its result (or exception). Nothing is cached: once the call
+ * completes the key is released and the next caller runs the work again.
+ * </p>
+ *
+ * <p>
+ * The shared work runs under its own {@link CancellationToken}, cancelled only once every
+ * waiting caller's token is cancelled, so one client going away does not fail the others.
+ * </p>
+ */
+final class SingleFlight {
+
+    private final ConcurrentHashMap<String, Call> inFlight = new ConcurrentHashMap<>();
+
+    Object run(String key, Callable<Object> work) throws Exception {
+        var caller = CancellationToken.current();
+        while (true) {
+            // The leader is a waiter before the call is published, so a follower that joins
+            // and leaves right away cannot cancel the shared token under it.
+            var call = new Call();
+            call.join(caller);
+            var existing = inFlight.putIfAbsent(key, call);
+            if (existing == null) {
+                return lead(key, call, work);
+            }
+            if (existing.join(caller)) {
+                return existing.await(caller);
+            }
+            // Every caller of the existing call gave up; it is being cancelled.
+            inFlight.remove(key, existing);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private Object lead(String key, Call call, Callable<Object> work) throws Exception {
+        Object result;
+        try (var scope = call.shared.bind()) {
+            result = work.call();
+        } catch (Exception | Error e) {
+            inFlight.remove(key, call);
+            call.result.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, call);
+        call.result.complete(result);
+        return result;
+    }
+
+    private static final class Call {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final CancellationToken shared = CancellationToken.create();
+        private int waiters;
+
+        /**
+         * Adds a caller; false if the call is already cancelled because all callers left.
+         */
+        synchronized boolean join(CancellationToken caller) {
+            if (shared.isCancelled()) {
+                return false;
+            }
+            waiters++;
+            caller.onCancel(this::leave);
+            return true;
+        }
+
+        private synchronized void leave() {
+            if (--waiters == 0) {
+                shared.cancel("All callers cancelled");
+            }
+        }
+
+        Object await(CancellationToken caller) throws Exception {
+            var mine = new CompletableFuture<Object>();
+            result.whenComplete((value, failure) -> {
+                if (failure != null) {
+                    mine.completeExceptionally(failure);
+                } else {
+                    mine.complete(value);
+                }
+            });
+            caller.onCancel(() -> mine.completeExceptionally(new CancellationException("Request cancelled")));
+            try {
+                return mine.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Key for a tool call: the tool name plus its arguments with object fields sorted, so
+     * that field order does not matter. Top-level fields in {@code ignored} are left out.
+     */
+    static String key(String tool, JsonNode input, Set<String> ignored) {
+        var key = new StringBuilder(tool).append(':');
+        if (input != null && input.isObject()) {
+            var names = new ArrayList<String>();
+            input.fieldNames().forEachRemaining(names::add);
+            names.removeAll(ignored);
+            appendObject(key, input, names);
+        } else {
+            appendCanonical(key, input);
+        }
+        return key.toString();
+    }
+
+    private static void appendCanonical(StringBuilder key, JsonNode node) {
+        if (node == null || node.isMissingNode()) {
+            key.append("null");
+        } else if (node.isObject()) {
+            var names = new ArrayList<String>();
+            node.fieldNames().forEachRemaining(names::add);
+            appendObject(key, node, names);
+        } else if (node.isArray()) {
+            key.append('[');
+            for (int i = 0; i < node.size(); i++) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                appendCanonical(key, node.get(i));
+            }
+            key.append(']');
+        } else {
+            key.append(node);
+        }
+    }
+
+    private static void appendObject(StringBuilder key, JsonNode node, ArrayList<String> names) {
+        names.sort(null);
+        key.append('{');
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            var name = names.get(i);
+            key.append(TextNode.valueOf(name)).append(':');
+            appendCanonical(key, node.get(name));
+        }
+        key.append('}');
+    }
+}
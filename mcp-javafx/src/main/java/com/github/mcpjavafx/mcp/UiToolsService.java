@@ -2,25 +2,50 @@ package com.github.mcpjavafx.mcp;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mcpjavafx.api.InputMode;
 import com.github.mcpjavafx.api.McpJavafxConfig;
 import com.github.mcpjavafx.api.SnapshotOptions;
 import com.github.mcpjavafx.core.actions.ActionExecutor;
+import com.github.mcpjavafx.core.actions.ActionPipeline;
+import com.github.mcpjavafx.core.capture.BaselineStore;
+import com.github.mcpjavafx.core.capture.FrameRecorder;
+import com.github.mcpjavafx.core.capture.PngEncoder;
 import com.github.mcpjavafx.core.capture.SceneGraphSnapshotter;
+import com.github.mcpjavafx.core.capture.ScreenCapturer;
 import com.github.mcpjavafx.core.capture.TreeFormatter;
+import com.github.mcpjavafx.core.capture.VisualComparator;
+import com.github.mcpjavafx.core.fx.FxAdmission;
+import com.github.mcpjavafx.core.fx.FxBusyException;
 import com.github.mcpjavafx.core.fx.FxTimeoutException;
 import com.github.mcpjavafx.core.fx.NodeRefService;
+import com.github.mcpjavafx.core.fx.QuiescenceDetector;
+import com.github.mcpjavafx.core.fx.SceneWalk;
 import com.github.mcpjavafx.core.model.ErrorCode;
 import com.github.mcpjavafx.core.model.McpError;
 import com.github.mcpjavafx.core.model.NodeRef;
+import com.github.mcpjavafx.core.model.SnapshotDelta;
+import com.github.mcpjavafx.core.model.TraversalCursor;
+import com.github.mcpjavafx.core.model.UiNode;
+import com.github.mcpjavafx.core.query.ConditionWaiter;
 import com.github.mcpjavafx.core.query.NodeQueryService;
+import com.github.mcpjavafx.core.query.NodeSelector;
 import com.github.mcpjavafx.core.query.QueryPredicate;
+import com.github.mcpjavafx.core.query.WaitCondition;
+
+import javafx.scene.Node;
 
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,14 +57,28 @@ public class UiToolsService {
     private static final Logger LOG = Logger.getLogger(UiToolsService.class.getName());
     private static final int COMPACT_DEFAULT_DEPTH = 8;
     private static final int DEFAULT_QUERY_LIMIT = 50;
-    private static final Set<String> SNAPSHOT_NODE_FIELDS = Set.of("ref", "type", "id", "text", "value", "children");
+    private static final int DEFAULT_DELTA_LIMIT = 200;
+    private static final int DEFAULT_FRAME_LIMIT = 10;
+    private static final int MAX_HEATMAP_SIZE = 256;
+    private static final int BASELINE_COMPRESSION_LEVEL = 6;
+    private static final Set<String> SNAPSHOT_NODE_FIELDS = Set.of("ref", "type", "id", "text", "value", "children",
+            "collapsedChildren");
+    // Applied to the result after execution, so calls differing only here share one execution.
+    private static final Set<String> PRESENTATION_FIELDS = Set.of("resultFormat");
 
     private final McpJavafxConfig config;
     private final ObjectMapper mapper;
     private final SceneGraphSnapshotter snapshotter;
     private final NodeQueryService queryService;
     private final ActionExecutor actionExecutor;
+    private final ConditionWaiter conditionWaiter;
+    private final NodeRefService nodeRefService;
     private final TreeFormatter treeFormatter;
+    private final ScreenCapturer screenCapturer;
+    private final FrameRecorder frameRecorder;
+    private final BaselineStore baselineStore;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final FxAdmission admission;
 
     public UiToolsService(McpJavafxConfig config, ObjectMapper mapper) {
         this(config, mapper, new NodeRefService());
@@ -48,15 +87,64 @@ public class UiToolsService {
     public UiToolsService(McpJavafxConfig config, ObjectMapper mapper, NodeRefService nodeRefService) {
         this.config = Objects.requireNonNull(config, "config");
         this.mapper = Objects.requireNonNull(mapper, "mapper");
-        Objects.requireNonNull(nodeRefService, "nodeRefService");
+        this.nodeRefService = Objects.requireNonNull(nodeRefService, "nodeRefService");
 
         this.snapshotter = new SceneGraphSnapshotter(config.fxTimeoutMs());
         this.queryService = new NodeQueryService(config.fxTimeoutMs());
-        this.actionExecutor = new ActionExecutor(config.fxTimeoutMs(), queryService, nodeRefService);
+        this.actionExecutor = new ActionExecutor(config.fxTimeoutMs(), config.doubleClickIntervalMs(),
+                queryService, nodeRefService);
+        this.conditionWaiter = new ConditionWaiter(queryService, config.fxTimeoutMs(), config.maxWaitMs());
         this.treeFormatter = new TreeFormatter();
+        this.screenCapturer = new ScreenCapturer(config.fxTimeoutMs(), nodeRefService,
+                new PngEncoder(config.screenshotCompressionLevel()));
+        this.frameRecorder = new FrameRecorder(screenCapturer);
+        this.baselineStore = config.visualBaselineDir() != null ? new BaselineStore(config.visualBaselineDir()) : null;
+        this.admission = new FxAdmission(
+                new FxAdmission.Limits(config.admissionMaxConcurrent(), config.admissionMaxQueued(),
+                        config.admissionMaxFxPending(), config.fxTimeoutMs()),
+                toolConcurrency(config));
+    }
+
+    /**
+     * Per-tool concurrency limits. Image captures hold the FX thread for a whole-scene snapshot
+     * each, so they run fewer at a time. ui_wait_for spends its timeout waiting for pulses and
+     * gets its own, usually higher limit; it stays finite because every pending wait re-runs its
+     * query after each pulse.
+     */
+    private static Map<String, Integer> toolConcurrency(McpJavafxConfig config) {
+        var max = config.admissionMaxConcurrent();
+        return Map.of(
+                "ui_screenshot", lowered(max, 2),
+                "ui_visual_assert", lowered(max, 1),
+                "ui_record", lowered(max, 1),
+                "ui_wait_for", config.admissionMaxWaiters());
+    }
+
+    private static int lowered(int maxConcurrent, int limit) {
+        return maxConcurrent > 0 ? Math.min(maxConcurrent, limit) : 0;
+    }
+
+    public FrameRecorder frameRecorder() {
+        return frameRecorder;
+    }
+
+    public FxAdmission admission() {
+        return admission;
     }
 
     public Object executeGetSnapshot(JsonNode input) throws Exception {
+        return coalesced("ui_get_snapshot", input, () -> admission.run("ui_get_snapshot", () -> getSnapshot(input)));
+    }
+
+    /**
+     * Runs a read-only tool, sharing one execution between identical concurrent calls so that
+     * simultaneous clients queue a single FX-thread pass instead of one each.
+     */
+    private Object coalesced(String tool, JsonNode input, Callable<Object> work) throws Exception {
+        return singleFlight.run(SingleFlight.key(tool, input, PRESENTATION_FIELDS), work);
+    }
+
+    private Object getSnapshot(JsonNode input) throws Exception {
         var stageModeStr = getTextOrDefault(input, "stage", "focused");
         var stageMode = parseStageMode(stageModeStr);
         var stageIndex = input.path("stageIndex").asInt(0);
@@ -64,7 +152,11 @@ public class UiToolsService {
         var compact = !"full".equals(mode);
 
         var options = buildSnapshotOptions(input, compact);
-        var snapshot = snapshotter.capture(stageMode, stageIndex, options);
+        var walk = parseWalk(input);
+        if (walk == null) {
+            return McpError.of(ErrorCode.MCP_UI_INTERNAL, "Invalid cursor: " + input.path("cursor").asText());
+        }
+        var snapshot = snapshotter.capture(stageMode, stageIndex, options, walk);
 
         if (snapshot.stages().isEmpty()) {
             return McpError.of(ErrorCode.MCP_UI_NO_STAGES, "No stages found");
@@ -73,11 +165,39 @@ public class UiToolsService {
         var lightweight = TreeFormatter.lightweightFrom(snapshot);
         var tree = treeFormatter.format(lightweight);
         var structured = NodeFieldFilter.filterSnapshot(mapper, lightweight, SNAPSHOT_NODE_FIELDS);
+        if (walk.stopped()) {
+            var cursor = walk.stoppedAt().toString();
+            structured.put("truncated", true);
+            structured.put("cursor", cursor);
+            tree = tree + "\n... truncated at timeoutMs, continue with cursor \"" + cursor + "\"";
+        }
         return new SnapshotResult(tree, structured);
     }
 
+    /**
+     * Deadline and resume position for a traversal, from {@code timeoutMs} and {@code cursor};
+     * null if the cursor is malformed. The deadline can shorten a traversal, never extend it
+     * past the FX timeout.
+     */
+    private SceneWalk parseWalk(JsonNode input) {
+        var cursorText = input.path("cursor").textValue();
+        TraversalCursor cursor = null;
+        if (cursorText != null && !cursorText.isBlank()) {
+            try {
+                cursor = TraversalCursor.parse(cursorText);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return SceneWalk.within(Math.min(parseTimeoutMs(input), config.fxTimeoutMs()), cursor);
+    }
+
     private SnapshotOptions buildSnapshotOptions(JsonNode input, boolean compact) {
-        var defaultDepth = compact
+        var maxNodes = Math.max(input.path("maxNodes").asInt(0), 0);
+        var maxBytes = Math.max(input.path("maxBytes").asInt(0), 0);
+        // A budget bounds the payload by itself, so it replaces the compact depth cap.
+        var budgeted = maxNodes > 0 || maxBytes > 0;
+        var defaultDepth = compact && !budgeted
                 ? Math.min(config.snapshotDefaults().depth(), COMPACT_DEFAULT_DEPTH)
                 : config.snapshotDefaults().depth();
         var depth = input.has("depth") ? input.path("depth").asInt(defaultDepth) : defaultDepth;
@@ -111,10 +231,16 @@ public class UiToolsService {
                 .includeAccessibility(includeAccessibility)
                 .includeControlInternals(includeControlInternals)
                 .skeleton(skeleton)
+                .maxNodes(maxNodes)
+                .maxBytes(maxBytes)
                 .build();
     }
 
     public Object executeQuery(JsonNode input) throws Exception {
+        return coalesced("ui_query", input, () -> admission.run("ui_query", () -> query(input)));
+    }
+
+    private Object query(JsonNode input) throws Exception {
         var scopeNode = input.path("scope");
         var stageIndex = scopeNode.path("stageIndex").asInt(-1);
         var scopeStage = scopeNode.path("stage").asText().toLowerCase();
@@ -122,28 +248,90 @@ public class UiToolsService {
             stageIndex = -1;
         }
         var limit = input.path("limit").asInt(DEFAULT_QUERY_LIMIT);
+        var walk = parseWalk(input);
+        if (walk == null) {
+            return McpError.of(ErrorCode.MCP_UI_INTERNAL, "Invalid cursor: " + input.path("cursor").asText());
+        }
 
         var selectorNode = input.path("selector");
         List<NodeQueryService.QueryMatch> matches;
 
         if (selectorNode.has("css")) {
             var css = selectorNode.path("css").asText();
-            matches = queryService.queryCss(stageIndex, css, limit);
+            matches = queryService.queryCss(stageIndex, css, limit, walk);
         } else if (selectorNode.has("text")) {
             var text = selectorNode.path("text").asText();
             var matchMode = getTextOrDefault(selectorNode, "match", "contains");
-            matches = queryService.queryText(stageIndex, text, matchMode, limit);
+            matches = queryService.queryText(stageIndex, text, matchMode, limit, walk);
         } else if (selectorNode.has("predicate")) {
             var predicate = mapper.treeToValue(selectorNode.path("predicate"), QueryPredicate.class);
-            matches = queryService.queryPredicate(stageIndex, predicate, limit);
+            matches = queryService.queryPredicate(stageIndex, predicate, limit, walk);
         } else {
             return McpError.of(ErrorCode.MCP_UI_INTERNAL, "No selector specified");
         }
 
-        return Map.of("matches", matches);
+        if (!walk.stopped()) {
+            return Map.of("matches", matches);
+        }
+        var result = new LinkedHashMap<String, Object>();
+        result.put("matches", matches);
+        result.put("truncated", true);
+        result.put("cursor", walk.stoppedAt().toString());
+        return result;
+    }
+
+    public Object executeWaitFor(JsonNode input) throws Exception {
+        return admission.run("ui_wait_for", () -> waitFor(input));
+    }
+
+    private Object waitFor(JsonNode input) throws Exception {
+        var condition = parseWaitCondition(input);
+        if (condition == null) {
+            return McpError.of(ErrorCode.MCP_UI_INTERNAL, "No selector specified");
+        }
+        return conditionWaiter.await(condition, parseTimeoutMs(input));
+    }
+
+    private WaitCondition parseWaitCondition(JsonNode input) throws Exception {
+        var selector = parseSelector(input.path("selector"));
+        if (selector == null) {
+            return null;
+        }
+        var countNode = input.path("count");
+        return new WaitCondition(
+                WaitCondition.Kind.parse(input.path("condition").textValue()),
+                selector,
+                input.path("scope").path("stageIndex").asInt(-1),
+                input.path("text").textValue(),
+                countNode.isNumber() ? countNode.asInt() : 1);
+    }
+
+    private NodeSelector parseSelector(JsonNode selectorNode) throws Exception {
+        if (selectorNode.has("css")) {
+            return NodeSelector.css(selectorNode.path("css").asText());
+        } else if (selectorNode.has("text")) {
+            return NodeSelector.text(selectorNode.path("text").asText(),
+                    getTextOrDefault(selectorNode, "match", "contains"));
+        } else if (selectorNode.has("predicate")) {
+            return NodeSelector.predicate(mapper.treeToValue(selectorNode.path("predicate"), QueryPredicate.class));
+        }
+        return null;
+    }
+
+    private int parseTimeoutMs(JsonNode input) {
+        var timeoutMs = input.path("timeoutMs").asInt(config.fxTimeoutMs());
+        return timeoutMs > 0 ? timeoutMs : config.fxTimeoutMs();
+    }
+
+    private int batchTimeoutMs(JsonNode input) {
+        return Math.min(parseTimeoutMs(input), config.maxWaitMs());
     }
 
     public Object executeGetNode(JsonNode input) throws Exception {
+        return coalesced("ui_get_node", input, () -> admission.run("ui_get_node", () -> getNode(input)));
+    }
+
+    private Object getNode(JsonNode input) throws Exception {
         var refNode = input.path("ref");
         var ref = mapper.treeToValue(refNode, NodeRef.class);
         var node = queryService.findByRef(ref);
@@ -169,6 +357,10 @@ public class UiToolsService {
     }
 
     public Object executePerform(JsonNode input) throws Exception {
+        return admission.run("ui_perform", () -> perform(input));
+    }
+
+    private Object perform(JsonNode input) throws Exception {
         if (!config.allowActions()) {
             return McpError.of(ErrorCode.MCP_UI_ACTION_FAILED, "Actions are disabled");
         }
@@ -178,55 +370,222 @@ public class UiToolsService {
             return McpError.of(ErrorCode.MCP_UI_INTERNAL, "actions must be an array");
         }
 
-        var results = new ArrayList<ActionExecutor.ActionResult>();
+        var batchInput = input.path("input").textValue();
+        var batchMode = batchInput != null ? InputMode.parse(batchInput) : config.defaultInputMode();
+
+        var steps = new ArrayList<ActionPipeline.Step>();
         for (var actionNode : actionsNode) {
             var type = actionNode.path("type").asText();
-            var res = executeAction(type, actionNode);
-            results.add(res);
+            steps.add(new ActionPipeline.Step(
+                    type,
+                    actionNode.path("awaitUiIdle").asBoolean(false),
+                    () -> startAction(type, actionNode, resolveInputMode(actionNode, batchMode))));
+        }
+
+        var awaitUiIdle = getBooleanOrDefault(input, "awaitUiIdle", true);
+        var idleOptions = new QuiescenceDetector.Options(
+                input.path("idleStablePulses").asInt(QuiescenceDetector.DEFAULT_STABLE_PULSES),
+                QuiescenceDetector.DEFAULT_MAX_WAIT_MS);
+        var pipeline = new ActionPipeline(steps, awaitUiIdle, idleOptions);
+
+        var deltaSpec = parseDeltaSpec(input.path("delta"));
+        if (deltaSpec == null) {
+            return PerformResult.of(pipeline.run(batchTimeoutMs(input)), null);
+        }
+
+        // Resolved before the batch runs, so a bad scope fails without performing any action.
+        Node scope = null;
+        if (deltaSpec.scope() != null) {
+            scope = queryService.findByRef(deltaSpec.scope());
+            if (scope == null) {
+                return McpError.of(ErrorCode.MCP_UI_NODE_NOT_FOUND,
+                        "Delta scope not found: " + deltaSpec.scope().path() + " / " + deltaSpec.scope().uid());
+            }
+        }
+        var scopeRoots = scope != null ? List.of(scope) : null;
+
+        var roots = new AtomicReference<List<Node>>(List.of());
+        var before = new AtomicReference<Map<String, UiNode>>();
+        var after = new AtomicReference<Map<String, UiNode>>();
+        pipeline.beforeFirst(() -> {
+            roots.set(scopeRoots != null ? scopeRoots : stageRoots());
+            before.set(snapshotter.captureFlat(roots.get(), deltaSpec.options()));
+        }).afterLast(() -> after.set(snapshotter.captureFlat(roots.get(), deltaSpec.options())));
+
+        var batch = pipeline.run(batchTimeoutMs(input));
+        if (before.get() == null) {
+            return PerformResult.of(batch, null);
+        }
+        // A timed-out batch skips the afterLast hook; diff against the current state instead.
+        var afterNodes = after.get() != null ? after.get() : snapshotter.captureFlat(roots.get(), deltaSpec.options());
+        return PerformResult.of(batch, SnapshotDelta.between(before.get(), afterNodes, deltaSpec.limit()));
+    }
+
+    /**
+     * What to diff around a ui_perform batch.
+     *
+     * @param scope   subtree root, or null for all showing stages
+     * @param options capture options for each node
+     * @param limit   maximum number of delta entries
+     */
+    private record DeltaSpec(NodeRef scope, SnapshotOptions options, int limit) {
+    }
+
+    private DeltaSpec parseDeltaSpec(JsonNode deltaNode) throws Exception {
+        if (!deltaNode.isObject() && !deltaNode.asBoolean(false)) {
+            return null;
+        }
+        var options = SnapshotOptions.builder()
+                .depth(deltaNode.path("depth").asInt(config.snapshotDefaults().depth()))
+                .includeBounds(deltaNode.path("includeBounds").asBoolean(false))
+                .includeLocalToScreen(false)
+                .includeProperties(deltaNode.path("includeProperties").asBoolean(false))
+                .includeVirtualization(true)
+                .includeAccessibility(false)
+                .includeControlInternals(deltaNode.path("includeControlInternals").asBoolean(false))
+                .build();
+        return new DeltaSpec(
+                extractRef(deltaNode, "scope", "ref"),
+                options,
+                deltaNode.path("limit").asInt(DEFAULT_DELTA_LIMIT));
+    }
+
+    /**
+     * Scene roots of all showing stages. Must be called on the FX Application Thread.
+     */
+    private List<Node> stageRoots() {
+        var roots = new ArrayList<Node>();
+        for (var stage : nodeRefService.getSortedStages()) {
+            if (stage.getScene() != null && stage.getScene().getRoot() != null) {
+                roots.add(stage.getScene().getRoot());
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Per-action {@code input} overrides the batch mode.
+     */
+    private InputMode resolveInputMode(JsonNode actionNode, InputMode batchMode) {
+        var value = actionNode.path("input").textValue();
+        return value != null ? InputMode.parse(value) : batchMode;
+    }
+
+    /**
+     * Starts an action on the FX thread. Multi-step gestures complete on later pulses.
+     */
+    private CompletableFuture<ActionExecutor.ActionResult> startAction(String type, JsonNode actionNode,
+            InputMode mode) throws Exception {
+        return switch (type) {
+            case "doubleClick" -> actionExecutor.doubleClickAsync(
+                    extractRef(actionNode, "target", "ref"),
+                    extractDouble(actionNode.path("x")),
+                    extractDouble(actionNode.path("y")),
+                    parseGestureOptions(actionNode),
+                    mode);
+            case "drag" -> actionExecutor.dragAsync(
+                    extractRef(actionNode, "from", "ref"),
+                    extractDouble(actionNode.path("from").path("x")),
+                    extractDouble(actionNode.path("from").path("y")),
+                    extractRef(actionNode, "to", "ref"),
+                    extractDouble(actionNode.path("to").path("x")),
+                    extractDouble(actionNode.path("to").path("y")),
+                    getTextOrDefault(actionNode, "button", "PRIMARY"),
+                    parseGestureOptions(actionNode),
+                    mode);
+            case "typeText" -> actionExecutor.typeTextAsync(
+                    actionNode.path("text").asText(),
+                    mode,
+                    actionNode.path("charsPerPulse").asInt(ActionExecutor.DEFAULT_CHARS_PER_PULSE));
+            case "waitFor" -> startWaitFor(actionNode);
+            case "scrollToItem", "selectItem", "clickItem", "editItem" -> startItemAction(type, actionNode, mode);
+            default -> CompletableFuture.completedFuture(executeAction(type, actionNode, mode));
+        };
+    }
+
+    private CompletableFuture<ActionExecutor.ActionResult> startWaitFor(JsonNode actionNode) throws Exception {
+        var condition = parseWaitCondition(actionNode);
+        if (condition == null) {
+            return CompletableFuture.completedFuture(
+                    ActionExecutor.ActionResult.failure("waitFor", "No selector specified"));
         }
+        var timeoutMs = conditionWaiter.cap(parseTimeoutMs(actionNode));
+        return conditionWaiter.start(condition, timeoutMs)
+                .thenApply(result -> result.satisfied()
+                        ? ActionExecutor.ActionResult.success("waitFor")
+                        : ActionExecutor.ActionResult.failure("waitFor",
+                                "Condition " + condition.kind() + " not met within " + timeoutMs + "ms"));
+    }
+
+    private CompletableFuture<ActionExecutor.ActionResult> startItemAction(String type, JsonNode actionNode,
+            InputMode mode) throws Exception {
+        var indexNode = actionNode.path("index");
+        var item = actionNode.path("item").textValue();
+        if (!indexNode.isInt() && item == null) {
+            return CompletableFuture.completedFuture(
+                    ActionExecutor.ActionResult.failure(type, "Item index or text must be specified"));
+        }
+        var ref = extractRef(actionNode, "target", "ref");
+        var target = new ActionExecutor.ItemTarget(
+                indexNode.isInt() ? Integer.valueOf(indexNode.asInt()) : null,
+                item,
+                actionNode.path("column").textValue());
+        return switch (type) {
+            case "scrollToItem" -> actionExecutor.scrollToItemAsync(ref, target);
+            case "selectItem" -> actionExecutor.selectItemAsync(ref, target);
+            case "clickItem" -> actionExecutor.clickItemAsync(
+                    ref,
+                    target,
+                    getTextOrDefault(actionNode, "button", "PRIMARY"),
+                    actionNode.path("clickCount").asInt(1),
+                    mode);
+            default -> actionExecutor.editItemAsync(
+                    ref,
+                    target,
+                    actionNode.path("text").textValue(),
+                    getBooleanOrDefault(actionNode, "commit", true));
+        };
+    }
 
-        return Map.of("results", results);
+    private ActionExecutor.GestureOptions parseGestureOptions(JsonNode actionNode) {
+        var steps = actionNode.path("steps").asInt(ActionExecutor.GestureOptions.DEFAULT_DRAG_STEPS);
+        var durationNode = actionNode.path("durationMs");
+        var durationMs = durationNode.isNumber() ? Integer.valueOf(durationNode.asInt()) : null;
+        var easing = ActionExecutor.GestureOptions.parseEasing(actionNode.path("easing").textValue());
+        return new ActionExecutor.GestureOptions(steps, durationMs, easing);
     }
 
-    private ActionExecutor.ActionResult executeAction(String type, JsonNode actionNode) throws Exception {
+    private ActionExecutor.ActionResult executeAction(String type, JsonNode actionNode, InputMode mode)
+            throws Exception {
         return switch (type) {
             case "click" -> actionExecutor.click(
                     extractRef(actionNode, "target", "ref"),
                     extractDouble(actionNode.path("x")),
-                    extractDouble(actionNode.path("y")));
+                    extractDouble(actionNode.path("y")),
+                    mode);
             case "focus" -> actionExecutor.focus(extractRef(actionNode, "target", "ref"));
             case "setText" -> actionExecutor.setText(
                     extractRef(actionNode, "target", "ref"),
                     actionNode.path("text").asText());
-            case "typeText" -> actionExecutor.typeText(actionNode.path("text").asText());
             case "pressKey" -> actionExecutor.pressKey(
                     actionNode.path("key").asText(),
                     parseModifiers(actionNode.path("modifiers")));
             case "scroll" -> actionExecutor.scroll(
                     extractRef(actionNode, "target", "ref"),
-                    actionNode.path("deltaY").asInt());
-            case "doubleClick" -> actionExecutor.doubleClick(
-                    extractRef(actionNode, "target", "ref"),
-                    extractDouble(actionNode.path("x")),
-                    extractDouble(actionNode.path("y")));
+                    actionNode.path("deltaY").asInt(),
+                    mode);
             case "mousePressed" -> actionExecutor.mousePressed(
                     extractRef(actionNode, "target", "ref"),
-                    actionNode.path("button").asText("PRIMARY"),
+                    getTextOrDefault(actionNode, "button", "PRIMARY"),
                     extractDouble(actionNode.path("x")),
-                    extractDouble(actionNode.path("y")));
+                    extractDouble(actionNode.path("y")),
+                    mode);
             case "mouseReleased" -> actionExecutor.mouseReleased(
                     extractRef(actionNode, "target", "ref"),
-                    actionNode.path("button").asText("PRIMARY"),
+                    getTextOrDefault(actionNode, "button", "PRIMARY"),
                     extractDouble(actionNode.path("x")),
-                    extractDouble(actionNode.path("y")));
-            case "drag" -> actionExecutor.drag(
-                    extractRef(actionNode, "from", "ref"),
-                    extractDouble(actionNode.path("from").path("x")),
-                    extractDouble(actionNode.path("from").path("y")),
-                    extractRef(actionNode, "to", "ref"),
-                    extractDouble(actionNode.path("to").path("x")),
-                    extractDouble(actionNode.path("to").path("y")),
-                    actionNode.path("button").asText("PRIMARY"));
+                    extractDouble(actionNode.path("y")),
+                    mode);
             default -> ActionExecutor.ActionResult.failure(type, "Unknown action type: " + type);
         };
     }
@@ -250,6 +609,10 @@ public class UiToolsService {
         return mapper.treeToValue(current, NodeRef.class);
     }
 
+    private Integer extractInteger(JsonNode node) {
+        return node != null && node.isInt() ? Integer.valueOf(node.asInt()) : null;
+    }
+
     private Double extractDouble(JsonNode node) {
         if (node == null || node.isMissingNode() || node.isNull()) {
             return null;
@@ -258,15 +621,243 @@ public class UiToolsService {
     }
 
     public Object executeScreenshot(JsonNode input) throws Exception {
+        return admission.run("ui_screenshot", () -> screenshot(input));
+    }
+
+    private Object screenshot(JsonNode input) throws Exception {
         var stageIndex = input.path("stageIndex").asInt(-1);
-        var base64 = actionExecutor.screenshot(stageIndex);
-        if (base64 == null) {
-            return McpError.of(ErrorCode.MCP_UI_INTERNAL, "Failed to capture screenshot");
+
+        Node node = null;
+        var ref = extractRef(input, "ref");
+        if (ref != null) {
+            node = queryService.findByRef(ref);
+            if (node == null) {
+                return McpError.of(ErrorCode.MCP_UI_NODE_NOT_FOUND,
+                        "Node not found: " + ref.path() + " / " + ref.uid());
+            }
+        }
+
+        var options = new ScreenCapturer.Options(
+                extractInteger(input.path("maxWidth")),
+                extractInteger(input.path("maxHeight")),
+                ScreenCapturer.Format.parse(input.path("format").textValue()),
+                extractInteger(input.path("quality")),
+                extractInteger(input.path("compressionLevel")),
+                input.path("since").textValue(),
+                input.path("tileSize").asInt(ScreenCapturer.DEFAULT_TILE_SIZE),
+                input.path("marks").asBoolean(false));
+        var capture = screenCapturer.capture(stageIndex, node, options);
+        if (capture == null) {
+            return McpError.of(ErrorCode.MCP_UI_INTERNAL,
+                    node != null ? "Node is not showing" : "Failed to capture screenshot");
+        }
+
+        var base64 = Base64.getEncoder();
+        var result = new LinkedHashMap<String, Object>();
+        result.put("contentType", capture.contentType());
+        result.put("frameId", capture.frameId());
+        result.put("width", capture.width());
+        result.put("height", capture.height());
+        result.put("scale", capture.scale());
+        if (capture.marks() != null) {
+            result.put("marks", capture.marks());
         }
-        return Map.of("contentType", "image/png", "dataBase64", base64);
+        if (capture.diff() == null) {
+            result.put("dataBase64", base64.encodeToString(capture.data()));
+            return result;
+        }
+
+        var diff = capture.diff();
+        var tiles = new ArrayList<Map<String, Object>>(diff.tiles().size());
+        for (var tile : diff.tiles()) {
+            tiles.add(Map.of(
+                    "x", tile.x(),
+                    "y", tile.y(),
+                    "width", tile.width(),
+                    "height", tile.height(),
+                    "dataBase64", base64.encodeToString(tile.data())));
+        }
+        result.put("since", diff.since());
+        result.put("tileSize", diff.tileSize());
+        result.put("unchangedTiles", diff.unchangedTiles());
+        result.put("tiles", tiles);
+        return result;
+    }
+
+    public Object executeVisualAssert(JsonNode input) throws Exception {
+        return admission.run("ui_visual_assert", () -> visualAssert(input));
+    }
+
+    private Object visualAssert(JsonNode input) throws Exception {
+        if (baselineStore == null) {
+            return McpError.of(ErrorCode.MCP_UI_NOT_ENABLED,
+                    "Visual baselines are disabled; set -Dmcp.visual.baselineDir");
+        }
+        var name = input.path("baseline").textValue();
+        var update = input.path("update").asBoolean(false);
+        var baseline = update ? null : baselineStore.read(name);
+        if (!update && baseline == null) {
+            return McpError.of(ErrorCode.MCP_UI_BASELINE_NOT_FOUND, "Baseline not found: " + name);
+        }
+
+        var stageIndex = input.path("stageIndex").asInt(-1);
+        Node node = null;
+        var ref = extractRef(input, "ref");
+        if (ref != null) {
+            node = queryService.findByRef(ref);
+            if (node == null) {
+                return McpError.of(ErrorCode.MCP_UI_NODE_NOT_FOUND,
+                        "Node not found: " + ref.path() + " / " + ref.uid());
+            }
+        }
+        var options = new ScreenCapturer.Options(
+                extractInteger(input.path("maxWidth")),
+                extractInteger(input.path("maxHeight")),
+                ScreenCapturer.Format.PNG,
+                null,
+                null,
+                null,
+                ScreenCapturer.DEFAULT_TILE_SIZE,
+                false);
+        var actual = screenCapturer.capturePixels(stageIndex, node, options);
+        if (actual == null) {
+            return McpError.of(ErrorCode.MCP_UI_INTERNAL,
+                    node != null ? "Node is not showing" : "Failed to capture screenshot");
+        }
+
+        var result = new LinkedHashMap<String, Object>();
+        if (update) {
+            baselineStore.write(name, actual, new PngEncoder(BASELINE_COMPRESSION_LEVEL));
+            result.put("pass", true);
+            result.put("updated", true);
+            result.put("width", actual.width());
+            result.put("height", actual.height());
+            return result;
+        }
+
+        var defaults = VisualComparator.Tolerance.DEFAULT;
+        var tolerance = new VisualComparator.Tolerance(
+                input.path("pixelThreshold").asInt(defaults.pixelThreshold()),
+                input.path("maxDiffRatio").asDouble(defaults.maxDiffRatio()),
+                input.path("maxHashDistance").asInt(defaults.maxHashDistance()));
+        var heatmapSize = Math.min(MAX_HEATMAP_SIZE,
+                input.path("heatmapSize").asInt(VisualComparator.DEFAULT_HEATMAP_SIZE));
+        var comparison = VisualComparator.compare(baseline, actual, tolerance, heatmapSize);
+
+        result.put("pass", comparison.pass());
+        result.put("score", comparison.score());
+        if (comparison.reason() != null) {
+            result.put("reason", comparison.reason());
+        }
+        result.put("diffPixels", comparison.diffPixels());
+        result.put("diffRatio", comparison.diffRatio());
+        result.put("hashDistance", comparison.hashDistance());
+        result.put("width", actual.width());
+        result.put("height", actual.height());
+        if (comparison.diffBounds() != null) {
+            result.put("diffBounds", comparison.diffBounds());
+        }
+        var heatmap = comparison.heatmap();
+        if (heatmap != null) {
+            var png = new PngEncoder(BASELINE_COMPRESSION_LEVEL, Runnable::run)
+                    .encode(heatmap.width(), heatmap.height(), heatmap.argb());
+            result.put("heatmap", Map.of(
+                    "contentType", "image/png",
+                    "width", heatmap.width(),
+                    "height", heatmap.height(),
+                    "dataBase64", Base64.getEncoder().encodeToString(png)));
+        }
+        return result;
+    }
+
+    public Object executeRecord(JsonNode input) throws Exception {
+        return admission.run("ui_record", () -> record(input));
+    }
+
+    private Object record(JsonNode input) throws Exception {
+        var action = getTextOrDefault(input, "action", "status").toLowerCase();
+        return switch (action) {
+            case "start" -> startRecording(input);
+            case "stop" -> frameRecorder.stop();
+            case "status" -> frameRecorder.status();
+            case "frames" -> recordedFrames(input);
+            default -> McpError.of(ErrorCode.MCP_UI_INTERNAL, "Unknown record action: " + action);
+        };
+    }
+
+    private Object startRecording(JsonNode input) throws Exception {
+        Node node = null;
+        var ref = extractRef(input, "ref");
+        if (ref != null) {
+            node = queryService.findByRef(ref);
+            if (node == null) {
+                return McpError.of(ErrorCode.MCP_UI_NODE_NOT_FOUND,
+                        "Node not found: " + ref.path() + " / " + ref.uid());
+            }
+        }
+
+        var format = input.hasNonNull("format")
+                ? ScreenCapturer.Format.parse(input.path("format").textValue())
+                : ScreenCapturer.Format.JPEG;
+        var options = new ScreenCapturer.Options(
+                extractInteger(input.path("maxWidth")),
+                extractInteger(input.path("maxHeight")),
+                format,
+                extractInteger(input.path("quality")),
+                extractInteger(input.path("compressionLevel")),
+                null,
+                ScreenCapturer.DEFAULT_TILE_SIZE,
+                false);
+        var settings = new FrameRecorder.Settings(
+                input.path("fps").asInt(FrameRecorder.DEFAULT_FPS),
+                input.path("maxFrames").asInt(FrameRecorder.DEFAULT_MAX_FRAMES),
+                input.path("maxBytes").asLong(FrameRecorder.DEFAULT_MAX_BYTES),
+                input.path("durationMs").asLong(FrameRecorder.DEFAULT_DURATION_MS),
+                input.path("stageIndex").asInt(-1),
+                node,
+                options);
+        return frameRecorder.start(settings);
+    }
+
+    private Object recordedFrames(JsonNode input) {
+        var afterSeq = input.path("afterSeq").asLong(0);
+        var frames = frameRecorder.frames(afterSeq, input.path("limit").asInt(DEFAULT_FRAME_LIMIT));
+        var base64 = Base64.getEncoder();
+        var items = new ArrayList<Map<String, Object>>(frames.size());
+        for (var frame : frames) {
+            items.add(frameToMap(frame, base64));
+        }
+
+        var result = new LinkedHashMap<String, Object>();
+        result.put("frames", items);
+        result.put("nextAfterSeq", frames.isEmpty() ? afterSeq : frames.get(frames.size() - 1).seq());
+        result.put("status", frameRecorder.status());
+        return result;
+    }
+
+    /**
+     * JSON shape of a recorded frame, shared by ui_record and the frame stream.
+     */
+    public static Map<String, Object> frameToMap(FrameRecorder.Frame frame, Base64.Encoder base64) {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("seq", frame.seq());
+        map.put("timestampMs", frame.timestampMs());
+        map.put("offsetMs", frame.offsetMs());
+        map.put("contentType", frame.contentType());
+        map.put("width", frame.width());
+        map.put("height", frame.height());
+        map.put("dataBase64", base64.encodeToString(frame.data()));
+        return map;
     }
 
     public Object wrapException(Exception e) {
+        if (e instanceof FxBusyException busy) {
+            return McpError.of(ErrorCode.MCP_UI_BUSY, busy.getMessage(),
+                    Map.of("retryAfterMs", busy.retryAfterMs()));
+        }
+        if (e instanceof CancellationException) {
+            return McpError.of(ErrorCode.MCP_UI_CANCELLED, "UI operation cancelled: " + e.getMessage());
+        }
         if (e instanceof FxTimeoutException) {
             return McpError.of(ErrorCode.MCP_UI_TIMEOUT, "UI operation timed out: " + e.getMessage());
         }
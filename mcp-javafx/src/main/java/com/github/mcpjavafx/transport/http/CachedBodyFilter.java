@@ -2,14 +2,27 @@ package com.github.mcpjavafx.transport.http;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Filter that wraps HttpServletRequest with CachedBodyRequestWrapper.
+ *
+ * <p>
+ * Bodies larger than the configured limit are rejected with 413 before the rest of the chain
+ * runs: up front when the declared Content-Length is too large, otherwise once the read exceeds it.
+ * </p>
  */
 public class CachedBodyFilter implements Filter {
 
+    private final int maxRequestBytes;
+
+    public CachedBodyFilter(int maxRequestBytes) {
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) {
     }
@@ -18,8 +31,16 @@ public class CachedBodyFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
         if (request instanceof HttpServletRequest httpRequest && "POST".equalsIgnoreCase(httpRequest.getMethod())) {
-            var wrapped = new CachedBodyRequestWrapper(httpRequest);
-            chain.doFilter(wrapped, response);
+            if (httpRequest.getContentLengthLong() > maxRequestBytes) {
+                reject(response);
+                return;
+            }
+            var body = httpRequest.getInputStream().readNBytes(maxRequestBytes + 1);
+            if (body.length > maxRequestBytes) {
+                reject(response);
+                return;
+            }
+            chain.doFilter(new CachedBodyRequestWrapper(httpRequest, body), response);
         } else {
             chain.doFilter(request, response);
         }
@@ -28,4 +49,15 @@ public class CachedBodyFilter implements Filter {
     @Override
     public void destroy() {
     }
+
+    private void reject(ServletResponse response) throws IOException {
+        if (response instanceof HttpServletResponse httpResponse) {
+            httpResponse.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            httpResponse.setHeader("Connection", "close");
+        }
+        response.setContentType("application/json; charset=utf-8");
+        response.getOutputStream().write(("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,"
+                + "\"message\":\"Request body exceeds " + maxRequestBytes + " bytes\"}}")
+                .getBytes(StandardCharsets.UTF_8));
+    }
 }
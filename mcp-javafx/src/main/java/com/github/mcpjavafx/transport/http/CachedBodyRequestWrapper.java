@@ -7,21 +7,20 @@ import jakarta.servlet.http.HttpServletRequestWrapper;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 
 /**
  * Request wrapper that keeps a copy of the body for multiple reads.
+ *
+ * <p>
+ * The JSON-RPC routing fields are peeked once per body and shared by all filters.
+ * </p>
  */
 public class CachedBodyRequestWrapper extends HttpServletRequestWrapper {
 
     private byte[] cachedBody;
-
-    public CachedBodyRequestWrapper(HttpServletRequest request) throws IOException {
-        super(request);
-        this.cachedBody = request.getInputStream().readAllBytes();
-    }
+    private JsonRpcPeek rpc;
 
     public CachedBodyRequestWrapper(HttpServletRequest request, byte[] body) {
         super(request);
@@ -34,6 +33,17 @@ public class CachedBodyRequestWrapper extends HttpServletRequestWrapper {
 
     public void setBody(byte[] newBody) {
         this.cachedBody = newBody;
+        this.rpc = null;
+    }
+
+    /**
+     * Routing fields of the current body, read on first use.
+     */
+    JsonRpcPeek rpc() {
+        if (rpc == null) {
+            rpc = JsonRpcPeek.of(cachedBody);
+        }
+        return rpc;
     }
 
     @Override
@@ -45,6 +55,11 @@ public class CachedBodyRequestWrapper extends HttpServletRequestWrapper {
                 return byteStream.read();
             }
 
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return byteStream.read(buffer, offset, length);
+            }
+
             @Override
             public boolean isFinished() {
                 return byteStream.available() == 0;
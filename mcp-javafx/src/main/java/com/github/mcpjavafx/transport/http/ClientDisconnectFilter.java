@@ -0,0 +1,156 @@
+package com.github.mcpjavafx.transport.http;
+
+import com.github.mcpjavafx.core.fx.CancellationToken;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.eclipse.jetty.ee10.servlet.ServletContextRequest;
+import org.eclipse.jetty.io.EndPoint;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.thread.Scheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Gives each MCP request a {@link CancellationToken} that is cancelled when the client goes away.
+ *
+ * <p>
+ * Jetty reports idle timeouts and similar failures to the request's failure listeners, but once an
+ * HTTP/1.1 request body has been read it does not read from the connection again until the response
+ * is complete, so a client closing its socket mid-call goes unnoticed. While the call runs, the
+ * connection is therefore polled with a non-blocking read: end of stream or a read error cancels
+ * the token. Bytes of a pipelined next request cannot be handed back to Jetty; the connection is
+ * closed after the response instead, so the client sends that request again.
+ * </p>
+ *
+ * <p>
+ * Must run after {@link CachedBodyFilter}, which has read the whole body.
+ * </p>
+ */
+public class ClientDisconnectFilter implements Filter {
+
+    static final String CANCELLATION_ATTRIBUTE = "mcp-javafx.cancellation";
+
+    private static final Logger LOG = Logger.getLogger(ClientDisconnectFilter.class.getName());
+    private static final long POLL_INTERVAL_MS = 250;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        var token = CancellationToken.create();
+        request.setAttribute(CANCELLATION_ATTRIBUTE, token);
+        var jettyRequest = ServletContextRequest.getServletContextRequest(request);
+        if (jettyRequest == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        jettyRequest.addFailureListener(failure -> {
+            LOG.fine(() -> "Cancelling MCP request: " + failure);
+            token.cancel("Client request failed: " + failure.getMessage());
+        });
+        // Only HTTP/1.x connections carry a single request whose body is already consumed.
+        var watch = request instanceof CachedBodyRequestWrapper
+                && jettyRequest.getConnectionMetaData().getHttpVersion().getVersion() < 20
+                ? new Watch(jettyRequest, token)
+                : null;
+        if (watch != null) {
+            watch.schedule();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (watch != null) {
+                watch.stop();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    /**
+     * The token the filter bound to the request, or a fresh one if the filter did not run.
+     */
+    static CancellationToken tokenOf(ServletRequest request) {
+        return request.getAttribute(CANCELLATION_ATTRIBUTE) instanceof CancellationToken token
+                ? token
+                : CancellationToken.create();
+    }
+
+    /**
+     * Polls one request's connection for end of stream until the request is handled.
+     */
+    private static final class Watch implements Runnable {
+        private final Request request;
+        private final EndPoint endPoint;
+        private final Scheduler scheduler;
+        private final CancellationToken token;
+        private final ByteBuffer buffer = BufferUtil.allocate(256);
+        private Scheduler.Task task;
+        private boolean stopped;
+
+        Watch(Request request, CancellationToken token) {
+            this.request = request;
+            this.endPoint = request.getConnectionMetaData().getConnection().getEndPoint();
+            this.scheduler = request.getComponents().getScheduler();
+            this.token = token;
+        }
+
+        synchronized void schedule() {
+            if (!stopped) {
+                task = scheduler.schedule(this, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * Stops polling; waits for a poll in progress, so Jetty is the only reader afterwards.
+         */
+        synchronized void stop() {
+            stopped = true;
+            if (task != null) {
+                task.cancel();
+            }
+        }
+
+        @Override
+        public synchronized void run() {
+            if (stopped || token.isCancelled()) {
+                return;
+            }
+            // If Jetty is reading the connection itself, it reports a disconnect as a failure.
+            if (!endPoint.isFillInterested()) {
+                try {
+                    var filled = endPoint.fill(buffer);
+                    if (filled < 0) {
+                        LOG.fine(() -> "Cancelling MCP request: client closed the connection");
+                        token.cancel("Client disconnected");
+                        return;
+                    }
+                    if (filled > 0) {
+                        BufferUtil.clear(buffer);
+                        Request.addCompletionListener(request, failure -> endPoint.close());
+                        return;
+                    }
+                } catch (IOException e) {
+                    LOG.fine(() -> "Cancelling MCP request: " + e);
+                    token.cancel("Client connection failed: " + e.getMessage());
+                    return;
+                }
+            }
+            schedule();
+        }
+    }
+}
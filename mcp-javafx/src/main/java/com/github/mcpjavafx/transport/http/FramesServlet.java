@@ -0,0 +1,106 @@
+package com.github.mcpjavafx.transport.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mcpjavafx.core.capture.FrameRecorder;
+import com.github.mcpjavafx.mcp.UiToolsService;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams recorded frames as server-sent events.
+ *
+ * <p>
+ * Non-MCP endpoint next to {@code /health}. Each frame is sent as a {@code frame} event whose id
+ * is the frame sequence number and whose data is the same JSON object {@code ui_record} returns.
+ * Buffered frames after {@code afterSeq} (or the {@code Last-Event-ID} header on reconnect) are
+ * replayed first. A subscriber that falls behind drops frames instead of slowing the recorder.
+ * The stream ends once the recording stops.
+ * </p>
+ */
+public class FramesServlet extends HttpServlet {
+
+    private static final int QUEUE_CAPACITY = 32;
+    private static final long KEEPALIVE_MS = 15_000;
+    private static final long POLL_MS = 500;
+
+    private final FrameRecorder recorder;
+    private final ObjectMapper mapper;
+
+    public FramesServlet(FrameRecorder recorder, ObjectMapper mapper) {
+        this.recorder = recorder;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        var afterSeq = parseSeq(req.getHeader("Last-Event-ID"), parseSeq(req.getParameter("afterSeq"), 0));
+
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("text/event-stream; charset=utf-8");
+        resp.setHeader("Cache-Control", "no-cache");
+        var out = resp.getWriter();
+
+        var queue = new ArrayBlockingQueue<FrameRecorder.Frame>(QUEUE_CAPACITY);
+        var unsubscribe = recorder.subscribe(queue::offer);
+        try {
+            var lastSent = afterSeq;
+            for (var frame : recorder.frames(afterSeq, Integer.MAX_VALUE)) {
+                lastSent = send(out, frame);
+            }
+            out.flush();
+
+            var idleMs = 0L;
+            while (!out.checkError()) {
+                var frame = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (frame != null) {
+                    idleMs = 0;
+                    if (frame.seq() > lastSent) {
+                        lastSent = send(out, frame);
+                        out.flush();
+                    }
+                    continue;
+                }
+                if (!recorder.isRecording()) {
+                    out.write("event: end\ndata: {}\n\n");
+                    out.flush();
+                    break;
+                }
+                idleMs += POLL_MS;
+                if (idleMs >= KEEPALIVE_MS) {
+                    idleMs = 0;
+                    out.write(": keepalive\n\n");
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            unsubscribe.run();
+        }
+    }
+
+    private long send(PrintWriter out, FrameRecorder.Frame frame) throws IOException {
+        out.write("id: " + frame.seq() + "\n");
+        out.write("event: frame\n");
+        out.write("data: " + mapper.writeValueAsString(UiToolsService.frameToMap(frame, Base64.getEncoder())) + "\n\n");
+        return frame.seq();
+    }
+
+    private static long parseSeq(String value, long defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.github.mcpjavafx.transport.http;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mcpjavafx.api.McpJavafxConfig;
+import com.github.mcpjavafx.core.fx.Fx;
+import com.github.mcpjavafx.core.fx.FxAdmission;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -21,9 +24,18 @@ public class HealthServlet extends HttpServlet {
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private final McpJavafxConfig config;
+    private final FxAdmission admission;
 
     public HealthServlet(McpJavafxConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * @param admission admission controller whose queue metrics are reported, or null
+     */
+    public HealthServlet(McpJavafxConfig config, FxAdmission admission) {
         this.config = config;
+        this.admission = admission;
     }
 
     @Override
@@ -32,16 +44,26 @@ public class HealthServlet extends HttpServlet {
         tools.add("ui_get_snapshot");
         tools.add("ui_query");
         tools.add("ui_get_node");
+        tools.add("ui_wait_for");
         if (config.allowActions()) {
             tools.add("ui_perform");
             tools.add("ui_screenshot");
+            tools.add("ui_record");
+            tools.add("ui_visual_assert");
         }
 
-        var response = Map.of(
-                "ok", true,
-                "schema", "mcp-javafx-ui/1.0",
-                "transport", "streamable-http-stateless",
-                "tools", tools);
+        var response = new LinkedHashMap<String, Object>();
+        response.put("ok", true);
+        response.put("schema", "mcp-javafx-ui/1.0");
+        response.put("transport", "streamable-http-stateless");
+        response.put("tools", tools);
+        if (admission != null) {
+            response.put("admission", Map.of(
+                    "fxPending", Fx.pendingTasks(),
+                    "fxSkipped", Fx.skippedTasks(),
+                    "rejectedFxPending", admission.rejectedFxPending(),
+                    "tools", admission.metrics()));
+        }
 
         resp.setStatus(HttpServletResponse.SC_OK);
         resp.setContentType("application/json; charset=utf-8");
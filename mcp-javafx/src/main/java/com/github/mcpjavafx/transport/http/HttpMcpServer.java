@@ -1,9 +1,11 @@
 package com.github.mcpjavafx.transport.http;
 
 import com.github.mcpjavafx.api.McpJavafxConfig;
+import com.github.mcpjavafx.core.capture.FrameRecorder;
 import com.github.mcpjavafx.mcp.McpPromptAdapter;
 import com.github.mcpjavafx.mcp.McpToolAdapter;
 import com.github.mcpjavafx.util.JsonMapperFactory;
+import io.modelcontextprotocol.common.McpTransportContext;
 import io.modelcontextprotocol.json.jackson.JacksonMcpJsonMapper;
 import io.modelcontextprotocol.server.McpServer;
 import io.modelcontextprotocol.server.McpStatelessSyncServer;
@@ -13,10 +15,15 @@ import jakarta.servlet.DispatcherType;
 import org.eclipse.jetty.ee10.servlet.FilterHolder;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
+import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 
 import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,10 +39,13 @@ public class HttpMcpServer {
     private static final Logger LOG = Logger.getLogger(HttpMcpServer.class.getName());
     private static final String MCP_ENDPOINT = "/mcp";
     private static final String HEALTH_ENDPOINT = "/health";
+    private static final String FRAMES_ENDPOINT = "/frames";
+    private static final int VIRTUAL_THREADS_PLATFORM_MAX = 8;
 
     private final McpJavafxConfig config;
     private Server jettyServer;
     private McpStatelessSyncServer mcpServer;
+    private FrameRecorder frameRecorder;
     private int actualPort;
 
     public HttpMcpServer(McpJavafxConfig config) {
@@ -56,6 +66,8 @@ public class HttpMcpServer {
         var transport = HttpServletStatelessServerTransport.builder()
                 .jsonMapper(jsonMapper)
                 .messageEndpoint(MCP_ENDPOINT)
+                .contextExtractor(request -> McpTransportContext.create(
+                        Map.of(McpToolAdapter.CANCELLATION_KEY, ClientDisconnectFilter.tokenOf(request))))
                 .build();
 
         // Create MCP Server with SDK
@@ -71,13 +83,14 @@ public class HttpMcpServer {
         // Register tools via adapter
         var toolAdapter = new McpToolAdapter(config);
         toolAdapter.registerTools(mcpServer);
+        frameRecorder = toolAdapter.frameRecorder();
 
         // Register prompts via adapter
         var promptAdapter = new McpPromptAdapter();
         promptAdapter.registerPrompts(mcpServer);
 
         // Create Jetty server
-        jettyServer = new Server();
+        jettyServer = new Server(createThreadPool());
         var connector = new ServerConnector(jettyServer);
         connector.setHost(config.bindHost());
         connector.setPort(config.port());
@@ -87,17 +100,27 @@ public class HttpMcpServer {
         context.setContextPath("/");
 
         // Unified body caching filter for all subsequent filters
-        var cachedBodyFilterHolder = new FilterHolder(new CachedBodyFilter());
+        var cachedBodyFilterHolder = new FilterHolder(new CachedBodyFilter(config.maxRequestBytes()));
         context.addFilter(cachedBodyFilterHolder, MCP_ENDPOINT + "/*", EnumSet.of(DispatcherType.REQUEST));
 
+        // Cancel in-flight tool calls whose client disconnected
+        var disconnectFilterHolder = new FilterHolder(new ClientDisconnectFilter());
+        context.addFilter(disconnectFilterHolder, MCP_ENDPOINT + "/*", EnumSet.of(DispatcherType.REQUEST));
+
         // Add MCP servlet from SDK transport
         var mcpServletHolder = new ServletHolder("mcp", transport);
         context.addServlet(mcpServletHolder, MCP_ENDPOINT + "/*");
 
         // Add health endpoint servlet
-        var healthServletHolder = new ServletHolder("health", new HealthServlet(config));
+        var healthServletHolder = new ServletHolder("health", new HealthServlet(config, toolAdapter.admission()));
         context.addServlet(healthServletHolder, HEALTH_ENDPOINT);
 
+        // Server-sent event stream of ui_record frames
+        if (config.allowActions()) {
+            var framesServletHolder = new ServletHolder("frames", new FramesServlet(frameRecorder, objectMapper));
+            context.addServlet(framesServletHolder, FRAMES_ENDPOINT);
+        }
+
         // Log incoming MCP requests
         var logFilterHolder = new FilterHolder(new RequestLoggingFilter(config));
         context.addFilter(logFilterHolder, MCP_ENDPOINT + "/*", EnumSet.of(DispatcherType.REQUEST));
@@ -110,7 +133,7 @@ public class HttpMcpServer {
         var loggingFilterHolder = new FilterHolder(new LoggingSetLevelFilter());
         context.addFilter(loggingFilterHolder, MCP_ENDPOINT + "/*", EnumSet.of(DispatcherType.REQUEST));
 
-        jettyServer.setHandler(context);
+        jettyServer.setHandler(compress(context));
         jettyServer.start();
 
         actualPort = connector.getLocalPort();
@@ -121,11 +144,48 @@ public class HttpMcpServer {
         return actualPort;
     }
 
+    /**
+     * With virtual threads, a small platform pool only runs the selector and acceptor, and Jetty
+     * hands blocking request handling (servlets waiting on the FX thread) to a new virtual thread
+     * per task, so concurrent calls do not grow the host application's thread count.
+     */
+    private QueuedThreadPool createThreadPool() {
+        var pool = config.virtualThreads()
+                ? new QueuedThreadPool(VIRTUAL_THREADS_PLATFORM_MAX, 2)
+                : new QueuedThreadPool();
+        pool.setName("McpHttp");
+        if (config.virtualThreads()) {
+            pool.setVirtualThreadsExecutor(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("McpHttp-virtual-", 0).factory()));
+        }
+        return pool;
+    }
+
+    /**
+     * Wraps the context in a streaming gzip handler negotiated through Accept-Encoding.
+     * Tool results are POST responses, so POST is included; the frame stream is excluded
+     * because its events must reach the client as soon as they are written.
+     */
+    private Handler compress(ServletContextHandler context) {
+        if (config.compressionMinBytes() < 0) {
+            return context;
+        }
+        var gzip = new GzipHandler();
+        gzip.setMinGzipSize(config.compressionMinBytes());
+        gzip.setIncludedMethods("GET", "POST");
+        gzip.addExcludedPaths(FRAMES_ENDPOINT);
+        gzip.setHandler(context);
+        return gzip;
+    }
+
     /**
      * Stops the HTTP server.
      */
     public void stop() {
         try {
+            if (frameRecorder != null) {
+                frameRecorder.shutdown();
+            }
             if (mcpServer != null) {
                 mcpServer.close();
             }
@@ -0,0 +1,97 @@
+package com.github.mcpjavafx.transport.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * The few JSON-RPC request fields the filters route on, read in one streaming pass.
+ *
+ * <p>
+ * Only {@code method}, {@code id}, {@code params.name} and the keys of
+ * {@code params.capabilities.elicitation} are looked at; every other value, including tool
+ * arguments, is skipped without building a tree. Anything that is not a single JSON object
+ * yields {@link #NONE}.
+ * </p>
+ *
+ * @param method             request method, or null
+ * @param id                 request id as String or Number, or null
+ * @param toolName           {@code params.name}, or null
+ * @param elicitationExtras  whether {@code params.capabilities.elicitation} has {@code form} or {@code url}
+ */
+record JsonRpcPeek(String method, Object id, String toolName, boolean elicitationExtras) {
+
+    static final JsonRpcPeek NONE = new JsonRpcPeek(null, null, null, false);
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    static JsonRpcPeek of(byte[] body) {
+        try (var parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return NONE;
+            }
+            String method = null;
+            Object id = null;
+            var params = NONE;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                var token = parser.nextToken();
+                switch (field) {
+                    case "method" -> method = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "id" -> id = token == JsonToken.VALUE_STRING
+                            ? parser.getText()
+                            : token.isNumeric() ? parser.getNumberValue() : null;
+                    case "params" -> {
+                        if (token == JsonToken.START_OBJECT) {
+                            params = readParams(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            return new JsonRpcPeek(method, id, params.toolName(), params.elicitationExtras());
+        } catch (IOException e) {
+            return NONE;
+        }
+    }
+
+    private static JsonRpcPeek readParams(JsonParser parser) throws IOException {
+        String name = null;
+        var extras = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var token = parser.nextToken();
+            if ("name".equals(field) && token == JsonToken.VALUE_STRING) {
+                name = parser.getText();
+            } else if ("capabilities".equals(field) && token == JsonToken.START_OBJECT) {
+                extras = readCapabilities(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new JsonRpcPeek(null, null, name, extras);
+    }
+
+    private static boolean readCapabilities(JsonParser parser) throws IOException {
+        var extras = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var token = parser.nextToken();
+            if ("elicitation".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    var key = parser.currentName();
+                    extras |= "form".equals(key) || "url".equals(key);
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return extras;
+    }
+}
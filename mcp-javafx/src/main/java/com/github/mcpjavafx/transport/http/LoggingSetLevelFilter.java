@@ -40,15 +40,15 @@ public class LoggingSetLevelFilter implements Filter {
             return;
         }
 
-        var bodyBytes = wrapped.getBody();
-        if (!isLoggingSetLevel(bodyBytes)) {
+        var rpc = wrapped.rpc();
+        if (!"logging/setLevel".equals(rpc.method())) {
             chain.doFilter(wrapped, response);
             return;
         }
 
         httpResponse.setStatus(HttpServletResponse.SC_OK);
         httpResponse.setContentType("application/json; charset=utf-8");
-        httpResponse.getOutputStream().write(ack(bodyBytes));
+        httpResponse.getOutputStream().write(ack(rpc.id()));
     }
 
     @Override
@@ -56,27 +56,7 @@ public class LoggingSetLevelFilter implements Filter {
         // No cleanup needed
     }
 
-    private boolean isLoggingSetLevel(byte[] bodyBytes) {
-        try {
-            var root = MAPPER.readTree(bodyBytes);
-            var methodNode = root.get("method");
-            var method = methodNode != null ? methodNode.asText() : "";
-            return "logging/setLevel".equals(method);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private byte[] ack(byte[] bodyBytes) throws IOException {
-        var root = MAPPER.readTree(bodyBytes);
-        var idNode = root.path("id");
-        Object idValue = null;
-        if (idNode.isTextual()) {
-            idValue = idNode.asText();
-        } else if (idNode.isNumber()) {
-            idValue = idNode.numberValue();
-        }
-
+    private byte[] ack(Object idValue) throws IOException {
         var response = new ObjectNode(MAPPER.getNodeFactory());
         response.put("jsonrpc", "2.0");
         if (idValue != null) {
@@ -13,6 +13,11 @@ import java.io.IOException;
 
 /**
  * Sanitizes MCP initialize payloads to avoid SDK incompatibilities.
+ *
+ * <p>
+ * The decision is made from the streamed {@link JsonRpcPeek}; the body is only parsed into a tree
+ * and re-serialized when it actually needs a rewrite, so ordinary requests pass through untouched.
+ * </p>
  */
 public class RequestSanitizingFilter implements Filter {
 
@@ -31,10 +36,12 @@ public class RequestSanitizingFilter implements Filter {
             return;
         }
 
-        var bodyBytes = wrapped.getBody();
-        var sanitized = sanitize(bodyBytes);
-        if (sanitized != bodyBytes) {
-            wrapped.setBody(sanitized);
+        if (needsRewrite(wrapped.rpc())) {
+            var bodyBytes = wrapped.getBody();
+            var sanitized = sanitize(bodyBytes);
+            if (sanitized != bodyBytes) {
+                wrapped.setBody(sanitized);
+            }
         }
         chain.doFilter(wrapped, response);
     }
@@ -44,6 +51,14 @@ public class RequestSanitizingFilter implements Filter {
         // No cleanup needed
     }
 
+    private boolean needsRewrite(JsonRpcPeek rpc) {
+        return switch (rpc.method() != null ? rpc.method() : "") {
+            case "initialize" -> rpc.elicitationExtras();
+            case "tools/call" -> rpc.toolName() != null && !rpc.toolName().equals(mapLegacyToolName(rpc.toolName()));
+            default -> false;
+        };
+    }
+
     private byte[] sanitize(byte[] bodyBytes) {
         try {
             var root = MAPPER.readTree(bodyBytes);
@@ -0,0 +1,49 @@
+package com.github.mcpjavafx.core.capture;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpegEncoderTest {
+
+    @Test
+    void encodedImageDecodesCloseToTheSource() throws Exception {
+        // Not a multiple of 16, so edge MCUs are padded; several MCU rows exercise restart markers.
+        var width = 45;
+        var height = 70;
+        var pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                pixels[y * width + x] = x < width / 2 ? 0xFF2060C0 : 0xFFF0F0F0;
+            }
+        }
+
+        var jpeg = new JpegEncoder(90, Runnable::run).encode(width, height, pixels);
+        var image = ImageIO.read(new ByteArrayInputStream(jpeg));
+
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+        assertColorNear(0x2060C0, image.getRGB(5, 5));
+        assertColorNear(0xF0F0F0, image.getRGB(width - 5, height - 5));
+    }
+
+    @Test
+    void translucentPixelsAreCompositedOverWhite() throws Exception {
+        var pixels = new int[16 * 16];
+        var jpeg = new JpegEncoder(JpegEncoder.DEFAULT_QUALITY).encode(16, 16, pixels);
+
+        assertColorNear(0xFFFFFF, ImageIO.read(new ByteArrayInputStream(jpeg)).getRGB(8, 8));
+    }
+
+    private static void assertColorNear(int expected, int actual) {
+        for (int shift = 0; shift <= 16; shift += 8) {
+            var e = (expected >> shift) & 0xFF;
+            var a = (actual >> shift) & 0xFF;
+            assertTrue(Math.abs(e - a) <= 8,
+                    String.format("expected #%06X but got #%06X", expected, actual & 0xFFFFFF));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.mcpjavafx.core.capture;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.zip.Adler32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PngEncoderTest {
+
+    @Test
+    void opaqueImageSpanningSeveralStripsRoundTrips() throws Exception {
+        var width = 97;
+        var height = PngEncoder.STRIP_ROWS * 3 + 5;
+        var pixels = new int[width * height];
+        var random = new Random(42);
+        for (int i = 0; i < pixels.length; i++) {
+            // Gradients with noise, so every filter type gets picked somewhere.
+            int x = i % width;
+            int y = i / width;
+            pixels[i] = 0xFF000000 | (x * 2 << 16) | (y % 256 << 8) | random.nextInt(4);
+        }
+
+        for (var level : new int[]{-1, 0, 1, 9}) {
+            var png = new PngEncoder(level, Runnable::run).encode(width, height, pixels);
+            var image = ImageIO.read(new ByteArrayInputStream(png));
+            assertEquals(width, image.getWidth());
+            assertEquals(height, image.getHeight());
+            assertFalse(image.getColorModel().hasAlpha(), "opaque images are written as RGB");
+            for (int i = 0; i < pixels.length; i++) {
+                assertEquals(pixels[i], image.getRGB(i % width, i / width), "pixel " + i + " at level " + level);
+            }
+        }
+    }
+
+    @Test
+    void translucentImageKeepsAlpha() throws Exception {
+        var pixels = new int[]{0x00000000, 0x80FF0000, 0xFF00FF00, 0x400000FF};
+        var png = new PngEncoder(6).encode(2, 2, pixels);
+
+        var image = ImageIO.read(new ByteArrayInputStream(png));
+        assertTrue(image.getColorModel().hasAlpha());
+        assertEquals(0x80FF0000, image.getRGB(1, 0));
+        assertEquals(0x400000FF, image.getRGB(1, 1));
+    }
+
+    @Test
+    void combinedAdlerMatchesSequentialChecksum() {
+        var first = "Hello, ".getBytes();
+        var second = "PNG strips!".getBytes();
+        var a = new Adler32();
+        a.update(first);
+        var b = new Adler32();
+        b.update(second);
+        var whole = new Adler32();
+        whole.update(first);
+        whole.update(second);
+
+        assertEquals(whole.getValue(), PngEncoder.combineAdler(a.getValue(), b.getValue(), second.length));
+    }
+}
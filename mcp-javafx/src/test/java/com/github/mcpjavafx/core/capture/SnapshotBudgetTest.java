@@ -0,0 +1,55 @@
+package com.github.mcpjavafx.core.capture;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotBudgetTest {
+
+    private record Tree(String name, List<Tree> children) {
+        static Tree leaf(String name) {
+            return new Tree(name, List.of());
+        }
+    }
+
+    // root -> [a -> [a0, a1, a2], b -> [b0]]
+    private final Tree b = new Tree("b", List.of(Tree.leaf("b0")));
+    private final Tree a = new Tree("a", List.of(Tree.leaf("a0"), Tree.leaf("a1"), Tree.leaf("a2")));
+    private final Tree root = new Tree("root", List.of(a, b));
+
+    @Test
+    void expandsEverythingWhenTheTreeFits() {
+        assertEquals(Set.of(root, a, b), expand(100, 0));
+    }
+
+    @Test
+    void fillsLevelsBreadthFirstAndStopsAtTheFirstChildListThatDoesNotFit() {
+        // root + a, b = 3; a's three children would make 6.
+        assertEquals(Set.of(root), expand(5, 0));
+        // b's single child would have fit, but expansion stops in order.
+        assertEquals(Set.of(root), expand(4, 0));
+    }
+
+    @Test
+    void appliesTheByteBudget() {
+        // Each node is 10 bytes: root + a + b = 30, a's children take it to 60.
+        assertEquals(Set.of(root, a), expand(0, 60));
+        assertEquals(Set.of(), expand(0, 5));
+    }
+
+    @Test
+    void respectsTheChildrenFunctionsDepthLimit() {
+        var expanded = SnapshotBudget.expand(List.of(root),
+                (node, depth) -> depth < 1 ? node.children() : List.<Tree>of(),
+                (node, depth) -> 10, 100, 0);
+        assertEquals(Set.of(root), expanded);
+    }
+
+    private Set<Tree> expand(int maxNodes, long maxBytes) {
+        return SnapshotBudget.expand(List.of(root), (node, depth) -> node.children(), (node, depth) -> 10,
+                maxNodes, maxBytes);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.mcpjavafx.core.capture;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileFrameCacheTest {
+
+    @Test
+    void reportsOnlyTheTilesThatChanged() {
+        var width = 20;
+        var height = 12;
+        var before = new int[width * height];
+        var after = before.clone();
+        after[10 * width + 17] = 0xFFFF0000; // bottom-right tile (16..19, 8..11)
+
+        var previous = TileFrameCache.hash(before, width, height, 8);
+        var current = TileFrameCache.hash(after, width, height, 8);
+
+        assertEquals(List.of(new TileFrameCache.TileRect(16, 8, 4, 4)),
+                TileFrameCache.changedTiles(previous, current));
+        assertEquals(List.of(), TileFrameCache.changedTiles(previous, TileFrameCache.hash(before, width, height, 8)));
+    }
+
+    @Test
+    void framesOfDifferentGeometryAreNotComparable() {
+        var frame = TileFrameCache.hash(new int[64], 8, 8, 8);
+
+        assertNull(TileFrameCache.changedTiles(frame, TileFrameCache.hash(new int[128], 16, 8, 8)));
+        assertNull(TileFrameCache.changedTiles(frame, TileFrameCache.hash(new int[64], 8, 8, 4)));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedFrames() {
+        var cache = new TileFrameCache(2);
+        var frame = TileFrameCache.hash(new int[64], 8, 8, 8);
+        var first = cache.put(frame);
+        var second = cache.put(frame);
+        cache.get(first);
+        cache.put(frame);
+
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+    }
+}
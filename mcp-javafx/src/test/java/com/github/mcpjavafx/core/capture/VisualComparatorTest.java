@@ -0,0 +1,95 @@
+package com.github.mcpjavafx.core.capture;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VisualComparatorTest {
+
+    @Test
+    void decodedPngMatchesEncodedPixels() {
+        var width = 33;
+        var height = PngEncoder.STRIP_ROWS + 7;
+        var pixels = new int[width * height];
+        var random = new Random(7);
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (i % 5 == 0 ? 0x80 : 0xFF) << 24 | random.nextInt(0x1000000);
+        }
+
+        for (var argb : new int[][]{pixels, opaque(pixels)}) {
+            var png = new PngEncoder(6, Runnable::run).encode(width, height, argb);
+            var decoded = PngDecoder.decode(png);
+            assertEquals(width, decoded.width());
+            assertEquals(height, decoded.height());
+            assertArrayEquals(argb, decoded.argb());
+        }
+    }
+
+    @Test
+    void smallChangeIsLocatedAndFailsStrictTolerance() {
+        var baseline = gradient(200, 100);
+        var changed = baseline.argb().clone();
+        for (int y = 40; y < 50; y++) {
+            for (int x = 150; x < 170; x++) {
+                changed[y * 200 + x] = 0xFFFF0000;
+            }
+        }
+        var actual = new ArgbImage(200, 100, 1.0, changed);
+
+        var same = VisualComparator.compare(baseline, baseline, VisualComparator.Tolerance.DEFAULT, 64);
+        assertTrue(same.pass());
+        assertEquals(1.0, same.score());
+        assertNull(same.heatmap());
+
+        var result = VisualComparator.compare(baseline, actual, VisualComparator.Tolerance.DEFAULT, 64);
+        assertFalse(result.pass());
+        assertEquals(200, result.diffPixels());
+        assertEquals(new VisualComparator.Region(150, 40, 20, 10), result.diffBounds());
+        assertEquals(64, result.heatmap().width());
+        assertEquals(32, result.heatmap().height());
+
+        var lenient = new VisualComparator.Tolerance(16, 0.05, 64);
+        assertTrue(VisualComparator.compare(baseline, actual, lenient, 64).pass());
+    }
+
+    @Test
+    void perceptualHashIgnoresNoiseButNotLayout() {
+        var baseline = gradient(160, 120);
+        var noisy = baseline.argb().clone();
+        var random = new Random(1);
+        for (int i = 0; i < noisy.length; i++) {
+            noisy[i] += random.nextInt(3);
+        }
+        var shifted = new int[baseline.argb().length];
+        for (int y = 0; y < 120; y++) {
+            for (int x = 0; x < 160; x++) {
+                shifted[y * 160 + x] = baseline.argb()[y * 160 + (159 - x)];
+            }
+        }
+
+        var hash = VisualComparator.perceptualHash(baseline);
+        assertTrue(Long.bitCount(hash ^ VisualComparator.perceptualHash(new ArgbImage(160, 120, 1, noisy))) <= 2);
+        assertTrue(Long.bitCount(hash ^ VisualComparator.perceptualHash(new ArgbImage(160, 120, 1, shifted))) > 6);
+    }
+
+    private static ArgbImage gradient(int width, int height) {
+        var argb = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                var v = (x * 255 / width + (y / 20 % 2) * 40) & 0xFF;
+                argb[y * width + x] = 0xFF000000 | v << 16 | (255 - v) << 8 | (y * 2 & 0xFF);
+            }
+        }
+        return new ArgbImage(width, height, 1.0, argb);
+    }
+
+    private static int[] opaque(int[] pixels) {
+        var result = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            result[i] = pixels[i] | 0xFF000000;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.mcpjavafx.core.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    @Test
+    void childFollowsParentButNotTheOtherWay() {
+        var parent = CancellationToken.create();
+        var first = parent.child();
+        var second = parent.child();
+
+        first.cancel("timed out");
+        assertTrue(first.isCancelled());
+        assertFalse(parent.isCancelled());
+        assertFalse(second.isCancelled());
+
+        var notified = new AtomicBoolean();
+        second.onCancel(() -> notified.set(true));
+        parent.cancel("client disconnected");
+        assertTrue(second.isCancelled());
+        assertTrue(notified.get());
+        assertEquals("client disconnected",
+                assertThrows(CancellationException.class, second::throwIfCancelled).getMessage());
+        // The first reason wins.
+        assertEquals("timed out", assertThrows(CancellationException.class, first::throwIfCancelled).getMessage());
+    }
+
+    @Test
+    void bindSetsCurrentTokenForCheckpoints() {
+        var token = CancellationToken.create();
+        assertSame(CancellationToken.NONE, CancellationToken.current());
+        try (var scope = token.bind()) {
+            assertSame(token, CancellationToken.current());
+            CancellationToken.checkpoint();
+            token.cancel("stop");
+            assertThrows(CancellationException.class, CancellationToken::checkpoint);
+        }
+        assertSame(CancellationToken.NONE, CancellationToken.current());
+        CancellationToken.checkpoint();
+    }
+
+    @Test
+    void fxAwaitReturnsOnceTheCallersTokenIsCancelled() throws Exception {
+        var token = CancellationToken.create();
+        var never = new CompletableFuture<String>();
+        try (var pool = Executors.newSingleThreadExecutor()) {
+            var waiter = pool.submit(() -> {
+                try (var scope = token.bind()) {
+                    return Fx.await(never, 60_000, "test");
+                }
+            });
+            Thread.sleep(50);
+            token.cancel("client disconnected");
+            var error = assertThrows(ExecutionException.class,
+                    () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(CancellationException.class, error.getCause());
+        }
+        assertFalse(never.isDone());
+
+        try (var scope = token.bind()) {
+            assertThrows(CancellationException.class, () -> Fx.await(never, 60_000, "test"));
+        }
+    }
+
+    @Test
+    void noneIsNeverCancelled() {
+        CancellationToken.NONE.cancel("ignored");
+        assertFalse(CancellationToken.NONE.isCancelled());
+        assertFalse(CancellationToken.NONE.child().isCancelled());
+    }
+}
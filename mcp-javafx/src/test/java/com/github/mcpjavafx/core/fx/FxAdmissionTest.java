@@ -0,0 +1,91 @@
+package com.github.mcpjavafx.core.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxAdmissionTest {
+
+    @Test
+    void rejectsWhenQueueIsFullAndReportsMetrics() throws Exception {
+        var admission = new FxAdmission(new FxAdmission.Limits(1, 1, 0, 5_000), Map.of(), () -> 0);
+        var release = new CountDownLatch(1);
+        try (var pool = Executors.newFixedThreadPool(2)) {
+            try {
+                runQueue(admission, release, pool);
+            } finally {
+                release.countDown();
+            }
+        }
+        var metrics = admission.metrics().get("ui_query");
+        assertEquals(2, metrics.admitted());
+        assertEquals(0, metrics.running());
+        assertEquals(0, metrics.queued());
+    }
+
+    private static void runQueue(FxAdmission admission, CountDownLatch release, ExecutorService pool)
+            throws Exception {
+        var running = pool.submit(() -> admission.run("ui_query", () -> {
+            release.await();
+            return "first";
+        }));
+        awaitMetric(() -> admission.metrics().containsKey("ui_query")
+                && admission.metrics().get("ui_query").running() == 1);
+        var queued = pool.submit(() -> admission.run("ui_query", () -> "second"));
+        awaitMetric(() -> admission.metrics().get("ui_query").queued() == 1);
+
+        var busy = assertThrows(FxBusyException.class, () -> admission.run("ui_query", () -> "third"));
+        assertTrue(busy.retryAfterMs() >= 50);
+        assertEquals(1, admission.metrics().get("ui_query").rejected());
+
+        // Other tools have their own slots.
+        assertEquals("other", admission.run("ui_get_node", () -> "other"));
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectsFastWhenFxQueueIsSaturated() throws Exception {
+        var pending = new AtomicInteger(10);
+        var admission = new FxAdmission(new FxAdmission.Limits(4, 4, 10, 5_000), Map.of(), pending::get);
+
+        assertThrows(FxBusyException.class, () -> admission.run("ui_get_snapshot", () -> "x"));
+        assertEquals(1, admission.rejectedFxPending());
+
+        pending.set(9);
+        assertEquals("x", admission.run("ui_get_snapshot", () -> "x"));
+    }
+
+    @Test
+    void toolLimitsReplaceTheDefault() throws Exception {
+        var admission = new FxAdmission(new FxAdmission.Limits(4, 0, 0, 0),
+                Map.of("ui_screenshot", 1, "ui_wait_for", 16, "ui_record", 0), () -> 0);
+        admission.run("ui_screenshot", () -> null);
+        admission.run("ui_wait_for", () -> null);
+        admission.run("ui_record", () -> null);
+        admission.run("ui_query", () -> null);
+
+        assertEquals(1, admission.metrics().get("ui_screenshot").maxConcurrent());
+        assertEquals(16, admission.metrics().get("ui_wait_for").maxConcurrent());
+        assertEquals(0, admission.metrics().get("ui_record").maxConcurrent());
+        assertEquals(4, admission.metrics().get("ui_query").maxConcurrent());
+    }
+
+    private static void awaitMetric(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.mcpjavafx.core.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxTaskQueueTest {
+
+    private final ArrayDeque<Runnable> posted = new ArrayDeque<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final FxTaskQueue queue = new FxTaskQueue(posted::add, clock::get);
+
+    @Test
+    void runsTasksQueuedTogetherInOneRunLater() {
+        var ran = new ArrayList<Integer>();
+        for (int i = 0; i < 5; i++) {
+            var n = i;
+            queue.execute(() -> ran.add(n));
+        }
+        assertEquals(1, posted.size());
+
+        posted.poll().run();
+        assertEquals(List.of(0, 1, 2, 3, 4), ran);
+        assertTrue(posted.isEmpty());
+
+        queue.execute(() -> ran.add(5));
+        assertEquals(1, posted.size());
+    }
+
+    @Test
+    void yieldsWhenTheBudgetIsUsedUp() {
+        var ran = new ArrayList<Integer>();
+        for (int i = 0; i < 3; i++) {
+            var n = i;
+            queue.execute(() -> {
+                ran.add(n);
+                clock.addAndGet(FxTaskQueue.DRAIN_BUDGET_NANOS / 2);
+            });
+        }
+
+        posted.poll().run();
+        assertEquals(2, ran.size());
+        assertEquals(1, posted.size());
+
+        posted.poll().run();
+        assertEquals(3, ran.size());
+        assertTrue(posted.isEmpty());
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheDrain() {
+        var ran = new ArrayList<String>();
+        queue.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+        queue.execute(() -> ran.add("after"));
+
+        posted.poll().run();
+        assertEquals(List.of("after"), ran);
+    }
+
+    @Test
+    void failedPostLeavesNothingQueued() {
+        var failing = new FxTaskQueue(task -> {
+            throw new IllegalStateException("Toolkit not initialized");
+        }, clock::get);
+        assertThrows(IllegalStateException.class, () -> failing.execute(() -> {
+        }));
+        assertThrows(IllegalStateException.class, () -> failing.execute(() -> {
+        }));
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.mcpjavafx.core.fx;
+
+import com.github.mcpjavafx.core.model.TraversalCursor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SceneWalkTest {
+
+    /** root -> [a -> [a0, a1], b] */
+    private static final Tree TREE = new Tree("root", List.of(
+            new Tree("a", List.of(new Tree("a0", List.of()), new Tree("a1", List.of()))),
+            new Tree("b", List.of())));
+
+    private record Tree(String name, List<Tree> children) {
+    }
+
+    @Test
+    void unboundedWalkVisitsEverything() {
+        var walk = SceneWalk.unbounded();
+        assertEquals(List.of("root", "a", "a0", "a1", "b"), walk(walk));
+        assertFalse(walk.stopped());
+    }
+
+    @Test
+    void expiredWalkStopsAfterTheFirstNode() {
+        var walk = expired(null);
+        assertEquals(List.of("root"), walk(walk));
+        assertEquals("0:0", walk.stoppedAt().toString());
+    }
+
+    @Test
+    void resumingSkipsNodesBeforeTheCursor() {
+        var walk = SceneWalk.within(60_000, TraversalCursor.parse("0:0.1"));
+        assertEquals(List.of("a1", "b"), walk(walk));
+        assertFalse(walk.stopped());
+    }
+
+    @Test
+    void expiredResumedWalkStillMakesProgress() {
+        var visited = new ArrayList<String>();
+        TraversalCursor cursor = null;
+        do {
+            var walk = expired(cursor);
+            visited.addAll(walk(walk));
+            cursor = walk.stoppedAt();
+        } while (cursor != null);
+        assertEquals(List.of("root", "a", "a0", "a1", "b"), visited);
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        assertEquals("2:0.3.1", TraversalCursor.parse("2:0.3.1").toString());
+        assertEquals(List.of(), TraversalCursor.parse("0:").path());
+        assertThrows(IllegalArgumentException.class, () -> TraversalCursor.parse("0:1..2"));
+        assertThrows(IllegalArgumentException.class, () -> TraversalCursor.parse("x"));
+    }
+
+    private static SceneWalk expired(TraversalCursor cursor) {
+        return new SceneWalk(1_000, System.nanoTime() - 1, cursor);
+    }
+
+    /** The visiting order the snapshotter and query service use; returns nodes at or after the cursor. */
+    private static List<String> walk(SceneWalk walk) {
+        var visited = new ArrayList<String>();
+        walk.beginStage(0);
+        visit(TREE, walk, visited);
+        return visited;
+    }
+
+    private static void visit(Tree node, SceneWalk walk, List<String> visited) {
+        if (walk.resumed()) {
+            visited.add(node.name());
+        }
+        for (int i = 0; i < node.children().size(); i++) {
+            if (walk.skip(i)) {
+                continue;
+            }
+            if (walk.stopBefore(i)) {
+                break;
+            }
+            walk.push(i);
+            visit(node.children().get(i), walk, visited);
+            walk.pop();
+        }
+    }
+}
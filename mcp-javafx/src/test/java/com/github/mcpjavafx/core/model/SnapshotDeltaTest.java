@@ -0,0 +1,83 @@
+package com.github.mcpjavafx.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotDeltaTest {
+
+    @Test
+    void reportsAddedRemovedAndChangedNodes() {
+        var before = flat(
+                node("u-1", "Label", "Hello", false),
+                node("u-2", "Button", "Save", false),
+                node("u-3", "ProgressBar", null, false));
+        var after = flat(
+                node("u-1", "Label", "Hello, Ada!", false),
+                node("u-2", "Button", "Save", true),
+                node("u-4", "Label", "Done", false));
+
+        var delta = SnapshotDelta.between(before, after, 100);
+
+        assertFalse(delta.truncated());
+        assertEquals(List.of("u-4"), delta.added().stream().map(n -> n.ref().uid()).toList());
+        assertEquals(List.of("u-3"), delta.removed().stream().map(r -> r.ref().uid()).toList());
+        assertEquals(2, delta.changed().size());
+        assertEquals(List.of("text"), delta.changed().get(0).fields());
+        assertEquals(List.of("disabled"), delta.changed().get(1).fields());
+    }
+
+    @Test
+    void unchangedCaptureYieldsEmptyDelta() {
+        var before = flat(node("u-1", "Label", "Hello", false));
+        var after = flat(node("u-1", "Label", "Hello", false));
+
+        assertTrue(SnapshotDelta.between(before, after, 100).isEmpty());
+    }
+
+    @Test
+    void limitTruncatesDelta() {
+        var after = flat(
+                node("u-1", "Label", "a", false),
+                node("u-2", "Label", "b", false),
+                node("u-3", "Label", "c", false));
+
+        var delta = SnapshotDelta.between(Map.of(), after, 2);
+
+        assertTrue(delta.truncated());
+        assertEquals(2, delta.added().size());
+    }
+
+    private static Map<String, UiNode> flat(UiNode... nodes) {
+        var result = new LinkedHashMap<String, UiNode>();
+        for (var node : nodes) {
+            result.put(node.ref().uid(), node);
+        }
+        return result;
+    }
+
+    private static UiNode node(String uid, String type, String text, boolean disabled) {
+        return new UiNode(
+                new NodeRef("/stages[0]/scene/root/" + type + "[0]", uid),
+                type,
+                null,
+                null,
+                List.of(),
+                List.of(),
+                true,
+                true,
+                disabled,
+                1.0,
+                null,
+                text != null ? new TextInfo(text, null) : null,
+                null,
+                null,
+                null,
+                null,
+                List.of());
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.mcpjavafx.e2e;
 
 import com.github.mcpjavafx.api.McpJavafxConfig;
+import com.github.mcpjavafx.core.fx.Fx;
 import com.github.mcpjavafx.core.model.UiSnapshot;
 import com.github.mcpjavafx.transport.http.HttpMcpServer;
 import io.modelcontextprotocol.client.McpClient;
@@ -10,6 +11,7 @@ import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import io.modelcontextprotocol.spec.McpSchema.Implementation;
 import io.modelcontextprotocol.spec.McpSchema.Tool;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -28,8 +30,12 @@ import org.junit.jupiter.api.TestInstance;
 import org.testfx.framework.junit5.ApplicationTest;
 import org.testfx.util.WaitForAsyncUtils;
 
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -198,6 +204,19 @@ class McpClientStreamableHttpE2eTest extends ApplicationTest {
         assertTrue(inputAfterType.get("summary").toString().contains("text=Typed"), "Input should contain typed text");
     }
 
+    @Test
+    void testSyntheticTypeTextHandlesUnicode() {
+        var inputRef = querySingle(Map.of("css", "#input")).get("ref");
+
+        perform(Map.of("type", "focus", "target", Map.of("ref", inputRef)));
+        perform(Map.of("type", "setText", "target", Map.of("ref", inputRef), "text", ""));
+        perform(Map.of("type", "typeText", "text", "Grüße ✓ 42", "input", "synthetic", "charsPerPulse", 3));
+
+        var inputAfterType = querySingle(Map.of("css", "#input"));
+        assertTrue(inputAfterType.get("summary").toString().contains("text=Grüße ✓ 42"),
+                "Input should contain synthetically typed text");
+    }
+
     @Test
     void testUiScreenshot() {
         var result = structuredOutput(client.callTool(new CallToolRequest("ui_screenshot", Map.of())));
@@ -205,6 +224,36 @@ class McpClientStreamableHttpE2eTest extends ApplicationTest {
         var base64 = (String) result.get("dataBase64");
         assertNotNull(base64);
         assertFalse(base64.isEmpty());
+
+        var unchanged = structuredOutput(client.callTool(new CallToolRequest("ui_screenshot",
+                Map.of("since", result.get("frameId")))));
+        assertEquals(result.get("frameId"), unchanged.get("since"));
+        assertNull(unchanged.get("dataBase64"));
+        assertEquals(List.of(), unchanged.get("tiles"));
+    }
+
+    @Test
+    void testUiScreenshotOfNodeDownscaled() {
+        var listViewRef = querySingle(Map.of("css", "#listView")).get("ref");
+        var result = structuredOutput(client.callTool(new CallToolRequest("ui_screenshot", Map.of(
+                "ref", listViewRef,
+                "maxWidth", 50,
+                "format", "jpeg"))));
+        assertEquals("image/jpeg", result.get("contentType"));
+        assertTrue(((Number) result.get("width")).intValue() <= 50);
+        assertTrue(((Number) result.get("scale")).doubleValue() < 1.0);
+        assertFalse(((String) result.get("dataBase64")).isEmpty());
+    }
+
+    @Test
+    void testUiScreenshotWithMarks() {
+        var submitUid = ((Map<?, ?>) querySingle(Map.of("css", "#submitBtn")).get("ref")).get("uid");
+        var result = structuredOutput(client.callTool(new CallToolRequest("ui_screenshot", Map.of("marks", true))));
+        var marks = (List<?>) result.get("marks");
+        assertNotNull(marks);
+        assertTrue(marks.stream()
+                .map(mark -> ((Map<?, ?>) ((Map<?, ?>) mark).get("ref")).get("uid"))
+                .anyMatch(submitUid::equals), "Submit button should be marked");
     }
 
     @Test
@@ -279,6 +328,138 @@ class McpClientStreamableHttpE2eTest extends ApplicationTest {
         assertStatus(greetingLabelRef, "Hello, KeyboardUser!");
     }
 
+    @Test
+    void testUiWaitFor() {
+        var present = structuredOutput(client.callTool(new CallToolRequest(
+                "ui_wait_for", Map.of("selector", Map.of("css", "#greeting")))));
+        assertEquals(Boolean.TRUE, present.get("satisfied"));
+
+        var absent = structuredOutput(client.callTool(new CallToolRequest(
+                "ui_wait_for", Map.of("selector", Map.of("css", "#doesNotExist"), "condition", "absent"))));
+        assertEquals(Boolean.TRUE, absent.get("satisfied"));
+
+        var timedOut = structuredOutput(client.callTool(new CallToolRequest(
+                "ui_wait_for", Map.of(
+                        "selector", Map.of("css", "#greeting"),
+                        "condition", "textEquals",
+                        "text", "never shown",
+                        "timeoutMs", 200))));
+        assertEquals(Boolean.FALSE, timedOut.get("satisfied"));
+
+        var inputRef = querySingle(Map.of("css", "#input")).get("ref");
+        var buttonRef = querySingle(Map.of("css", "#submitBtn")).get("ref");
+        var batch = structuredOutput(client.callTool(new CallToolRequest(
+                "ui_perform",
+                Map.of("actions", List.of(
+                        Map.of("type", "setText", "target", Map.of("ref", inputRef), "text", "Waiter"),
+                        Map.of("type", "click", "target", Map.of("ref", buttonRef)),
+                        Map.of("type", "waitFor",
+                                "selector", Map.of("css", "#greeting"),
+                                "condition", "textEquals",
+                                "text", "Hello, Waiter!",
+                                "timeoutMs", 2000))))));
+        @SuppressWarnings("unchecked")
+        var results = (List<Map<String, Object>>) batch.get("results");
+        assertEquals(Boolean.TRUE, results.get(2).get("ok"));
+    }
+
+    @Test
+    void testSyntheticMouseGestures() {
+        var mouseAreaRef = querySingle(Map.of("css", "#mouseArea")).get("ref");
+        var statusLabelRef = querySingle(Map.of("css", "#statusLabel")).get("ref");
+
+        perform(Map.of("type", "doubleClick", "target", Map.of("ref", mouseAreaRef), "input", "synthetic"));
+        assertStatus(statusLabelRef, "Status: DoubleClicked");
+
+        perform(Map.of("type", "mousePressed", "target", Map.of("ref", mouseAreaRef), "input", "synthetic"));
+        assertStatus(statusLabelRef, "Status: Pressed");
+
+        perform(Map.of("type", "mouseReleased", "target", Map.of("ref", mouseAreaRef), "input", "synthetic"));
+        assertStatus(statusLabelRef, "Status: Released");
+
+        perform(Map.of("type", "drag",
+                "from", Map.of("ref", mouseAreaRef, "x", 10.0, "y", 10.0),
+                "to", Map.of("ref", mouseAreaRef, "x", 90.0, "y", 90.0),
+                "input", "synthetic"));
+        assertStatus(statusLabelRef, "Status: Dragged");
+
+        var inputRef = querySingle(Map.of("css", "#input")).get("ref");
+        var buttonRef = querySingle(Map.of("css", "#submitBtn")).get("ref");
+        perform(Map.of("type", "setText", "target", Map.of("ref", inputRef), "text", "Synthetic"));
+        perform(Map.of("type", "click", "target", Map.of("ref", buttonRef), "input", "synthetic"));
+
+        var greetingLabelRef = querySingle(Map.of("css", "#greeting")).get("ref");
+        assertStatus(greetingLabelRef, "Hello, Synthetic!");
+    }
+
+    @Test
+    void testItemActions() {
+        var listViewRef = querySingle(Map.of("css", "#listView")).get("ref");
+        var batch = structuredOutput(client.callTool(new CallToolRequest(
+                "ui_perform",
+                Map.of("actions", List.of(
+                        Map.of("type", "selectItem", "target", Map.of("ref", listViewRef), "item", "Item 18"),
+                        Map.of("type", "clickItem", "target", Map.of("ref", listViewRef), "index", 19,
+                                "input", "synthetic"),
+                        Map.of("type", "waitFor",
+                                "selector", Map.of("css", ".list-cell"),
+                                "condition", "textEquals",
+                                "text", "Item 20",
+                                "timeoutMs", 2000),
+                        Map.of("type", "selectItem", "target", Map.of("ref", listViewRef), "item", "missing"))))));
+        @SuppressWarnings("unchecked")
+        var results = (List<Map<String, Object>>) batch.get("results");
+        assertEquals(Boolean.TRUE, results.get(0).get("ok"));
+        assertEquals(Boolean.TRUE, results.get(1).get("ok"));
+        assertEquals(Boolean.TRUE, results.get(2).get("ok"));
+        assertEquals(Boolean.FALSE, results.get(3).get("ok"));
+    }
+
+    @Test
+    void clientDisconnectSkipsQueuedFxWork() throws Exception {
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            blocked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        var skippedBefore = Fx.skippedTasks();
+        try {
+            var body = """
+                    {"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"ui_get_snapshot","arguments":{}}}""";
+            try (var socket = new Socket("127.0.0.1", port)) {
+                socket.getOutputStream().write(("POST /mcp HTTP/1.1\r\n"
+                        + "Host: 127.0.0.1\r\n"
+                        + "Content-Type: application/json\r\n"
+                        + "Accept: application/json, text/event-stream\r\n"
+                        + "Content-Length: " + body.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n"
+                        + body).getBytes(StandardCharsets.UTF_8));
+                socket.getOutputStream().flush();
+                var deadline = System.currentTimeMillis() + 2000;
+                while (Fx.pendingTasks() == 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertTrue(Fx.pendingTasks() > 0, "snapshot task should be queued behind the blocked FX thread");
+            }
+            // Well below the 5 s FX timeout, so only the disconnect can cancel the queued task.
+            Thread.sleep(1000);
+        } finally {
+            release.countDown();
+        }
+
+        var deadline = System.currentTimeMillis() + 2000;
+        while (Fx.skippedTasks() == skippedBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(Fx.skippedTasks() > skippedBefore, "queued snapshot should be skipped after the client left");
+    }
+
     private void perform(Map<String, Object> action) {
         structuredOutput(client.callTool(new CallToolRequest(
                 "ui_perform",
@@ -0,0 +1,51 @@
+package com.github.mcpjavafx.mcp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultSummaryTest {
+
+    record Sample(boolean ok, String label, List<String> items, Object missing) {
+    }
+
+    @Test
+    void describesTopLevelFieldsOnly() {
+        var result = new LinkedHashMap<String, Object>();
+        result.put("contentType", "image/png");
+        result.put("width", 640);
+        result.put("dataBase64", "A".repeat(10_000));
+        result.put("matches", List.of(1, 2, 3));
+        result.put("status", Map.of("a", 1, "b", 2));
+
+        assertEquals("contentType=\"image/png\", width=640, dataBase64=<10000 chars>, matches=[3 items], "
+                + "status={2 fields}", ResultSummary.of(result));
+    }
+
+    @Test
+    void readsRecordsAndSkipsNulls() {
+        var summary = ResultSummary.of(new Sample(true, "x".repeat(100), List.of("a"), null));
+
+        assertTrue(summary.startsWith("ok=true, label=\"" + "x".repeat(60) + "…\""));
+        assertTrue(summary.endsWith("items=[1 items]"));
+        assertFalse(summary.contains("missing"));
+    }
+
+    @Test
+    void summarizesSnapshotsByCounts() {
+        var leaf = Map.of("type", "Label");
+        var collapsed = Map.of("type", "VBox", "collapsedChildren", 12);
+        var root = Map.of("type", "BorderPane", "children", List.of(leaf, collapsed));
+        var snapshot = new LinkedHashMap<String, Object>();
+        snapshot.put("stages", List.of(Map.of("scene", Map.of("root", root))));
+        snapshot.put("truncated", true);
+        snapshot.put("cursor", "0:1");
+
+        assertEquals("snapshot: 1 stage, 3 nodes, 12 collapsed children, truncated, cursor=\"0:1\"",
+                ResultSummary.ofSnapshot(snapshot));
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.mcpjavafx.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mcpjavafx.core.fx.CancellationToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        var flight = new SingleFlight();
+        var runs = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        try (var pool = Executors.newFixedThreadPool(4)) {
+            var leader = pool.submit(() -> flight.run("k", () -> {
+                runs.incrementAndGet();
+                release.await();
+                return "result";
+            }));
+            while (flight.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            var followers = new ArrayList<Future<Object>>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(pool.submit(() -> flight.run("k", () -> {
+                    runs.incrementAndGet();
+                    return "other";
+                })));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            for (var follower : followers) {
+                assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, flight.inFlight());
+        assertEquals("again", flight.run("k", () -> "again"));
+    }
+
+    @Test
+    void sharedWorkIsCancelledOnlyWhenEveryCallerIs() throws Exception {
+        var flight = new SingleFlight();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var sharedToken = new AtomicReference<CancellationToken>();
+        var leaderToken = CancellationToken.create();
+        var followerToken = CancellationToken.create();
+        try (var pool = Executors.newFixedThreadPool(2)) {
+            var leader = pool.submit(() -> {
+                try (var scope = leaderToken.bind()) {
+                    return flight.run("k", () -> {
+                        sharedToken.set(CancellationToken.current());
+                        started.countDown();
+                        release.await();
+                        return "result";
+                    });
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            var follower = pool.submit(() -> {
+                try (var scope = followerToken.bind()) {
+                    return flight.run("k", () -> "other");
+                }
+            });
+            Thread.sleep(50);
+
+            leaderToken.cancel("leader left");
+            assertFalse(sharedToken.get().isCancelled());
+            followerToken.cancel("follower left");
+            assertTrue(sharedToken.get().isCancelled());
+            var error = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(CancellationException.class, error.getCause());
+
+            release.countDown();
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void failuresAreSharedAndReleaseTheKey() {
+        var flight = new SingleFlight();
+        var error = assertThrows(IllegalStateException.class,
+                () -> flight.run("k", () -> { throw new IllegalStateException("boom"); }));
+        assertEquals("boom", error.getMessage());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void keyIgnoresFieldOrderAndPresentationFields() throws Exception {
+        var a = mapper.readTree("""
+                {"mode": "full", "include": {"bounds": true, "properties": false}, "resultFormat": "text"}
+                """);
+        var b = mapper.readTree("""
+                {"include": {"properties": false, "bounds": true}, "mode": "full"}
+                """);
+        var ignored = Set.of("resultFormat");
+
+        assertEquals(SingleFlight.key("ui_get_snapshot", a, ignored), SingleFlight.key("ui_get_snapshot", b, ignored));
+        assertNotEquals(SingleFlight.key("ui_get_snapshot", a, ignored), SingleFlight.key("ui_query", b, ignored));
+        assertNotEquals(SingleFlight.key("ui_get_snapshot", a, ignored),
+                SingleFlight.key("ui_get_snapshot", mapper.readTree("{\"mode\": \"compact\"}"), ignored));
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.mcpjavafx.transport.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonRpcPeekTest {
+
+    @Test
+    void readsRoutingFieldsInAnyOrderAndSkipsArguments() {
+        var rpc = peek("""
+                {"params": {"arguments": {"name": "nested", "deep": [1, {"method": "x"}]}, "name": "ui.query"},
+                 "id": 7, "jsonrpc": "2.0", "method": "tools/call"}
+                """);
+        assertEquals("tools/call", rpc.method());
+        assertEquals(7, ((Number) rpc.id()).intValue());
+        assertEquals("ui.query", rpc.toolName());
+        assertFalse(rpc.elicitationExtras());
+    }
+
+    @Test
+    void detectsElicitationFieldsOfInitialize() {
+        var rpc = peek("""
+                {"jsonrpc": "2.0", "id": "a", "method": "initialize",
+                 "params": {"capabilities": {"roots": {}, "elicitation": {"form": {}}}}}
+                """);
+        assertEquals("initialize", rpc.method());
+        assertEquals("a", rpc.id());
+        assertTrue(rpc.elicitationExtras());
+
+        assertFalse(peek("""
+                {"method": "initialize", "params": {"capabilities": {"elicitation": {}}}}
+                """).elicitationExtras());
+    }
+
+    @Test
+    void nonObjectsAndMalformedBodiesYieldNone() {
+        assertEquals(JsonRpcPeek.NONE, peek("[{\"method\": \"ping\"}]"));
+        assertEquals(JsonRpcPeek.NONE, peek("{\"method\": \"ping\""));
+        assertEquals(JsonRpcPeek.NONE, peek(""));
+    }
+
+    private static JsonRpcPeek peek(String json) {
+        return JsonRpcPeek.of(json.getBytes(StandardCharsets.UTF_8));
+    }
+}